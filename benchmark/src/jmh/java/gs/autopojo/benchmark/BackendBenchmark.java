@@ -0,0 +1,62 @@
+package gs.autopojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import gs.autopojo.processor.POJOProcessor;
+
+/**
+ * Wall time of a whole compilation, generated classes included, with each {@link POJOProcessor#OPTION_BACKEND}.
+ * The corpus is one the {@code bytecode} backend fully supports: flat, not generic, and without annotations,
+ * constants nor nested types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BackendBenchmark {
+
+    @Param({"100", "1000"})
+    public int count;
+
+    @Param({"0.5"})
+    public double builderRatio;
+
+    @Param({POJOProcessor.BACKEND_SOURCE, POJOProcessor.BACKEND_BYTECODE})
+    public String backend;
+
+    private InProcessCompiler compiler;
+
+    @Setup
+    public void setup() {
+        compiler = new InProcessCompiler(new CorpusGenerator()
+                .count(count)
+                .nestingDepth(0)
+                .typeParameters(0)
+                .extraAnnotationDensity(0)
+                .superChainLength(1)
+                .builderRatio(builderRatio)
+                .memberTypes(false)
+                .generate());
+    }
+
+    @Benchmark
+    public void compile() {
+        compiler.compile(Collections.singletonList(new POJOProcessor()), "-A" + POJOProcessor.OPTION_BACKEND + "=" + backend);
+    }
+
+}
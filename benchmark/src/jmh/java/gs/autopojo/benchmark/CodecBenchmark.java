@@ -0,0 +1,113 @@
+package gs.autopojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import gs.autopojo.json.JsonBytes;
+
+/**
+ * Writing and reading a {@link Trade} with its generated {@code binaryCodec} and {@code jsonCodec}, compared to Java serialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CodecBenchmark {
+
+    private Trade trade;
+
+    private ByteBuffer buffer;
+
+    private ByteBuffer encoded;
+
+    private byte[] serialized;
+
+    private final JsonBytes jsonBytes = new JsonBytes();
+
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        trade = new Trade.Builder()
+                .id(1234567890L)
+                .timestamp(System.currentTimeMillis())
+                .symbol("ACME")
+                .price(101.25)
+                .quantity(300)
+                .side(Trade.Side.BUY)
+                .account("anAccount-0001")
+                .build();
+
+        buffer = ByteBuffer.allocate(trade.binarySize());
+        encoded = ByteBuffer.allocate(trade.binarySize());
+        trade.writeTo(encoded);
+        encoded.flip();
+
+        serialized = serialize();
+        json = trade.toJson();
+    }
+
+    @Benchmark
+    public ByteBuffer binaryWrite() {
+        buffer.clear();
+        trade.writeTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Trade binaryRead() {
+        encoded.rewind();
+        return Trade.readFrom(encoded);
+    }
+
+    @Benchmark
+    public JsonBytes jsonWrite() throws IOException {
+        jsonBytes.reset();
+        trade.writeJson(jsonBytes);
+        return jsonBytes;
+    }
+
+    @Benchmark
+    public Trade jsonRead() {
+        return Trade.fromJson(json);
+    }
+
+    @Benchmark
+    public byte[] serializationWrite() throws IOException {
+        return serialize();
+    }
+
+    @Benchmark
+    public Object serializationRead() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(trade);
+        }
+        return bytes.toByteArray();
+    }
+
+}
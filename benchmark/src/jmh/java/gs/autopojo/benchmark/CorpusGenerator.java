@@ -0,0 +1,177 @@
+package gs.autopojo.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a synthetic, but deterministic, corpus of {@code @POJO} interfaces.
+ * <p>
+ * Interfaces are grouped in supertype chains of {@link #superChainLength(int)} members,
+ * each one extending the previous one. All the members of a chain share their type parameters
+ * and whether they generate a builder or not, as the generated builders extend each other.
+ */
+public final class CorpusGenerator {
+    public static final String PACKAGE = "gs.autopojo.benchmark.corpus";
+
+    private int count = 100;
+    private int nestingDepth = 1;
+    private int typeParameters = 1;
+    private double extraAnnotationDensity = .25;
+    private int superChainLength = 3;
+    private double builderRatio = .5;
+    private boolean memberTypes = true;
+    private long seed = 42;
+
+    /**
+     * Number of top-level interfaces to generate.
+     */
+    public CorpusGenerator count(int count) {
+        this.count = count;
+        return this;
+    }
+
+    /**
+     * Depth of the nested {@code @POJO} interfaces on each top-level one (0 for none).
+     */
+    public CorpusGenerator nestingDepth(int nestingDepth) {
+        this.nestingDepth = nestingDepth;
+        return this;
+    }
+
+    /**
+     * Number of type parameters on each top-level interface.
+     */
+    public CorpusGenerator typeParameters(int typeParameters) {
+        this.typeParameters = typeParameters;
+        return this;
+    }
+
+    /**
+     * Ratio (from 0 to 1) of properties annotated with an {@code @ExtraAnnotation}.
+     */
+    public CorpusGenerator extraAnnotationDensity(double extraAnnotationDensity) {
+        this.extraAnnotationDensity = extraAnnotationDensity;
+        return this;
+    }
+
+    /**
+     * Length of the supertype chains (1 for no supertypes at all).
+     */
+    public CorpusGenerator superChainLength(int superChainLength) {
+        this.superChainLength = Math.max(1, superChainLength);
+        return this;
+    }
+
+    /**
+     * Ratio (from 0 to 1) of supertype chains generating builders.
+     */
+    public CorpusGenerator builderRatio(double builderRatio) {
+        this.builderRatio = builderRatio;
+        return this;
+    }
+
+    /**
+     * If each top-level interface declares a constant and a nested enum (the type of one of its properties).
+     */
+    public CorpusGenerator memberTypes(boolean memberTypes) {
+        this.memberTypes = memberTypes;
+        return this;
+    }
+
+    public CorpusGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @return the sources of the corpus, by qualified name of the interface
+     */
+    public Map<String, String> generate() {
+        Random random = new Random(seed);
+        Map<String, String> sources = new LinkedHashMap<>();
+        boolean builder = false;
+
+        for (int i = 0; i < count; i++) {
+            boolean chainStart = i % superChainLength == 0;
+            if (chainStart) {
+                builder = random.nextDouble() < builderRatio;
+            }
+
+            String name = "Model" + i + "POJO";
+            StringBuilder sb = new StringBuilder()
+                    .append("package ").append(PACKAGE).append(";\n\n")
+                    .append("import gs.autopojo.ExtraAnnotation;\n")
+                    .append("import gs.autopojo.POJO;\n\n")
+                    .append("@POJO(value = \"Model").append(i).append("\", builder = ").append(builder).append(")\n")
+                    .append("public interface ").append(name).append(typeVariables(true));
+
+            if (!chainStart) {
+                sb.append(" extends Model").append(i - 1).append("POJO").append(typeVariables(false));
+            }
+            sb.append(" {\n\n");
+            if (memberTypes) {
+                sb.append("    String CONSTANT = \"constant").append(i).append("\";\n\n");
+            }
+
+            appendProperties(sb, random, "    ", "p" + i, true);
+            appendNested(sb, random, "    ", 1);
+
+            if (memberTypes) {
+                sb.append("    enum Kind {\n\n        FIRST, SECOND, THIRD\n\n    }\n\n");
+            }
+            sb.append("}\n");
+
+            sources.put(PACKAGE + "." + name, sb.toString());
+        }
+        return sources;
+    }
+
+    private String typeVariables(boolean declaration) {
+        if (typeParameters <= 0) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder("<");
+        for (int i = 0; i < typeParameters; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('T').append(i);
+            if (declaration) {
+                sb.append(" extends java.lang.Comparable<T").append(i).append(">");
+            }
+        }
+        return sb.append('>').toString();
+    }
+
+    private void appendNested(StringBuilder sb, Random random, String indent, int depth) {
+        if (depth > nestingDepth) {
+            return;
+        }
+
+        sb.append(indent).append("@POJO\n")
+                .append(indent).append("interface Nested").append(depth).append(" {\n\n");
+        appendProperties(sb, random, indent + "    ", "n" + depth, false);
+        appendNested(sb, random, indent + "    ", depth + 1);
+        sb.append(indent).append("}\n\n");
+    }
+
+    private void appendProperties(StringBuilder sb, Random random, String indent, String prefix, boolean topLevel) {
+        // nested interfaces are static, so they can not refer to the type parameters
+        String[] types = {
+                "int", "long", "double", "boolean", "String",
+                "java.util.List<String>", "java.util.Map<String, java.util.List<Integer>>",
+                memberTypes ? "Kind" : "java.util.concurrent.TimeUnit", topLevel && typeParameters > 0 ? "java.util.List<? extends T0>" : "byte[]"};
+
+        for (int i = 0; i < types.length; i++) {
+            if (random.nextDouble() < extraAnnotationDensity) {
+                sb.append(indent).append(random.nextBoolean() ?
+                        "@ExtraAnnotation(value = \"java.lang.Deprecated\", applyOn = ExtraAnnotation.ApplyOn.GETTER)\n" :
+                        "@ExtraAnnotation(value = \"java.lang.SuppressWarnings\", members = @ExtraAnnotation.Member(format = \"$S\", value = \"all\"))\n");
+            }
+            sb.append(indent).append(types[i]).append(' ').append(prefix).append("Property").append(i).append("();\n\n");
+        }
+    }
+
+}
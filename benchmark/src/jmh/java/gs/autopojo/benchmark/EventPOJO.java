@@ -0,0 +1,18 @@
+package gs.autopojo.benchmark;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, pooled = true)
+public interface EventPOJO {
+
+    long id();
+
+    long timestamp();
+
+    int kind();
+
+    double value();
+
+    String source();
+
+}
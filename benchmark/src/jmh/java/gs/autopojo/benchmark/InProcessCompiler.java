@@ -0,0 +1,134 @@
+package gs.autopojo.benchmark;
+
+import com.sun.source.util.JavacTask;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.Processor;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * Drives {@code javac} in-process over an in-memory corpus. Nothing touches the disk:
+ * sources are read from memory and the generated files are kept in {@link #getGenerated()}.
+ */
+public final class InProcessCompiler {
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    private final List<JavaFileObject> sources;
+    private final Map<String, MemoryFileObject> generated = new LinkedHashMap<>();
+
+    public InProcessCompiler(Map<String, String> sources) {
+        this.sources = sources.entrySet().stream()
+                .map($ -> new MemoryFileObject($.getKey(), JavaFileObject.Kind.SOURCE, $.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Runs the given processors (or none, to measure parsing alone) over the corpus,
+     * without generating class files.
+     */
+    public void process(List<? extends Processor> processors, String... options) {
+        List<String> args = new ArrayList<>(Arrays.asList(options));
+        args.add("-proc:only");
+
+        run(processors, args);
+    }
+
+    /**
+     * Runs the given processors over the corpus, and then compiles it along with the generated sources.
+     */
+    public void compile(List<? extends Processor> processors, String... options) {
+        run(processors, Arrays.asList(options));
+    }
+
+    private void run(List<? extends Processor> processors, List<String> args) {
+        generated.clear();
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, newFileManager(), diagnostics, args, null, sources);
+        task.setProcessors(processors);
+
+        if (!task.call()) {
+            throw new IllegalStateException("Compilation failed: " + diagnostics.getDiagnostics());
+        }
+    }
+
+    /**
+     * Parses and attributes the corpus, returning a task from where javac's model can be queried.
+     */
+    public JavacTask analyze() throws IOException {
+        JavacTask task = (JavacTask) compiler.getTask(null, newFileManager(), null,
+                Arrays.asList("-proc:none", "-implicit:none"), null, sources);
+        task.analyze();
+        return task;
+    }
+
+    public Map<String, String> getGenerated() {
+        return generated.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, $ -> $.getValue().getCharContent(true).toString(),
+                        (a, b) -> b, LinkedHashMap::new));
+    }
+
+    private JavaFileManager newFileManager() {
+        return new ForwardingJavaFileManager<JavaFileManager>(
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                MemoryFileObject file = new MemoryFileObject(className, kind, null);
+                generated.put(className, file);
+                return file;
+            }
+
+        };
+    }
+
+    static final class MemoryFileObject extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        MemoryFileObject(String className, Kind kind, String content) {
+            super(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind);
+
+            if (content != null) {
+                byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+                this.content.write(bytes, 0, bytes.length);
+            }
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(content.toByteArray());
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            content.reset();
+            return content;
+        }
+
+    }
+
+}
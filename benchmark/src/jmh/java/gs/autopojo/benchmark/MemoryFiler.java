@@ -0,0 +1,48 @@
+package gs.autopojo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+
+/**
+ * A {@link Filer} keeping everything in memory, to measure the writing tasks without any I/O.
+ */
+final class MemoryFiler implements Filer {
+    private final List<InProcessCompiler.MemoryFileObject> files = new ArrayList<>();
+
+    @Override
+    public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements) {
+        return create(name, JavaFileObject.Kind.SOURCE);
+    }
+
+    @Override
+    public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) {
+        return create(name, JavaFileObject.Kind.CLASS);
+    }
+
+    @Override
+    public FileObject createResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName, Element... originatingElements) {
+        return create(pkg + "." + relativeName, JavaFileObject.Kind.OTHER);
+    }
+
+    @Override
+    public FileObject getResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName) {
+        throw new UnsupportedOperationException();
+    }
+
+    private JavaFileObject create(CharSequence name, JavaFileObject.Kind kind) {
+        InProcessCompiler.MemoryFileObject file = new InProcessCompiler.MemoryFileObject(name.toString(), kind, null);
+        files.add(file);
+        return file;
+    }
+
+    void clear() {
+        files.clear();
+    }
+
+}
@@ -0,0 +1,75 @@
+package gs.autopojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import gs.autopojo.processor.POJOProcessor;
+
+/**
+ * Wall time (and, with the {@code gc} profiler, allocation) of a whole compilation round over
+ * the synthetic corpus. The cost attributable to {@link POJOProcessor} is the difference between
+ * {@link #process()} and {@link #parseOnly()}, and its per-class cost that difference divided by {@link #count}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class POJOProcessorBenchmark {
+
+    @Param({"100", "1000"})
+    public int count;
+
+    @Param({"1"})
+    public int nestingDepth;
+
+    @Param({"1"})
+    public int typeParameters;
+
+    @Param({"0.25"})
+    public double extraAnnotationDensity;
+
+    @Param({"3"})
+    public int superChainLength;
+
+    @Param({"0.5"})
+    public double builderRatio;
+
+    private InProcessCompiler compiler;
+
+    @Setup
+    public void setup() {
+        compiler = new InProcessCompiler(new CorpusGenerator()
+                .count(count)
+                .nestingDepth(nestingDepth)
+                .typeParameters(typeParameters)
+                .extraAnnotationDensity(extraAnnotationDensity)
+                .superChainLength(superChainLength)
+                .builderRatio(builderRatio)
+                .generate());
+    }
+
+    @Benchmark
+    public void parseOnly() {
+        compiler.process(Collections.emptyList());
+    }
+
+    @Benchmark
+    public void process() {
+        compiler.process(Collections.singletonList(new POJOProcessor()));
+    }
+
+}
@@ -0,0 +1,72 @@
+package gs.autopojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of handling an {@link Event} with and without a {@code pooled} {@code @POJO}.
+ * Run it with the {@code gc} profiler: {@code gc.alloc.rate.norm} is the allocation per event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PoolingBenchmark {
+    private static final String SOURCE = "aSource";
+
+    private final Event.Pool pool = new Event.Pool();
+
+    private final Event.Builder builder = new Event.Builder();
+
+    private long sequence;
+
+    /**
+     * A new {@link Event.Builder} and a new {@link Event} per event.
+     */
+    @Benchmark
+    public void allocating(Blackhole blackhole) {
+        long id = sequence++;
+
+        Event event = new Event.Builder()
+                .id(id)
+                .timestamp(id << 10)
+                .kind((int) id & 7)
+                .value(id * .5)
+                .source(SOURCE)
+                .build();
+
+        blackhole.consume(event);
+    }
+
+    /**
+     * A reused {@link Event.Builder} filling an {@link Event} taken from (and given back to) an {@link Event.Pool}.
+     */
+    @Benchmark
+    public void pooled(Blackhole blackhole) {
+        long id = sequence++;
+
+        Event event = builder.reset()
+                .id(id)
+                .timestamp(id << 10)
+                .kind((int) id & 7)
+                .value(id * .5)
+                .source(SOURCE)
+                .build(pool.acquire());
+
+        blackhole.consume(event);
+        pool.release(event);
+    }
+
+}
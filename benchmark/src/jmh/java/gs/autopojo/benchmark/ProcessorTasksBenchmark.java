@@ -0,0 +1,135 @@
+package gs.autopojo.benchmark;
+
+import com.sun.source.util.JavacTask;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+
+import gs.autopojo.processor.POJOProcessor;
+import gs.autopojo.processor.tasks.POJOClass;
+import gs.autopojo.processor.tasks.POJOModel;
+import gs.autopojo.processor.tasks.ProcessClassTask;
+import gs.autopojo.processor.tasks.RenderGenClassTask;
+import gs.autopojo.processor.tasks.RoundCache;
+import gs.autopojo.processor.tasks.WriteGenClassTask;
+
+/**
+ * Per-class cost of each of {@link POJOProcessor}'s tasks. Every invocation handles a single
+ * interface of the corpus (cycling over all of them), so scores are already per class.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProcessorTasksBenchmark {
+
+    @Param({"100"})
+    public int count;
+
+    @Param({"1"})
+    public int nestingDepth;
+
+    @Param({"1"})
+    public int typeParameters;
+
+    @Param({"0.25"})
+    public double extraAnnotationDensity;
+
+    @Param({"3"})
+    public int superChainLength;
+
+    @Param({"0.5"})
+    public double builderRatio;
+
+    private JavacTask javac;
+
+    private TypeElement[] elements;
+
+    private POJOModel[] models;
+
+    private String[] sources;
+
+    private final MemoryFiler filer = new MemoryFiler();
+
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        Map<String, String> corpus = new CorpusGenerator()
+                .count(count)
+                .nestingDepth(nestingDepth)
+                .typeParameters(typeParameters)
+                .extraAnnotationDensity(extraAnnotationDensity)
+                .superChainLength(superChainLength)
+                .builderRatio(builderRatio)
+                .generate();
+
+        javac = new InProcessCompiler(corpus).analyze();
+        RoundCache cache = new RoundCache(javac.getTypes(), javac.getElements());
+
+        elements = corpus.keySet().stream()
+                .map(javac.getElements()::getTypeElement)
+                .toArray(TypeElement[]::new);
+        models = new POJOModel[elements.length];
+        sources = new String[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            models[i] = cache.getModel(elements[i]);
+            sources[i] = new RenderGenClassTask(models[i], POJOProcessor.class.getCanonicalName()).call();
+        }
+    }
+
+    private int next() {
+        int i = index;
+        index = (i + 1) % elements.length;
+        if (index == 0) {
+            filer.clear();
+        }
+        return i;
+    }
+
+    /**
+     * {@code ExtractModelTask} with a cold {@link RoundCache}, the worst case of a round.
+     */
+    @Benchmark
+    public POJOModel extractModel() {
+        return new RoundCache(javac.getTypes(), javac.getElements()).getModel(elements[next()]);
+    }
+
+    @Benchmark
+    public POJOClass processClass() {
+        return new ProcessClassTask(models[next()]).call();
+    }
+
+    /**
+     * {@link ProcessClassTask} plus the rendering of its source.
+     */
+    @Benchmark
+    public String renderGenClass() {
+        return new RenderGenClassTask(models[next()], POJOProcessor.class.getCanonicalName()).call();
+    }
+
+    @Benchmark
+    public JavaFileObject writeGenClass() throws IOException {
+        int i = next();
+        return new WriteGenClassTask(filer, models[i], sources[i]).call();
+    }
+
+}
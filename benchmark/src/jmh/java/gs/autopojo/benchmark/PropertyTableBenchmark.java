@@ -0,0 +1,81 @@
+package gs.autopojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import gs.autopojo.properties.PropertyTable;
+
+/**
+ * Reading every property of a {@link Trade} by name, through its generated {@code propertyTable} compared to bean reflection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PropertyTableBenchmark {
+    private static final String[] NAMES = {"id", "timestamp", "symbol", "price", "quantity", "side", "account"};
+
+    private final PropertyTable<Trade> table = Trade.Properties.INSTANCE;
+
+    private Trade trade;
+
+    private Method[] getters;
+
+    @Setup
+    public void setup() throws IntrospectionException {
+        trade = new Trade.Builder()
+                .id(1234567890L)
+                .timestamp(System.currentTimeMillis())
+                .symbol("ACME")
+                .price(101.25)
+                .quantity(300)
+                .side(Trade.Side.BUY)
+                .account("anAccount-0001")
+                .build();
+
+        getters = new Method[NAMES.length];
+        for (PropertyDescriptor descriptor : Introspector.getBeanInfo(Trade.class).getPropertyDescriptors()) {
+            for (int i = 0; i < NAMES.length; i++) {
+                if (NAMES[i].equals(descriptor.getName())) {
+                    getters[i] = descriptor.getReadMethod();
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int propertyTable() {
+        int hash = 0;
+        for (String name : NAMES) {
+            hash += table.get(trade, table.indexOf(name)).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int reflection() throws InvocationTargetException, IllegalAccessException {
+        int hash = 0;
+        for (Method getter : getters) {
+            hash += getter.invoke(trade).hashCode();
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,30 @@
+package gs.autopojo.benchmark;
+
+import java.io.Serializable;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, binaryCodec = true, jsonCodec = true, propertyTable = true)
+public interface TradePOJO extends Serializable {
+
+    long id();
+
+    long timestamp();
+
+    String symbol();
+
+    double price();
+
+    int quantity();
+
+    Side side();
+
+    String account();
+
+    enum Side {
+
+        BUY, SELL
+
+    }
+
+}
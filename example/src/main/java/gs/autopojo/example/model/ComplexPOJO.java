@@ -10,7 +10,7 @@ import javax.inject.Singleton;
 import gs.autopojo.ExtraAnnotation;
 import gs.autopojo.POJO;
 
-@POJO("ComplexEntity")
+@POJO(value = "ComplexEntity", propertyTable = true, delegateConstants = true)
 @Singleton
 public interface ComplexPOJO<T extends ComplexPOJO.Models.Item> extends Cloneable {
 
@@ -0,0 +1,25 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.Lazy;
+import gs.autopojo.POJO;
+
+@POJO(builder = true, immutable = true, binaryCodec = true, interned = true)
+public interface CoordinatesPOJO {
+
+    double latitude();
+
+    double longitude();
+
+    @Lazy
+    default String geoUri() {
+        return "geo:" + latitude() + "," + longitude();
+    }
+
+    @POJO(builder = true, immutable = true, binaryCodec = true, columns = true)
+    interface Labeled extends CoordinatesPOJO {
+
+        String label();
+
+    }
+
+}
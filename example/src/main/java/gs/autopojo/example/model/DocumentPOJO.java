@@ -0,0 +1,20 @@
+package gs.autopojo.example.model;
+
+import java.util.List;
+
+import gs.autopojo.POJO;
+
+@POJO(immutable = true, jsonCodec = true)
+public interface DocumentPOJO {
+
+    String title();
+
+    String reader();
+
+    String out();
+
+    int pages();
+
+    List<String> tags();
+
+}
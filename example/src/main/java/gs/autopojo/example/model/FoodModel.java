@@ -4,7 +4,7 @@ import java.util.List;
 
 import gs.autopojo.POJO;
 
-@POJO(value = "Food", builder = true)
+@POJO(value = "Food", builder = true, cacheHashCode = true)
 public interface FoodModel {
 
     String name();
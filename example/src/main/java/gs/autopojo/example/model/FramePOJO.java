@@ -0,0 +1,15 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+/**
+ * Properties named like the parameter and local of the generated {@code writeTo} and {@code readFrom}.
+ */
+@POJO(binaryCodec = true)
+public interface FramePOJO {
+
+    String buffer();
+
+    int instance();
+
+}
@@ -0,0 +1,25 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(propertyTable = true)
+public interface GaugePOJO {
+
+    int id();
+
+    String name();
+
+    double score();
+
+    Object instance();
+
+    boolean active();
+
+    @POJO(immutable = true, propertyTable = true)
+    interface Reading {
+
+        int value();
+
+    }
+
+}
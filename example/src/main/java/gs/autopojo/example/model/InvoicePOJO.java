@@ -0,0 +1,55 @@
+package gs.autopojo.example.model;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import gs.autopojo.Lazy;
+import gs.autopojo.POJO;
+
+@POJO(builder = true)
+public interface InvoicePOJO {
+
+    String reference();
+
+    String referenceFormat();
+
+    List<Double> amounts();
+
+    double taxRate();
+
+    Status status();
+
+    @Lazy("referenceFormat")
+    default Pattern referencePattern() {
+        return Pattern.compile(referenceFormat());
+    }
+
+    @Lazy("amounts")
+    default double subtotal() {
+        double subtotal = 0;
+        for (double amount : amounts()) {
+            subtotal += amount;
+        }
+        return subtotal;
+    }
+
+    @Lazy
+    default double total() {
+        return subtotal() * (1 + taxRate());
+    }
+
+    @Lazy({"reference", "referenceFormat"})
+    default boolean valid() {
+        return referencePattern().matcher(reference()).matches();
+    }
+
+    @Lazy("status")
+    default boolean payable() {
+        return status() == Status.SENT;
+    }
+
+    enum Status {
+        DRAFT, SENT, PAID
+    }
+
+}
@@ -0,0 +1,23 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, concurrent = true, seqlock = true)
+public interface MetricsPOJO {
+
+    long count();
+
+    long sum();
+
+    String status();
+
+    @POJO(concurrent = true)
+    interface Gauge {
+
+        int value();
+
+        double ratio();
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.ExtraAnnotation;
+import gs.autopojo.POJO;
+
+@POJO(builder = true, binaryCodec = true, jsonCodec = true)
+public interface OrderPOJO {
+
+    long id();
+
+    @ExtraAnnotation(value = "com.fasterxml.jackson.annotation.JsonProperty",
+            members = @ExtraAnnotation.Member(format = "$S", value = "customer_name"))
+    String customer();
+
+    boolean paid();
+
+    Integer priority();
+
+    double[] amounts();
+
+    Status status();
+
+    Address address();
+
+    enum Status {
+
+        PLACED, SHIPPED, DELIVERED
+
+    }
+
+    @POJO(binaryCodec = true, jsonCodec = true)
+    interface Address {
+
+        String street();
+
+        short number();
+
+    }
+
+    @POJO(builder = true, binaryCodec = true, jsonCodec = true, columns = true, propertyTable = true)
+    interface Express extends OrderPOJO {
+
+        long deadline();
+
+    }
+
+}
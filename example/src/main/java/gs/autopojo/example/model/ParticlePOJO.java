@@ -0,0 +1,24 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(flyweight = true)
+public interface ParticlePOJO {
+
+    byte charge();
+
+    double x();
+
+    double y();
+
+    float mass();
+
+    boolean alive();
+
+    Kind kind();
+
+    enum Kind {
+        ELECTRON, PROTON, NEUTRON, MUON, PION
+    }
+
+}
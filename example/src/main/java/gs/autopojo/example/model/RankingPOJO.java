@@ -0,0 +1,14 @@
+package gs.autopojo.example.model;
+
+import java.util.List;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true)
+public interface RankingPOJO<T extends Comparable<T>> {
+
+    T best();
+
+    List<T> entries();
+
+}
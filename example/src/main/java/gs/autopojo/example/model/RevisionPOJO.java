@@ -0,0 +1,15 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+/**
+ * Properties named like the locals of the generated {@code snapshot()}.
+ */
+@POJO(concurrent = true, seqlock = true)
+public interface RevisionPOJO {
+
+    int sequence();
+
+    String copy();
+
+}
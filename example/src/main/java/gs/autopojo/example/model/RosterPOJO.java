@@ -0,0 +1,43 @@
+package gs.autopojo.example.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, jsonCodec = true)
+public interface RosterPOJO {
+
+    String name();
+
+    List<Member> members();
+
+    Map<String, List<Role>> roles();
+
+    Map<Integer, Member> byNumber();
+
+    @JsonProperty("lead")
+    Member captain();
+
+    @POJO(jsonCodec = true)
+    interface Member {
+
+        String name();
+
+        int number();
+
+        char initial();
+
+        Float rating();
+
+    }
+
+    enum Role {
+
+        ATTACK, DEFENSE
+
+    }
+
+}
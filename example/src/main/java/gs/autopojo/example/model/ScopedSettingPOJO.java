@@ -0,0 +1,12 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, trackChanges = true)
+public interface ScopedSettingPOJO extends SettingPOJO {
+
+    String scope();
+
+    int delta();
+
+}
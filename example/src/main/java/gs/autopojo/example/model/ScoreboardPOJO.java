@@ -0,0 +1,19 @@
+package gs.autopojo.example.model;
+
+import java.util.List;
+import java.util.Map;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, primitiveCollections = true)
+public interface ScoreboardPOJO {
+
+    List<Integer> scores();
+
+    List<Double> ratings();
+
+    Map<Long, String> players();
+
+    List<String> comments();
+
+}
@@ -0,0 +1,32 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, compact = true, binaryCodec = true, jsonCodec = true)
+public interface SensorReadingPOJO {
+
+    String sensor();
+
+    long timestamp();
+
+    Integer temperature();
+
+    Double humidity();
+
+    boolean calibrated();
+
+    Boolean online();
+
+    Unit unit();
+
+    Level level();
+
+    enum Unit {
+        CELSIUS, FAHRENHEIT, KELVIN
+    }
+
+    enum Level {
+        LOW, NORMAL, HIGH, CRITICAL
+    }
+
+}
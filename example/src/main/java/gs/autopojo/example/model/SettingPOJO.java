@@ -0,0 +1,19 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, trackChanges = true)
+public interface SettingPOJO {
+
+    String name();
+
+    String target();
+
+    @POJO(pooled = true, trackChanges = true)
+    interface Draft {
+
+        String text();
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+/**
+ * Properties named like the locals and parameters of the generated {@code equals}, {@code hashCode} and {@code appendTo}.
+ */
+@POJO
+public interface ShadowPOJO {
+
+    String o();
+
+    String that();
+
+    int result();
+
+    String sb();
+
+}
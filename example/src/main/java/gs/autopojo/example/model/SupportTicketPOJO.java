@@ -0,0 +1,14 @@
+package gs.autopojo.example.model;
+
+import java.util.List;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, pooled = true)
+public interface SupportTicketPOJO extends TicketPOJO {
+
+    String customer();
+
+    List<String> replies();
+
+}
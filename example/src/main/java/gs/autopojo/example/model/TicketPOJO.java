@@ -0,0 +1,12 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(builder = true, pooled = true)
+public interface TicketPOJO {
+
+    int id();
+
+    String title();
+
+}
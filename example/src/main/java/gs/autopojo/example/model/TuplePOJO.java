@@ -0,0 +1,12 @@
+package gs.autopojo.example.model;
+
+import gs.autopojo.POJO;
+
+@POJO(immutable = true, interned = true, internedMaxSize = 64)
+public interface TuplePOJO<A, B> {
+
+    A first();
+
+    B second();
+
+}
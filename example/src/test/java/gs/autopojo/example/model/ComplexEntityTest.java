@@ -0,0 +1,38 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ComplexEntityTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testClone() {
+        ComplexEntity<ComplexEntity.Models.Item<String, Integer>> entity = new ComplexEntity<>();
+        entity.setId(1);
+        entity.setName("aName");
+        entity.setValues(Collections.emptyList());
+        entity.setStatus(ComplexEntity.Status.DONE);
+
+        ComplexEntity<ComplexEntity.Models.Item<String, Integer>> clone = entity.clone();
+        assertNotSame(entity, clone);
+        assertEquals(entity, clone);
+        assertSame(entity.getValues(), clone.getValues());
+
+        clone.setStatus(ComplexEntity.Status.PENDING);
+        assertEquals(ComplexEntity.Status.DONE, entity.getStatus());
+    }
+
+    @Test
+    public void testDelegatedConstants() {
+        assertEquals("aConstant", ComplexEntity.CONSTANT1);
+        assertEquals(4, ComplexEntity.CONSTANT2);
+        assertSame(ComplexPOJO.CONSTANT3, ComplexEntity.CONSTANT3());
+    }
+
+}
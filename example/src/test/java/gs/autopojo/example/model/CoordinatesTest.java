@@ -0,0 +1,102 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CoordinatesTest {
+
+    @Test
+    public void test() throws NoSuchFieldException {
+        Coordinates coordinates = new Coordinates.Builder()
+                .latitude(1.5)
+                .longitude(-2.5)
+                .build();
+
+        assertEquals(1.5, coordinates.getLatitude(), 0);
+        assertEquals(-2.5, coordinates.getLongitude(), 0);
+        assertEquals(new Coordinates(1.5, -2.5), coordinates);
+
+        Field field = Coordinates.class.getDeclaredField("latitude");
+        assertTrue(Modifier.isFinal(field.getModifiers()));
+    }
+
+    @Test
+    public void testLazy() {
+        Coordinates.Labeled labeled = new Coordinates.Labeled(1.5, -2.5, "aLabel");
+
+        String geoUri = labeled.getGeoUri();
+        assertEquals("geo:1.5,-2.5", geoUri);
+        assertSame(geoUri, labeled.getGeoUri());
+        assertEquals("geo:3.0,-2.5", labeled.withLatitude(3).getGeoUri());
+    }
+
+    @Test
+    public void testWith() {
+        Coordinates.Labeled labeled = new Coordinates.Labeled.Builder()
+                .latitude(1.5)
+                .longitude(-2.5)
+                .label("aLabel")
+                .build();
+
+        Coordinates.Labeled moved = labeled.withLatitude(3);
+        assertNotSame(labeled, moved);
+        assertEquals("Labeled{latitude=3.0, longitude=-2.5, label=aLabel}", moved.toString());
+        assertSame(labeled.getLabel(), moved.getLabel());
+        assertSame(moved, moved.withLabel(moved.getLabel()));
+    }
+
+    @Test
+    public void testWithSignedZeroAndNaN() {
+        Coordinates zero = new Coordinates(0.0, 1);
+        Coordinates negativeZero = zero.withLatitude(-0.0);
+
+        assertNotSame(zero, negativeZero);
+        assertEquals(new Coordinates(-0.0, 1), negativeZero);
+        assertNotEquals(zero, negativeZero);
+
+        Coordinates nan = new Coordinates(Double.NaN, 1);
+        assertSame(nan, nan.withLatitude(Double.NaN));
+    }
+
+    @Test
+    public void testInterned() {
+        Coordinates interned = Coordinates.intern(new Coordinates(1.5, -2.5));
+        long misses = Coordinates.interner().misses();
+
+        assertSame(interned, Coordinates.intern(new Coordinates(1.5, -2.5)));
+        assertSame(interned, new Coordinates.Builder().latitude(1.5).longitude(-2.5).buildInterned());
+        assertNotSame(interned, Coordinates.intern(new Coordinates(3, -2.5)));
+        assertEquals(misses + 1, Coordinates.interner().misses());
+        assertTrue(Coordinates.interner().hits() >= 2);
+    }
+
+    @Test
+    public void testBinaryRoundTrip() {
+        Coordinates.Labeled labeled = new Coordinates.Labeled(1.5, -2.5, "aLabel");
+        ByteBuffer buffer = ByteBuffer.allocate(labeled.binarySize());
+
+        labeled.writeTo(buffer);
+        buffer.flip();
+        assertEquals(labeled, Coordinates.Labeled.readFrom(buffer));
+    }
+
+    @Test
+    public void testColumns() {
+        Coordinates.Labeled.Columns columns = new Coordinates.Labeled.Columns();
+        columns.add(new Coordinates.Labeled(1.5, -2.5, "aLabel"));
+        columns.add(new Coordinates.Labeled(3, 4, null));
+
+        assertEquals(new Coordinates.Labeled(3, 4, null), columns.get(1));
+        assertEquals(4.5, columns.getLatitudeColumn()[0] + columns.getLatitudeColumn()[1], 0);
+    }
+
+}
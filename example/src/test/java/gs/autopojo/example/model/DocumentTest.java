@@ -0,0 +1,19 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class DocumentTest {
+
+    @Test
+    public void testJsonRoundTrip() {
+        Document document = new Document("aTitle", "aReader", "anOut", 12, Arrays.asList("a", "b"));
+
+        assertEquals("{\"title\":\"aTitle\",\"reader\":\"aReader\",\"out\":\"anOut\",\"pages\":12,\"tags\":[\"a\",\"b\"]}", document.toJson());
+        assertEquals(document, Document.fromJson(document.toJson()));
+    }
+
+}
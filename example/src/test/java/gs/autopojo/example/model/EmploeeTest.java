@@ -6,6 +6,9 @@ import org.junit.Test;
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class EmploeeTest {
     private Employee employee;
@@ -29,4 +32,43 @@ public class EmploeeTest {
         assertEquals(employee.getClass().getSuperclass(), Person.class);
     }
 
+    @Test
+    public void testValueMethods() {
+        Person person = new Person.Builder()
+                .id(101)
+                .name("aName")
+                .build();
+
+        assertNotEquals(person, employee);
+        assertNotEquals(employee, person);
+        assertEquals("Employee{id=101, name=aName, area=anArea, subordinates=[]}", employee.toString());
+
+        Employee other = new Employee.Builder()
+                .id(101)
+                .name("aName")
+                .area("anArea")
+                .subordinates(Collections.emptyList())
+                .build();
+        assertEquals(employee, other);
+        assertEquals(employee.hashCode(), other.hashCode());
+
+        other.setName("otherName");
+        assertNotEquals(employee, other);
+    }
+
+    @Test
+    public void testCopies() {
+        Employee copy = new Employee(employee);
+        assertNotSame(employee, copy);
+        assertEquals(employee, copy);
+        assertSame(employee.getSubordinates(), copy.getSubordinates());
+
+        Employee renamed = employee.withName("otherName");
+        assertEquals("Employee{id=101, name=otherName, area=anArea, subordinates=[]}", renamed.toString());
+        assertEquals("aName", employee.getName());
+
+        assertEquals(employee, employee.toBuilder().build());
+        assertEquals(renamed, employee.toBuilder().name("otherName").build());
+    }
+
 }
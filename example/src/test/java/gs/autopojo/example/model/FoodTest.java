@@ -6,6 +6,7 @@ import org.junit.Test;
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class FoodTest {
     private Food food;
@@ -26,4 +27,28 @@ public class FoodTest {
         assertEquals(Arrays.asList("yummy", "good"), food.getTastes());
     }
 
+    @Test
+    public void testValueMethods() {
+        Food other = new Food.Builder()
+                .name("aName")
+                .quality(1.4f)
+                .tastes(Arrays.asList("yummy", "good"))
+                .build();
+
+        assertEquals(food, other);
+        assertEquals(food.hashCode(), other.hashCode());
+        assertEquals("Food{name=aName, tastes=[yummy, good], quality=1.4}", food.toString());
+    }
+
+    @Test
+    public void testCachedHashCodeIsReset() {
+        int hashCode = food.hashCode();
+
+        food.setQuality(2f);
+        assertNotEquals(hashCode, food.hashCode());
+
+        food.setQuality(1.4f);
+        assertEquals(hashCode, food.hashCode());
+    }
+
 }
@@ -0,0 +1,191 @@
+package gs.autopojo.example.model;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.FieldLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import gs.autopojo.json.JsonReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks the {@code autopojo.footprint} reports (enabled on this module's build) against the real layouts, as seen by JOL,
+ * when the running VM is the one the reports' {@code autopojo.footprintLayout} models.
+ */
+public class FootprintTest {
+    private static final String[] CLASS_NAMES = {"class", "instanceSize", "fields"};
+    private static final String[] FIELD_NAMES = {"name", "offset"};
+    private static final String[] REPORT_NAMES = {"model"};
+    private static final String[] MODEL_NAMES = {"layout"};
+
+    @BeforeClass
+    public static void assumeEstimatedVM() throws IOException {
+        // jdk8 models HotSpot 8 to 14 and jdk15 the later ones, both with their default compressed oops
+        String version = System.getProperty("java.specification.version");
+        boolean jdk15 = !version.startsWith("1.") && Integer.parseInt(version) >= 15;
+        assumeTrue(readLayoutModel("Person.footprint.json").equals(jdk15 ? "jdk15" : "jdk8"));
+        assumeTrue(VM.current().objectHeaderSize() == 12 && VM.current().sizeOfField(Object.class.getName()) == 4);
+    }
+
+    @Test
+    public void testEstimates() throws IOException {
+        assertEstimate(Person.class, "Person");
+        assertEstimate(Person.Builder.class, "Person");
+        assertEstimate(Employee.class, "Employee");
+        assertEstimate(Coordinates.class, "Coordinates");
+        assertEstimate(Coordinates.Labeled.class, "Coordinates");
+        assertEstimate(SensorReading.class, "SensorReading");
+        assertEstimate(Metrics.class, "Metrics");
+        assertEstimate(Metrics.Gauge.class, "Metrics");
+        assertEstimate(Invoice.class, "Invoice");
+    }
+
+    @Test
+    public void testTextReport() throws IOException {
+        String report = readResource("Person.footprint.txt");
+
+        assertTrue(report, report.startsWith("gs.autopojo.example.model.Person: "));
+        assertTrue(report, report.contains("(object header)"));
+        assertTrue(report, report.contains("int Person.id"));
+    }
+
+    private static void assertEstimate(Class<?> type, String report) throws IOException {
+        Estimate estimate = readReport(report + ".footprint.json").get(type.getCanonicalName());
+        ClassLayout layout = ClassLayout.parseClass(type);
+
+        assertNotNull(type.getCanonicalName(), estimate);
+        assertEquals(type.getCanonicalName(), layout.instanceSize(), estimate.instanceSize);
+
+        Set<String> fields = new TreeSet<>();
+        for (FieldLayout field : layout.fields()) {
+            fields.add(field.name() + "@" + field.offset());
+        }
+        assertEquals(type.getCanonicalName(), fields, estimate.fields);
+    }
+
+    private static String readLayoutModel(String name) throws IOException {
+        String layout = null;
+        JsonReader reader = new JsonReader(readResource(name));
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName(REPORT_NAMES) != 0) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName(MODEL_NAMES) == 0) {
+                    layout = reader.nextString();
+
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+        return layout;
+    }
+
+    private static Map<String, Estimate> readReport(String name) throws IOException {
+        Map<String, Estimate> estimates = new HashMap<>();
+        JsonReader reader = new JsonReader(readResource(name));
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName(new String[]{"classes"}) != 0) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Estimate estimate = new Estimate();
+                String className = null;
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName(CLASS_NAMES)) {
+                        case 0:
+                            className = reader.nextString();
+                            break;
+
+                        case 1:
+                            estimate.instanceSize = reader.nextLong();
+                            break;
+
+                        case 2:
+                            reader.beginArray();
+                            while (reader.hasNext()) {
+                                String field = null;
+                                long offset = -1;
+
+                                reader.beginObject();
+                                while (reader.hasNext()) {
+                                    switch (reader.nextName(FIELD_NAMES)) {
+                                        case 0:
+                                            field = reader.nextString();
+                                            break;
+
+                                        case 1:
+                                            offset = reader.nextLong();
+                                            break;
+
+                                        default:
+                                            reader.skipValue();
+                                    }
+                                }
+                                reader.endObject();
+                                estimate.fields.add(field + "@" + offset);
+                            }
+                            reader.endArray();
+                            break;
+
+                        default:
+                            reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                estimates.put(className, estimate);
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        return estimates;
+    }
+
+    private static String readResource(String name) throws IOException {
+        try (InputStream in = FootprintTest.class.getResourceAsStream(name)) {
+            assertNotNull(name, in);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Estimate {
+        long instanceSize;
+        final Set<String> fields = new TreeSet<>();
+    }
+
+}
@@ -0,0 +1,24 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameTest {
+
+    @Test
+    public void testBinaryRoundTrip() {
+        Frame frame = new Frame();
+        frame.setBuffer("aBuffer");
+        frame.setInstance(3);
+
+        ByteBuffer buffer = ByteBuffer.allocate(frame.binarySize());
+        frame.writeTo(buffer);
+        buffer.flip();
+
+        assertEquals(frame, Frame.readFrom(buffer));
+    }
+
+}
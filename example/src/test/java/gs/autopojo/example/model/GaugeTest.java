@@ -0,0 +1,79 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import gs.autopojo.properties.PropertyTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GaugeTest {
+    private final PropertyTable<Gauge> table = Gauge.Properties.INSTANCE;
+
+    @Test
+    public void testIndexes() {
+        String[] names = {"id", "name", "score", "instance", "active"};
+
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(i, table.indexOf(names[i]));
+        }
+        assertEquals(3, Gauge.Properties.INSTANCE_PROPERTY); // clashes with the singleton
+        assertEquals(Object.class, table.type(Gauge.Properties.INSTANCE_PROPERTY));
+    }
+
+    @Test
+    public void testAccessors() {
+        Gauge gauge = new Gauge();
+        Object instance = new Object();
+
+        table.set(gauge, Gauge.Properties.NAME, "aName");
+        table.set(gauge, Gauge.Properties.INSTANCE_PROPERTY, instance);
+        table.setInt(gauge, Gauge.Properties.ID, 7);
+        table.setDouble(gauge, Gauge.Properties.SCORE, 1.5);
+        table.setBoolean(gauge, Gauge.Properties.ACTIVE, true);
+
+        assertEquals("aName", gauge.getName());
+        assertSame(instance, gauge.getInstance());
+        assertEquals(7, gauge.getId());
+        assertEquals(1.5, gauge.getScore(), 0);
+        assertTrue(gauge.getActive());
+
+        assertEquals(7, table.get(gauge, Gauge.Properties.ID));
+        assertEquals(7, table.getInt(gauge, Gauge.Properties.ID));
+        assertEquals(7L, table.getLong(gauge, Gauge.Properties.ID));
+        assertEquals(7, table.getDouble(gauge, Gauge.Properties.ID), 0);
+        assertEquals(1.5, table.getDouble(gauge, Gauge.Properties.SCORE), 0);
+        assertEquals(1.5, table.get(gauge, Gauge.Properties.SCORE));
+
+        table.set(gauge, Gauge.Properties.ID, 8);
+        table.set(gauge, Gauge.Properties.ACTIVE, false);
+        assertEquals(8, gauge.getId());
+        assertFalse(table.getBoolean(gauge, Gauge.Properties.ACTIVE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoNarrowingSetter() {
+        table.setLong(new Gauge(), Gauge.Properties.ID, 1); // only ints are read widened, never written narrowed
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoIntegralDoubles() {
+        table.getLong(new Gauge(), Gauge.Properties.SCORE);
+    }
+
+    @Test
+    public void testImmutable() {
+        Gauge.Reading reading = new Gauge.Reading(3);
+
+        assertEquals(3, Gauge.Reading.Properties.INSTANCE.getInt(reading, Gauge.Reading.Properties.VALUE));
+        assertEquals(3, Gauge.Reading.Properties.INSTANCE.get(reading, Gauge.Reading.Properties.VALUE));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableSet() {
+        Gauge.Reading.Properties.INSTANCE.set(new Gauge.Reading(3), Gauge.Reading.Properties.VALUE, 4);
+    }
+
+}
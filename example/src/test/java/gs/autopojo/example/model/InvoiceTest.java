@@ -0,0 +1,70 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InvoiceTest {
+
+    @Test
+    public void testLazy() {
+        Invoice invoice = new Invoice.Builder()
+                .reference("INV-001")
+                .referenceFormat("INV-\\d+")
+                .amounts(Arrays.asList(10d, 20d))
+                .taxRate(.5)
+                .build();
+
+        Pattern pattern = invoice.getReferencePattern();
+        assertSame(pattern, invoice.getReferencePattern());
+        assertEquals(30, invoice.getSubtotal(), 0);
+        assertEquals(45, invoice.getTotal(), 0);
+        assertTrue(invoice.getValid());
+
+        invoice.setReference("001");
+        assertFalse(invoice.getValid());
+        assertSame(pattern, invoice.getReferencePattern());
+
+        invoice.setReferenceFormat("\\d+");
+        assertNotSame(pattern, invoice.getReferencePattern());
+        assertTrue(invoice.getValid());
+
+        invoice.setAmounts(Arrays.asList(1d, 2d, 3d));
+        assertEquals(6, invoice.getSubtotal(), 0);
+        assertEquals(9, invoice.getTotal(), 0);
+
+        invoice.setTaxRate(0);
+        assertEquals(6, invoice.getTotal(), 0);
+    }
+
+    @Test
+    public void testLazyNestedEnum() {
+        Invoice invoice = new Invoice.Builder().status(Invoice.Status.SENT).build();
+        assertTrue(invoice.getPayable());
+
+        invoice.setStatus(Invoice.Status.PAID);
+        assertFalse(invoice.getPayable());
+
+        invoice.setStatus(null);
+        assertFalse(invoice.getPayable());
+    }
+
+    @Test
+    public void testLazyNotInValueMethods() {
+        Invoice invoice = new Invoice.Builder().reference("a").referenceFormat("a").build();
+        Invoice other = new Invoice.Builder().reference("a").referenceFormat("a").build();
+        assertTrue(invoice.getValid());
+
+        assertEquals(invoice, other);
+        assertEquals(invoice.hashCode(), other.hashCode());
+        assertEquals("Invoice{reference=a, referenceFormat=a, amounts=null, taxRate=0.0, status=null}", invoice.toString());
+    }
+
+}
@@ -0,0 +1,142 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    public void testAtomics() {
+        Metrics metrics = new Metrics();
+        assertEquals(0, metrics.getAndAddCount(5));
+        assertEquals(5, metrics.getAndAddCount(-2));
+        assertEquals(3, metrics.getCount());
+
+        assertTrue(metrics.compareAndSetStatus(null, "up"));
+        assertFalse(metrics.compareAndSetStatus(null, "down"));
+        assertEquals("up", metrics.getStatus());
+
+        Metrics.Gauge gauge = new Metrics.Gauge();
+        gauge.lazySetValue(2);
+        assertTrue(gauge.compareAndSetValue(2, 3));
+        assertEquals(3, gauge.getValue());
+    }
+
+    @Test
+    public void testSnapshot() {
+        Metrics metrics = new Metrics.Builder()
+                .count(1)
+                .sum(10)
+                .status("up")
+                .build();
+
+        Metrics snapshot = metrics.snapshot();
+        assertNotSame(metrics, snapshot);
+        assertEquals(metrics, snapshot);
+
+        metrics.set(new Metrics.Builder().count(2).sum(20).build());
+        assertEquals("Metrics{count=2, sum=20, status=null}", metrics.toString());
+        assertEquals(1, snapshot.getCount());
+    }
+
+    @Test(timeout = 60_000)
+    public void testConcurrentAdds() throws Exception {
+        Metrics metrics = new Metrics();
+        Metrics.Gauge gauge = new Metrics.Gauge();
+
+        run(THREADS, $ -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                metrics.getAndAddCount(1);
+                metrics.getAndAddSum(i);
+
+                int value;
+                do {
+                    value = gauge.getValue();
+                } while (!gauge.compareAndSetValue(value, value + 1));
+            }
+        });
+
+        assertEquals(THREADS * ITERATIONS, metrics.getCount());
+        assertEquals(THREADS * (long) ITERATIONS * (ITERATIONS - 1) / 2, metrics.getSum());
+        assertEquals(THREADS * ITERATIONS, gauge.getValue());
+    }
+
+    @Test(timeout = 60_000)
+    public void testConsistentSnapshots() throws Exception {
+        Metrics metrics = new Metrics();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicBoolean torn = new AtomicBoolean();
+
+        run(THREADS, thread -> {
+            if (thread % 2 == 0) {
+                Metrics values = new Metrics();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    values.setCount(i);
+                    values.setSum(i * 10L);
+                    values.setStatus(String.valueOf(i));
+                    metrics.set(values);
+                }
+                writing.set(false);
+
+            } else {
+                do {
+                    Metrics snapshot = metrics.snapshot();
+                    if (snapshot.getSum() != snapshot.getCount() * 10
+                            || (snapshot.getStatus() != null && Long.parseLong(snapshot.getStatus()) != snapshot.getCount())) {
+                        torn.set(true);
+                    }
+                } while (writing.get());
+            }
+        });
+
+        assertFalse(torn.get());
+        assertEquals(ITERATIONS - 1, metrics.getCount());
+    }
+
+    private static void run(int threads, ThreadBody body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    body.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private interface ThreadBody {
+
+        void run(int thread) throws Exception;
+
+    }
+
+}
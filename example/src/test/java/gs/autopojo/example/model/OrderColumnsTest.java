@@ -0,0 +1,70 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class OrderColumnsTest {
+
+    private static Order.Express newOrder(int i) {
+        return new Order.Express.Builder()
+                .id(i)
+                .customer("customer" + i)
+                .paid(i % 2 == 0)
+                .amounts(new double[]{i})
+                .status(i % 4 == 3 ? null : Order.Status.values()[i % 4])
+                .deadline(1000 + i)
+                .build();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        Order.Express.Columns columns = new Order.Express.Columns(2);
+        for (int i = 0; i < 100; i++) {
+            columns.add(newOrder(i));
+        }
+        assertEquals(100, columns.size());
+
+        Order.Express reuse = new Order.Express();
+        for (int i = 0; i < 100; i++) {
+            assertSame(reuse, columns.get(i, reuse));
+            assertEquals(newOrder(i).toString(), reuse.toString());
+        }
+        assertNull(columns.getStatus(3));
+        assertEquals(Order.Status.DELIVERED, columns.getStatus(2));
+        assertArrayEquals(new double[]{7}, columns.getAmounts(7), 0);
+    }
+
+    @Test
+    public void testColumns() {
+        Order.Express.Columns columns = new Order.Express.Columns();
+        for (int i = 0; i < 10; i++) {
+            columns.add(newOrder(i));
+        }
+        columns.setDeadline(0, 0);
+
+        long sum = 0;
+        long[] deadlines = columns.getDeadlineColumn();
+        for (int i = 0; i < columns.size(); i++) {
+            sum += deadlines[i];
+        }
+        assertEquals(9 * 1000 + 45, sum);
+        byte[] statuses = columns.getStatusColumn(); // ordinal + 1, so 0 is null
+        assertEquals(Order.Status.SHIPPED.ordinal() + 1, statuses[1]);
+        assertEquals(0, statuses[3]);
+        assertEquals("customer5", columns.getCustomerColumn()[5]);
+
+        columns.clear();
+        assertEquals(0, columns.size());
+        assertNull(columns.getCustomerColumn()[5]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        new Order.Express.Columns().getId(0);
+    }
+
+}
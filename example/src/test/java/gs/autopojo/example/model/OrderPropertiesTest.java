@@ -0,0 +1,63 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import gs.autopojo.properties.PropertyTable;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class OrderPropertiesTest {
+    private final PropertyTable<Order.Express> table = Order.Express.Properties.INSTANCE;
+
+    @Test
+    public void testIndexes() {
+        String[] names = {"id", "customer", "paid", "priority", "amounts", "status", "address", "deadline"};
+
+        assertEquals(names.length, table.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], table.name(i));
+            assertEquals(i, table.indexOf(names[i]));
+            assertEquals(i, table.indexOf(new StringBuilder(names[i])));
+        }
+        assertEquals(Order.Express.Properties.DEADLINE, table.indexOf("deadline"));
+        assertEquals(-1, table.indexOf("unknown"));
+        assertEquals(-1, table.indexOf(""));
+        assertEquals(long.class, table.type(Order.Express.Properties.ID));
+        assertEquals(double[].class, table.type(Order.Express.Properties.AMOUNTS));
+    }
+
+    @Test
+    public void testAccessors() {
+        Order.Express order = new Order.Express();
+
+        table.set(order, Order.Express.Properties.CUSTOMER, "aCustomer");
+        table.set(order, Order.Express.Properties.STATUS, Order.Status.PLACED);
+        table.set(order, Order.Express.Properties.AMOUNTS, new double[]{1.5});
+        table.setLong(order, Order.Express.Properties.ID, 42);
+        table.setBoolean(order, Order.Express.Properties.PAID, true);
+        table.set(order, Order.Express.Properties.DEADLINE, 7L);
+
+        assertEquals("aCustomer", order.getCustomer());
+        assertEquals(42, order.getId());
+        assertEquals(42L, table.get(order, Order.Express.Properties.ID));
+        assertEquals(42, table.getLong(order, Order.Express.Properties.ID));
+        assertEquals(7, table.getDouble(order, Order.Express.Properties.DEADLINE), 0);
+        assertEquals(true, table.getBoolean(order, Order.Express.Properties.PAID));
+        assertEquals(Order.Status.PLACED, table.get(order, Order.Express.Properties.STATUS));
+        assertArrayEquals(new double[]{1.5}, (double[]) table.get(order, Order.Express.Properties.AMOUNTS), 0);
+        assertNull(table.get(order, Order.Express.Properties.PRIORITY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongPrimitive() {
+        table.getLong(new Order.Express(), Order.Express.Properties.CUSTOMER);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        table.get(new Order.Express(), 8);
+    }
+
+}
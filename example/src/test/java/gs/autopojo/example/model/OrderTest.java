@@ -0,0 +1,92 @@
+package gs.autopojo.example.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import gs.autopojo.json.JsonBytes;
+import gs.autopojo.json.JsonReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class OrderTest {
+    private Order.Express order;
+
+    @Before
+    public void setup() {
+        Order.Address address = new Order.Address();
+        address.setStreet("Gran V\u00eda \u2615 \ud83d\ude80");
+        address.setNumber((short) 42);
+
+        order = new Order.Express.Builder()
+                .id(1001)
+                .customer("aCustomer")
+                .paid(true)
+                .amounts(new double[]{1.5, 2.25})
+                .status(Order.Status.SHIPPED)
+                .address(address)
+                .deadline(123456789L)
+                .build();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(order.binarySize());
+
+        order.writeTo(buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        assertEquals(order, Order.Express.readFrom(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testRoundTripDirectLittleEndian() {
+        Order empty = new Order();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(order.binarySize() + empty.binarySize())
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        order.writeTo(buffer);
+        empty.writeTo(buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        assertEquals(order, Order.Express.readFrom(buffer));
+        assertEquals(empty, Order.readFrom(buffer));
+    }
+
+    @Test
+    public void testSuperclassFieldsFirst() {
+        ByteBuffer buffer = ByteBuffer.allocate(order.binarySize());
+        order.writeTo(buffer);
+
+        buffer.flip();
+        assertEquals(1001, buffer.getLong());
+    }
+
+    @Test
+    public void testJson() {
+        String json = order.toJson();
+
+        assertEquals("{\"id\":1001,\"customer_name\":\"aCustomer\",\"paid\":true,\"priority\":null,\"amounts\":[1.5,2.25]," +
+                "\"status\":\"SHIPPED\",\"address\":{\"street\":\"Gran V\u00eda \u2615 \ud83d\ude80\",\"number\":42}," +
+                "\"deadline\":123456789}", json);
+        assertEquals(order, Order.Express.fromJson(json));
+    }
+
+    @Test
+    public void testJsonBytes() throws IOException {
+        JsonBytes bytes = new JsonBytes(8);
+        order.writeJson(bytes);
+
+        assertEquals(order.toJson(), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(order, Order.Express.readJson(new JsonReader(bytes.toByteArray())));
+    }
+
+}
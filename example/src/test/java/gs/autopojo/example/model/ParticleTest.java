@@ -0,0 +1,107 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParticleTest {
+
+    @Test
+    public void testLayout() {
+        assertEquals(0, Particle.Flyweight.CHARGE_OFFSET);
+        assertEquals(8, Particle.Flyweight.X_OFFSET);
+        assertEquals(16, Particle.Flyweight.Y_OFFSET);
+        assertEquals(24, Particle.Flyweight.MASS_OFFSET);
+        assertEquals(28, Particle.Flyweight.ALIVE_OFFSET);
+        assertEquals(32, Particle.Flyweight.KIND_OFFSET);
+        assertEquals(40, Particle.Flyweight.SIZE);
+    }
+
+    @Test
+    public void testCursor() {
+        int count = 100;
+        ByteBuffer buffer = Particle.Flyweight.allocate(count);
+        Particle.Flyweight flyweight = new Particle.Flyweight();
+
+        for (int i = 0; i < count; i++) {
+            flyweight.wrap(buffer, i);
+            flyweight.setCharge((byte) (i % 3 - 1));
+            flyweight.setX(i);
+            flyweight.setY(-i);
+            flyweight.setMass(i / 2f);
+            flyweight.setAlive(i % 2 == 0);
+            flyweight.setKind(i % 4 == 3 ? null : Particle.Kind.values()[i % 4]);
+        }
+
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += flyweight.wrap(buffer, i).getX() + flyweight.getY();
+        }
+        assertEquals(0, sum, 0);
+
+        flyweight.wrap(buffer, 41);
+        assertEquals(1, flyweight.getCharge());
+        assertEquals(41, flyweight.getX(), 0);
+        assertEquals(-41, flyweight.getY(), 0);
+        assertEquals(20.5f, flyweight.getMass(), 0);
+        assertFalse(flyweight.getAlive());
+        assertEquals(Particle.Kind.PROTON, flyweight.getKind());
+        assertNull(flyweight.wrap(buffer, 43).getKind());
+    }
+
+    @Test
+    public void testGetAndSet() {
+        Particle particle = new Particle();
+        particle.setCharge((byte) -1);
+        particle.setX(1.5);
+        particle.setY(2.5);
+        particle.setMass(0.5f);
+        particle.setAlive(true);
+        particle.setKind(Particle.Kind.ELECTRON);
+
+        Particle.Flyweight flyweight = new Particle.Flyweight().wrap(Particle.Flyweight.allocate(2), 1);
+        flyweight.set(particle);
+        assertTrue(flyweight.getAlive());
+        assertEquals(particle, flyweight.get());
+    }
+
+    @Test
+    public void testUnwrittenRecordReadsAsNewInstance() {
+        Particle.Flyweight flyweight = new Particle.Flyweight().wrap(Particle.Flyweight.allocate(1), 0);
+        assertNull(flyweight.getKind());
+        assertEquals(new Particle(), flyweight.get());
+
+        flyweight.setKind(Particle.Kind.ELECTRON);
+        assertEquals(Particle.Kind.ELECTRON, flyweight.getKind());
+        flyweight.setKind(null);
+        assertNull(flyweight.getKind());
+    }
+
+    @Test
+    public void testEnumParse() {
+        for (Particle.Kind kind : Particle.Kind.values()) {
+            byte[] bytes = ("[" + kind.name() + "]").getBytes(StandardCharsets.UTF_8);
+
+            assertSame(kind, Particle.Kind.parse(kind.name()));
+            assertSame(kind, Particle.Kind.parse(new StringBuilder(kind.name())));
+            assertSame(kind, Particle.Kind.parse(bytes, 1, bytes.length - 2));
+            assertSame(kind, Particle.Kind.fromOrdinal(kind.ordinal()));
+        }
+        assertNull(Particle.Kind.parse("PIONS"));
+        assertNull(Particle.Kind.parse("PEON"));
+        assertNull(Particle.Kind.parse("proton"));
+        assertNull(Particle.Kind.parse(""));
+        assertNull(Particle.Kind.parse((CharSequence) null));
+        assertNull(Particle.Kind.parse(new byte[]{'M', 'U', 'O', 'N'}, 1, 3));
+        assertNull(Particle.Kind.fromOrdinal(-1));
+        assertNull(Particle.Kind.fromOrdinal(Particle.Kind.values().length));
+    }
+
+}
@@ -0,0 +1,33 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class RankingTest {
+
+    @Test
+    public void test() {
+        Ranking<String> ranking = new Ranking.Builder<String>()
+                .best("a")
+                .entries(Arrays.asList("a", "b"))
+                .build();
+
+        assertEquals("a", ranking.getBest());
+        assertEquals(Arrays.asList("a", "b"), ranking.getEntries());
+    }
+
+    @Test
+    public void testRecursiveBound() {
+        TypeVariable<?> variable = Ranking.class.getTypeParameters()[0];
+        ParameterizedType bound = (ParameterizedType) variable.getBounds()[0];
+
+        assertEquals(Comparable.class, bound.getRawType());
+        assertEquals(variable, bound.getActualTypeArguments()[0]);
+    }
+
+}
@@ -0,0 +1,22 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RevisionTest {
+
+    @Test
+    public void testSnapshotCopiesTheFields() {
+        Revision revision = new Revision();
+        revision.setSequence(5);
+        revision.setCopy("draft");
+        revision.setCopy("final");
+
+        Revision snapshot = revision.snapshot();
+        assertEquals(5, snapshot.getSequence());
+        assertEquals("final", snapshot.getCopy());
+        assertEquals(revision, snapshot);
+    }
+
+}
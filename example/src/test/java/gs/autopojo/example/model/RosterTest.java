@@ -0,0 +1,71 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RosterTest {
+
+    private static Roster.Member newMember(String name, int number, Float rating) {
+        Roster.Member member = new Roster.Member();
+        member.setName(name);
+        member.setNumber(number);
+        member.setInitial(name.charAt(0));
+        member.setRating(rating);
+        return member;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Roster.Member captain = newMember("Ann \"The Wall\"", 1, 9.5f);
+        Roster.Member other = newMember("Bob\n", 7, null);
+        Map<String, java.util.List<Roster.Role>> roles = new LinkedHashMap<>();
+        roles.put("first", Arrays.asList(Roster.Role.ATTACK, Roster.Role.DEFENSE));
+        roles.put("second", Collections.emptyList());
+
+        Roster roster = new Roster.Builder()
+                .name("aRoster")
+                .members(Arrays.asList(captain, other))
+                .roles(roles)
+                .byNumber(Collections.singletonMap(7, other))
+                .captain(captain)
+                .build();
+
+        String json = roster.toJson();
+        assertEquals("{\"name\":\"aRoster\"," +
+                "\"members\":[{\"name\":\"Ann \\\"The Wall\\\"\",\"number\":1,\"initial\":\"A\",\"rating\":9.5}," +
+                "{\"name\":\"Bob\\n\",\"number\":7,\"initial\":\"B\",\"rating\":null}]," +
+                "\"roles\":{\"first\":[\"ATTACK\",\"DEFENSE\"],\"second\":[]}," +
+                "\"byNumber\":{\"7\":{\"name\":\"Bob\\n\",\"number\":7,\"initial\":\"B\",\"rating\":null}}," +
+                "\"lead\":{\"name\":\"Ann \\\"The Wall\\\"\",\"number\":1,\"initial\":\"A\",\"rating\":9.5}}", json);
+        assertEquals(roster, Roster.fromJson(json));
+    }
+
+    @Test
+    public void testLenientInput() {
+        Roster roster = Roster.fromJson(" {\n" +
+                "  \"unknown\": {\"nested\": [1, 2.5e3, true, null, \"x\"]},\n" +
+                "  \"n\\u0061me\": \"aRoster\",\n" +
+                "  \"members\": null,\n" +
+                "  \"lead\": {\"number\": -3, \"initial\": \"\\u00e9\"}\n" +
+                "}");
+
+        assertEquals("aRoster", roster.getName());
+        assertNull(roster.getMembers());
+        assertEquals(-3, roster.getCaptain().getNumber());
+        assertEquals('\u00e9', roster.getCaptain().getInitial());
+        assertNull(Roster.fromJson("null"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformed() {
+        Roster.fromJson("{\"name\":\"aRoster\" \"members\":[]}");
+    }
+
+}
@@ -0,0 +1,112 @@
+package gs.autopojo.example.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import gs.autopojo.collections.IntList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ScoreboardTest {
+    private Scoreboard scoreboard;
+
+    @Before
+    public void setup() {
+        scoreboard = new Scoreboard.Builder()
+                .scores(Arrays.asList(3, 5, 8))
+                .ratings(Collections.singletonList(4.5))
+                .players(Collections.singletonMap(10L, "aPlayer"))
+                .build();
+    }
+
+    @Test
+    public void test() {
+        assertTrue(scoreboard.getScores() instanceof IntList);
+        assertEquals(Arrays.asList(3, 5, 8), scoreboard.getScores());
+        assertEquals(3, scoreboard.scoresSize());
+        assertEquals(5, scoreboard.getScore(1));
+        assertEquals(4.5, scoreboard.getRating(0), 0);
+        assertEquals("aPlayer", scoreboard.getPlayer(10));
+        assertNull(scoreboard.getPlayer(11));
+        assertEquals(Collections.singletonMap(10L, "aPlayer"), scoreboard.getPlayers());
+    }
+
+    @Test
+    public void testForEach() {
+        AtomicInteger sum = new AtomicInteger();
+
+        scoreboard.forEachScore(sum::addAndGet);
+        scoreboard.forEachPlayer((name, id) -> sum.addAndGet((int) id));
+        assertEquals(26, sum.get());
+    }
+
+    @Test
+    public void testNullCollections() {
+        Scoreboard empty = new Scoreboard();
+
+        assertEquals(0, empty.scoresSize());
+        assertNull(empty.getPlayer(10));
+        try {
+            empty.getScore(0);
+            fail();
+
+        } catch (IndexOutOfBoundsException expected) {
+            assertEquals("Index: 0, Size: 0", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testMapViews() {
+        scoreboard.setPlayers(new HashMap<>(Collections.singletonMap(10L, "aPlayer")));
+        Map<Long, String> players = scoreboard.getPlayers();
+        for (long id = 0; id < 20; id++) {
+            players.put(id, "player" + id);
+        }
+
+        players.keySet().remove(3L);
+        players.values().removeIf($ -> $.endsWith("5"));
+        players.replaceAll((id, name) -> name.toUpperCase());
+        players.entrySet().iterator().next().setValue("first");
+
+        Map<Long, String> expected = new HashMap<>();
+        for (long id = 0; id < 20; id++) {
+            expected.put(id, "PLAYER" + id);
+        }
+        expected.remove(3L);
+        expected.remove(5L);
+        expected.remove(15L);
+        expected.put(players.keySet().iterator().next(), "first");
+        assertEquals(expected, players);
+        assertEquals(17, scoreboard.playersSize());
+
+        for (Iterator<Long> ids = players.keySet().iterator(); ids.hasNext(); ) {
+            ids.next();
+            ids.remove();
+        }
+        assertTrue(players.isEmpty());
+    }
+
+    @Test
+    public void testValueMethods() {
+        Scoreboard other = new Scoreboard();
+        other.setScores(new IntList());
+        other.getScores().addAll(Arrays.asList(3, 5, 8));
+        other.setRatings(Collections.singletonList(4.5));
+        other.setPlayers(Collections.singletonMap(10L, "aPlayer"));
+
+        assertEquals(scoreboard, other);
+        assertEquals(scoreboard.hashCode(), other.hashCode());
+        assertEquals("Scoreboard{scores=[3, 5, 8], ratings=[4.5], players={10=aPlayer}, comments=null}", other.toString());
+    }
+
+}
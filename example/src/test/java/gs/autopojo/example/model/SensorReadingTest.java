@@ -0,0 +1,108 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SensorReadingTest {
+
+    @Test
+    public void testPresence() {
+        SensorReading reading = new SensorReading();
+        assertFalse(reading.hasTimestamp());
+        assertFalse(reading.hasTemperature());
+        assertFalse(reading.hasOnline());
+        assertFalse(reading.hasUnit());
+        assertNull(reading.getTemperature());
+        assertNull(reading.getOnline());
+        assertNull(reading.getUnit());
+
+        reading.setTimestamp(0);
+        reading.setTemperature(-4);
+        reading.setCalibrated(true);
+        reading.setOnline(false);
+        reading.setUnit(SensorReading.Unit.KELVIN);
+        reading.setLevel(SensorReading.Level.CRITICAL);
+        assertTrue(reading.hasTimestamp());
+        assertEquals(0, reading.getTimestamp());
+        assertEquals(Integer.valueOf(-4), reading.getTemperature());
+        assertTrue(reading.getCalibrated());
+        assertEquals(Boolean.FALSE, reading.getOnline());
+        assertEquals(SensorReading.Unit.KELVIN, reading.getUnit());
+        assertEquals(SensorReading.Level.CRITICAL, reading.getLevel());
+        assertFalse(reading.hasHumidity());
+
+        reading.clearTemperature();
+        reading.setOnline(null);
+        reading.setUnit(null);
+        assertFalse(reading.hasTemperature());
+        assertFalse(reading.hasOnline());
+        assertFalse(reading.hasUnit());
+        assertTrue(reading.getCalibrated());
+        assertEquals(SensorReading.Level.CRITICAL, reading.getLevel());
+    }
+
+    @Test
+    public void testEquality() {
+        SensorReading unset = new SensorReading();
+        SensorReading zero = new SensorReading();
+        zero.setTemperature(0);
+        assertNotEquals(unset, zero);
+
+        zero.clearTemperature();
+        assertEquals(unset, zero);
+        assertEquals(unset.hashCode(), zero.hashCode());
+
+        zero.setHumidity(.5);
+        zero.setHumidity(null);
+        assertEquals(unset, zero);
+    }
+
+    @Test
+    public void testBuilder() {
+        SensorReading reading = new SensorReading.Builder()
+                .sensor("s1")
+                .timestamp(42)
+                .humidity(.25)
+                .online(true)
+                .level(SensorReading.Level.LOW)
+                .build();
+
+        SensorReading expected = new SensorReading();
+        expected.setSensor("s1");
+        expected.setTimestamp(42);
+        expected.setHumidity(.25);
+        expected.setOnline(true);
+        expected.setLevel(SensorReading.Level.LOW);
+
+        assertEquals(expected, reading);
+        assertFalse(reading.hasTemperature());
+        assertFalse(reading.hasCalibrated());
+        assertEquals("SensorReading{sensor=s1, timestamp=42, temperature=null, humidity=0.25, calibrated=false, online=true, unit=null, level=LOW}",
+                reading.toString());
+    }
+
+    @Test
+    public void testCodecs() {
+        SensorReading reading = new SensorReading.Builder()
+                .timestamp(7)
+                .temperature(21)
+                .calibrated(true)
+                .unit(SensorReading.Unit.CELSIUS)
+                .build();
+
+        ByteBuffer buffer = ByteBuffer.allocate(reading.binarySize());
+        reading.writeTo(buffer);
+        buffer.flip();
+        assertEquals(reading, SensorReading.readFrom(buffer));
+
+        assertEquals(reading, SensorReading.fromJson(reading.toJson()));
+    }
+
+}
@@ -0,0 +1,81 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SettingTest {
+
+    @Test
+    public void testTrackChanges() {
+        Setting setting = new Setting.Builder()
+                .name("aName")
+                .target("aTarget")
+                .build();
+        assertFalse(setting.isDirty());
+
+        setting.setTarget("otherTarget");
+        setting.setName("otherName");
+        assertTrue(setting.isDirty());
+        assertEquals(Arrays.asList("name", "target"), setting.dirtyFields());
+
+        Setting.Delta delta = setting.writeDelta();
+        setting.clearDirty();
+        assertFalse(setting.isDirty());
+        assertTrue(setting.writeDelta().isEmpty());
+        assertFalse(delta.isEmpty());
+
+        Setting other = new Setting.Builder()
+                .name("aName")
+                .target("aTarget")
+                .build();
+        other.applyDelta(delta);
+        assertEquals(setting, other);
+    }
+
+    @Test
+    public void testTrackChangesPooling() {
+        Setting.Draft.Pool pool = new Setting.Draft.Pool(1);
+        Setting.Draft pooled = pool.acquire();
+        pooled.setText("aText");
+        pool.release(pooled);
+
+        assertFalse(pool.acquire().isDirty());
+    }
+
+    @Test
+    public void testDeltasCopyTheFields() {
+        ScopedSetting setting = new ScopedSetting.Builder()
+                .name("aName")
+                .target("aTarget")
+                .scope("aScope")
+                .delta(1)
+                .build();
+        assertFalse(setting.isDirty());
+
+        setting.setTarget("otherTarget");
+        setting.setDelta(2);
+        assertEquals(Arrays.asList("target", "delta"), setting.dirtyFields());
+
+        ScopedSetting replica = new ScopedSetting.Builder()
+                .name("aName")
+                .build();
+        setting.writeDelta(replica);
+        assertEquals("ScopedSetting{name=aName, target=otherTarget, scope=null, delta=2}", replica.toString());
+
+        ScopedSetting other = new ScopedSetting.Builder()
+                .name("aName")
+                .target("aTarget")
+                .scope("aScope")
+                .delta(1)
+                .build();
+        other.applyDelta(setting.writeDelta());
+        assertEquals(setting, other);
+        assertTrue(other.isDirty());
+    }
+
+}
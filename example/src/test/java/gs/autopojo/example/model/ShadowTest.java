@@ -0,0 +1,33 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ShadowTest {
+
+    @Test
+    public void testValueMethodsReadTheFields() {
+        Shadow shadow = shadow("a", "b", 1, "c");
+
+        assertEquals(shadow("a", "b", 1, "c"), shadow);
+        assertEquals(shadow("a", "b", 1, "c").hashCode(), shadow.hashCode());
+        assertNotEquals(shadow("x", "b", 1, "c"), shadow);
+        assertNotEquals(shadow("a", "x", 1, "c"), shadow);
+        assertNotEquals(shadow("a", "b", 2, "c"), shadow);
+        assertNotEquals(shadow("a", "b", 1, "x"), shadow);
+        assertNotEquals(shadow("a", "b", 2, "c").hashCode(), shadow.hashCode());
+        assertEquals("Shadow{o=a, that=b, result=1, sb=c}", shadow.toString());
+    }
+
+    private static Shadow shadow(String o, String that, int result, String sb) {
+        Shadow shadow = new Shadow();
+        shadow.setO(o);
+        shadow.setThat(that);
+        shadow.setResult(result);
+        shadow.setSb(sb);
+        return shadow;
+    }
+
+}
@@ -0,0 +1,41 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SupportTicketTest {
+
+    @Test
+    public void testPooling() {
+        SupportTicket.Pool pool = new SupportTicket.Pool(1);
+        SupportTicket.Builder builder = new SupportTicket.Builder();
+
+        SupportTicket pooled = builder
+                .id(102)
+                .title("aTitle")
+                .build(pool.acquire());
+        assertEquals("SupportTicket{id=102, title=aTitle, customer=null, replies=null}", pooled.toString());
+
+        pool.release(pooled);
+        assertEquals("SupportTicket{id=0, title=null, customer=null, replies=null}", pooled.toString());
+        assertSame(pooled, pool.acquire());
+
+        SupportTicket expected = new SupportTicket.Builder()
+                .id(101)
+                .title("otherTitle")
+                .customer("aCustomer")
+                .replies(Collections.emptyList())
+                .build();
+        assertEquals(expected, builder.reset()
+                .id(101)
+                .title("otherTitle")
+                .customer("aCustomer")
+                .replies(Collections.emptyList())
+                .build(pooled));
+    }
+
+}
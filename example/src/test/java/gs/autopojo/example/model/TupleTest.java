@@ -0,0 +1,22 @@
+package gs.autopojo.example.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TupleTest {
+
+    @Test
+    public void testInternedBounded() {
+        Tuple<String, Integer> tuple = Tuple.intern(new Tuple<>("a", 1));
+
+        assertSame(tuple, Tuple.intern(new Tuple<>("a", 1)));
+        for (int i = 0; i < 1000; i++) {
+            Tuple.intern(new Tuple<>("b", i));
+        }
+        assertTrue(Tuple.interner().size() <= 64);
+        assertTrue(Tuple.interner().evictions() > 0);
+    }
+
+}
@@ -8,7 +8,8 @@ import java.lang.annotation.Target;
 
 @Repeatable(ExtraAnnotations.class)
 @Target({ElementType.TYPE, ElementType.METHOD})
-@Retention(RetentionPolicy.SOURCE)
+// CLASS retention, so it's still read from an already compiled @POJO meta-annotated type
+@Retention(RetentionPolicy.CLASS)
 public @interface ExtraAnnotation {
 
     String value();
@@ -6,7 +6,8 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @Target({ElementType.TYPE, ElementType.METHOD})
-@Retention(RetentionPolicy.SOURCE)
+// CLASS retention, so it's still read from an already compiled @POJO meta-annotated type
+@Retention(RetentionPolicy.CLASS)
 public @interface ExtraAnnotations {
 
     ExtraAnnotation[] value();
@@ -0,0 +1,24 @@
+package gs.autopojo;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code default} method of a {@link POJO} interface as a derived property: its body is computed on the first call
+ * to its getter and cached until one of the properties it depends on is set again.
+ * <p>
+ * Immutable {@link POJO}s cache it with a racy single-check (it may be computed more than once, and a default value,
+ * like {@code 0} or {@code null}, is never cached), mutable ones with a double-checked lock.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface Lazy {
+
+    /**
+     * The names of the properties (its own or of its superclass) the value is derived from. Defaults to all of them.
+     */
+    String[] value() default {};
+
+}
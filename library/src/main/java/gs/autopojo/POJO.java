@@ -5,7 +5,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-@Retention(RetentionPolicy.SOURCE)
+// CLASS retention, so an already compiled annotation type still carries it as a meta-annotation
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
 public @interface POJO {
 
@@ -13,4 +14,111 @@ public @interface POJO {
 
     boolean builder() default false;
 
+    /**
+     * Generates {@code final} fields set by an all-args constructor, and {@code with*} copy methods instead of setters.
+     * Must match the one of its {@link POJO} superclass, if any.
+     */
+    boolean immutable() default false;
+
+    /**
+     * Generates {@code reset()} methods, a {@code build(T into)} on the builder and a thread-confined {@code Pool},
+     * to reuse instances instead of allocating new ones. Requires a mutable {@link POJO}, and a pooled superclass, if any.
+     */
+    boolean pooled() default false;
+
+    /**
+     * Backs {@code List<Integer>}, {@code List<Long>}, {@code List<Double>}, {@code Map<Integer, V>} and {@code Map<Long, V>}
+     * properties with the non boxing containers of {@code gs.autopojo.collections}, adding primitive accessors for them.
+     */
+    boolean primitiveCollections() default false;
+
+    /**
+     * Generates a compact binary codec: {@code binarySize()}, {@code writeTo(ByteBuffer)} and a static {@code readFrom(ByteBuffer)}.
+     * Supports primitives (and their boxes), {@code String}s, {@code byte[]}, {@code int[]}, {@code long[]}, {@code double[]},
+     * enums and other {@code binaryCodec} {@link POJO}s.
+     *
+     * @see gs.autopojo.codec.BinaryWritable
+     */
+    boolean binaryCodec() default false;
+
+    /**
+     * Generates a {@code JSON} codec: {@code writeJson(Appendable)}, {@code toJson()} and the static {@code readJson(JsonReader)} and {@code fromJson(CharSequence)}.
+     */
+    boolean jsonCodec() default false;
+
+    /**
+     * Generates a nested {@code Properties} class, with an index constant per property (superclass ones included)
+     * and an {@code INSTANCE} accessing them by index without reflection.
+     *
+     * @see gs.autopojo.properties.PropertyTable
+     */
+    boolean propertyTable() default false;
+
+    /**
+     * Generates a nested {@code Flyweight} class, accessing the properties of records stored in a {@link java.nio.ByteBuffer}.
+     * All properties (including the inherited ones) must be primitives or enums.
+     */
+    boolean flyweight() default false;
+
+    /**
+     * Generates a nested {@code Columns} class, storing many instances as one array per property (struct of arrays).
+     */
+    boolean columns() default false;
+
+    /**
+     * Stores primitive, boxed primitive and small enum properties compactly: booleans and enums packed as bits,
+     * boxes unboxed, and a presence bit for each of them, adding {@code hasX()} and {@code clearX()} accessors.
+     * Can not be {@link #immutable()}.
+     */
+    boolean compact() default false;
+
+    /**
+     * Tracks which properties were changed by their setters, adding {@code isDirty()}, {@code dirtyFields()}, {@code clearDirty()}
+     * and {@code writeDelta}/{@code applyDelta} to copy only the changed ones. Can not be {@link #immutable()}.
+     */
+    boolean trackChanges() default false;
+
+    /**
+     * Generates {@code volatile} fields for instances shared across threads, along with {@code lazySetX} (an ordered write)
+     * and {@code compareAndSetX} (plus {@code getAndAddX} for {@code int} and {@code long}) atomic accessors backed by field updaters.
+     * Must match the one of its {@link POJO} superclass, if any. Can not be {@link #immutable()}, {@link #compact()} nor {@link #trackChanges()}.
+     */
+    boolean concurrent() default false;
+
+    /**
+     * Guards the writes of a {@link #concurrent()} {@link POJO} with a sequence lock, adding a lock-free {@code snapshot()} copy
+     * consistent across all properties, and {@code set(T)} to write all of them at once. Writers are serialized. Can not have a superclass.
+     */
+    boolean seqlock() default false;
+
+    /**
+     * Caches the result of {@code hashCode()} until a setter is called.
+     */
+    boolean cacheHashCode() default false;
+
+    /**
+     * Adds a static {@code intern(T)} returning a canonical instance among the equal ones, backed by a {@code gs.autopojo.intern.Interner}
+     * (exposed by {@code interner()} for its statistics), and {@code buildInterned()} to the builder.
+     * Interned instances are shared, so it requires {@link #immutable()}.
+     *
+     * @see #internedMaxSize()
+     */
+    boolean interned() default false;
+
+    /**
+     * When positive, bounds the {@link #interned()} table to the given number of instances held strongly, evicting the previous one
+     * of the same slot. Otherwise the table is unbounded and holds them weakly.
+     */
+    int internedMaxSize() default 0;
+
+    /**
+     * Instead of copying the initializer of each constant of the interface, compile-time constants are copied by value
+     * and any other becomes a static method of its same name reading it from the interface (which must be then kept at runtime),
+     * so its value is shared. Calling any of those methods initializes the interface, which computes all its constants at once.
+     * <p>
+     * As such a constant is then read as {@code Name.CONSTANT()} instead of {@code Name.CONSTANT}, enabling (or disabling) this
+     * breaks the source compatibility of the generated class.
+     */
+    boolean delegateConstants() default false;
+
 }
@@ -0,0 +1,232 @@
+package gs.autopojo.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers of the code generated for {@code binaryCodec} {@link gs.autopojo.POJO}s.
+ * Nullable values are prefixed by a presence {@code byte}, arrays and strings by their length ({@code -1} for {@code null}).
+ */
+public final class Binary {
+    private static final byte NULL = 0;
+    private static final byte PRESENT = 1;
+
+    /**
+     * Writes whether the given value is {@code null}, returning {@code true} if it is not (and it should be written).
+     */
+    public static boolean writePresence(ByteBuffer buffer, Object value) {
+        buffer.put(value == null ? NULL : PRESENT);
+        return value != null;
+    }
+
+    public static boolean readPresence(ByteBuffer buffer) {
+        return buffer.get() != NULL;
+    }
+
+    public static int sizeOf(BinaryWritable value) {
+        return value == null ? 1 : 1 + value.binarySize();
+    }
+
+    public static void write(ByteBuffer buffer, BinaryWritable value) {
+        if (writePresence(buffer, value)) {
+            value.writeTo(buffer);
+        }
+    }
+
+    public static void writeEnum(ByteBuffer buffer, Enum<?> value) {
+        buffer.putInt(value == null ? -1 : value.ordinal());
+    }
+
+    public static <E extends Enum<E>> E readEnum(ByteBuffer buffer, E[] values) {
+        int ordinal = buffer.getInt();
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    /**
+     * Size of a length prefixed {@code UTF-8} string.
+     */
+    public static int sizeOf(String value) {
+        return value == null ? 4 : 4 + utf8Length(value);
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2; // 4 bytes for 2 chars
+                    i++;
+
+                } else {
+                    bytes += Character.isSurrogate(c) ? 0 : 2; // an unpaired surrogate is written as '?'
+                }
+
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes a length prefixed {@code UTF-8} string, encoding it directly into the buffer.
+     */
+    public static void write(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        buffer.putInt(utf8Length(value));
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < 0x80) {
+                buffer.put((byte) c);
+
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)))
+                        .put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((codePoint >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (codePoint & 0x3F)));
+
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)))
+                        .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Reads a length prefixed {@code UTF-8} string. Heap buffers are decoded in place, without an intermediate {@code byte[]}.
+     */
+    public static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    public static int sizeOf(byte[] value) {
+        return value == null ? 4 : 4 + value.length;
+    }
+
+    public static void write(ByteBuffer buffer, byte[] value) {
+        buffer.putInt(value == null ? -1 : value.length);
+        if (value != null) {
+            buffer.put(value);
+        }
+    }
+
+    public static byte[] readByteArray(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+
+    public static int sizeOf(int[] value) {
+        return value == null ? 4 : 4 + value.length * Integer.BYTES;
+    }
+
+    public static void write(ByteBuffer buffer, int[] value) {
+        buffer.putInt(value == null ? -1 : value.length);
+        if (value != null) {
+            buffer.asIntBuffer().put(value);
+            buffer.position(buffer.position() + value.length * Integer.BYTES);
+        }
+    }
+
+    public static int[] readIntArray(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        int[] value = new int[length];
+        buffer.asIntBuffer().get(value);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return value;
+    }
+
+    public static int sizeOf(long[] value) {
+        return value == null ? 4 : 4 + value.length * Long.BYTES;
+    }
+
+    public static void write(ByteBuffer buffer, long[] value) {
+        buffer.putInt(value == null ? -1 : value.length);
+        if (value != null) {
+            buffer.asLongBuffer().put(value);
+            buffer.position(buffer.position() + value.length * Long.BYTES);
+        }
+    }
+
+    public static long[] readLongArray(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        long[] value = new long[length];
+        buffer.asLongBuffer().get(value);
+        buffer.position(buffer.position() + length * Long.BYTES);
+        return value;
+    }
+
+    public static int sizeOf(double[] value) {
+        return value == null ? 4 : 4 + value.length * Double.BYTES;
+    }
+
+    public static void write(ByteBuffer buffer, double[] value) {
+        buffer.putInt(value == null ? -1 : value.length);
+        if (value != null) {
+            buffer.asDoubleBuffer().put(value);
+            buffer.position(buffer.position() + value.length * Double.BYTES);
+        }
+    }
+
+    public static double[] readDoubleArray(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        double[] value = new double[length];
+        buffer.asDoubleBuffer().get(value);
+        buffer.position(buffer.position() + length * Double.BYTES);
+        return value;
+    }
+
+    private Binary() {
+    }
+
+}
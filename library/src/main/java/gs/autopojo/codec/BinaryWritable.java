@@ -0,0 +1,20 @@
+package gs.autopojo.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implemented by the {@code binaryCodec} {@link gs.autopojo.POJO}s, which also have a static {@code readFrom(ByteBuffer)}.
+ */
+public interface BinaryWritable {
+
+    /**
+     * The exact number of bytes {@link #writeTo(ByteBuffer)} will write.
+     */
+    int binarySize();
+
+    /**
+     * Writes this object at the buffer's position, in the buffer's byte order.
+     */
+    void writeTo(ByteBuffer buffer);
+
+}
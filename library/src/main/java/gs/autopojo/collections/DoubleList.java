@@ -0,0 +1,166 @@
+package gs.autopojo.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A growable {@code double[]} backed {@link java.util.List}.
+ * Its {@code List<Double>} methods box, but {@link #getDouble(int)}, {@link #addDouble(double)}
+ * or {@link #forEachDouble(DoubleConsumer)} (and {@link #equals(Object)}, {@link #hashCode()}) do not.
+ */
+public class DoubleList extends AbstractList<Double> implements RandomAccess {
+    private static final double[] EMPTY = {};
+    private double[] elements;
+    private int size;
+
+    public DoubleList() {
+        this.elements = EMPTY;
+    }
+
+    public DoubleList(int capacity) {
+        this.elements = capacity == 0 ? EMPTY : new double[capacity];
+    }
+
+    /**
+     * Returns the given {@code values} if already a {@link DoubleList}, or a copy of them otherwise.
+     */
+    public static DoubleList from(Collection<Double> values) {
+        if (values == null || values instanceof DoubleList) {
+            return (DoubleList) values;
+        }
+
+        DoubleList list = new DoubleList(values.size());
+        for (Double value : values) {
+            list.addDouble(value);
+        }
+        return list;
+    }
+
+    public double getDouble(int index) {
+        checkIndex(index, size);
+        return elements[index];
+    }
+
+    public double setDouble(int index, double value) {
+        checkIndex(index, size);
+        double previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    public void addDouble(double value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    public void addDouble(int index, double value) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    public double removeDoubleAt(int index) {
+        checkIndex(index, size);
+        double previous = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    public void forEachDouble(DoubleConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, Math.max(8, elements.length + (elements.length >> 1))));
+        }
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public Double set(int index, Double element) {
+        return setDouble(index, element);
+    }
+
+    @Override
+    public void add(int index, Double element) {
+        addDouble(index, element);
+    }
+
+    @Override
+    public Double remove(int index) {
+        return removeDoubleAt(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof DoubleList) {
+            DoubleList that = (DoubleList) o;
+            if (size != that.size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (Double.doubleToLongBits(elements[i]) != Double.doubleToLongBits(that.elements[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Double.hashCode(elements[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            sb.append(i > 0 ? ", " : "").append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
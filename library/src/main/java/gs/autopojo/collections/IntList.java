@@ -0,0 +1,166 @@
+package gs.autopojo.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+
+/**
+ * A growable {@code int[]} backed {@link java.util.List}.
+ * Its {@code List<Integer>} methods box, but {@link #getInt(int)}, {@link #addInt(int)}
+ * or {@link #forEachInt(IntConsumer)} (and {@link #equals(Object)}, {@link #hashCode()}) do not.
+ */
+public class IntList extends AbstractList<Integer> implements RandomAccess {
+    private static final int[] EMPTY = {};
+    private int[] elements;
+    private int size;
+
+    public IntList() {
+        this.elements = EMPTY;
+    }
+
+    public IntList(int capacity) {
+        this.elements = capacity == 0 ? EMPTY : new int[capacity];
+    }
+
+    /**
+     * Returns the given {@code values} if already an {@link IntList}, or a copy of them otherwise.
+     */
+    public static IntList from(Collection<Integer> values) {
+        if (values == null || values instanceof IntList) {
+            return (IntList) values;
+        }
+
+        IntList list = new IntList(values.size());
+        for (Integer value : values) {
+            list.addInt(value);
+        }
+        return list;
+    }
+
+    public int getInt(int index) {
+        checkIndex(index, size);
+        return elements[index];
+    }
+
+    public int setInt(int index, int value) {
+        checkIndex(index, size);
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    public void addInt(int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    public void addInt(int index, int value) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    public int removeIntAt(int index) {
+        checkIndex(index, size);
+        int previous = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    public void forEachInt(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, Math.max(8, elements.length + (elements.length >> 1))));
+        }
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, element);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        addInt(index, element);
+    }
+
+    @Override
+    public Integer remove(int index) {
+        return removeIntAt(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof IntList) {
+            IntList that = (IntList) o;
+            if (size != that.size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (elements[i] != that.elements[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Integer.hashCode(elements[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            sb.append(i > 0 ? ", " : "").append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package gs.autopojo.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.LongConsumer;
+
+/**
+ * A growable {@code long[]} backed {@link java.util.List}.
+ * Its {@code List<Long>} methods box, but {@link #getLong(int)}, {@link #addLong(long)}
+ * or {@link #forEachLong(LongConsumer)} (and {@link #equals(Object)}, {@link #hashCode()}) do not.
+ */
+public class LongList extends AbstractList<Long> implements RandomAccess {
+    private static final long[] EMPTY = {};
+    private long[] elements;
+    private int size;
+
+    public LongList() {
+        this.elements = EMPTY;
+    }
+
+    public LongList(int capacity) {
+        this.elements = capacity == 0 ? EMPTY : new long[capacity];
+    }
+
+    /**
+     * Returns the given {@code values} if already a {@link LongList}, or a copy of them otherwise.
+     */
+    public static LongList from(Collection<Long> values) {
+        if (values == null || values instanceof LongList) {
+            return (LongList) values;
+        }
+
+        LongList list = new LongList(values.size());
+        for (Long value : values) {
+            list.addLong(value);
+        }
+        return list;
+    }
+
+    public long getLong(int index) {
+        checkIndex(index, size);
+        return elements[index];
+    }
+
+    public long setLong(int index, long value) {
+        checkIndex(index, size);
+        long previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    public void addLong(long value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    public void addLong(int index, long value) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    public long removeLongAt(int index) {
+        checkIndex(index, size);
+        long previous = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    public void forEachLong(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, Math.max(8, elements.length + (elements.length >> 1))));
+        }
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long element) {
+        return setLong(index, element);
+    }
+
+    @Override
+    public void add(int index, Long element) {
+        addLong(index, element);
+    }
+
+    @Override
+    public Long remove(int index) {
+        return removeLongAt(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof LongList) {
+            LongList that = (LongList) o;
+            if (size != that.size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (elements[i] != that.elements[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Long.hashCode(elements[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            sb.append(i > 0 ? ", " : "").append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
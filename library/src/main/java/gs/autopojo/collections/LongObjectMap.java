@@ -0,0 +1,340 @@
+package gs.autopojo.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * An open-addressing (linear probing) {@code long} keyed {@link Map}.
+ * Its {@code Map<Long, V>} methods box, but {@link #get(long)}, {@link #put(long, Object)}
+ * or {@link #forEachEntry(ObjLongConsumer)} (and {@link #hashCode()}) do not.
+ * <p>
+ * The {@code 0} key is kept aside, as it marks the free slots.
+ */
+public class LongObjectMap<V> extends AbstractMap<Long, V> {
+    private static final float LOAD_FACTOR = .5f;
+    private long[] keys;
+    private V[] values;
+    private boolean hasZeroKey;
+    private V zeroValue;
+    private int size;
+
+    public LongObjectMap() {
+        this(8);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LongObjectMap(int capacity) {
+        int length = Integer.highestOneBit(Math.max(4, (int) (capacity / LOAD_FACTOR)) - 1) << 1;
+
+        this.keys = new long[length];
+        this.values = (V[]) new Object[length];
+    }
+
+    /**
+     * Returns the given {@code map} if already a {@link LongObjectMap}, or a copy of it otherwise.
+     */
+    public static <V> LongObjectMap<V> from(Map<Long, V> map) {
+        if (map == null || map instanceof LongObjectMap) {
+            return (LongObjectMap<V>) map;
+        }
+
+        LongObjectMap<V> copy = new LongObjectMap<>(map.size());
+        for (Map.Entry<Long, V> entry : map.entrySet()) {
+            copy.put((long) entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : keys[slot(key)] != 0;
+    }
+
+    public V get(long key) {
+        return key == 0 ? zeroValue : values[slot(key)];
+    }
+
+    public V put(long key, V value) {
+        V previous;
+
+        if (key == 0) {
+            previous = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+
+        } else {
+            int slot = slot(key);
+            previous = values[slot];
+            values[slot] = value;
+
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                if (++size > keys.length * LOAD_FACTOR) {
+                    rehash(keys.length << 1);
+                }
+            }
+        }
+        return previous;
+    }
+
+    public V remove(long key) {
+        if (key == 0) {
+            V previous = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return previous;
+        }
+
+        int slot = slot(key);
+        return keys[slot] != 0 ? removeSlot(slot) : null;
+    }
+
+    private V removeSlot(int slot) {
+        V previous = values[slot];
+        size--;
+
+        // backward shift deletion, so no tombstones are needed
+        int mask = keys.length - 1;
+        for (int next = (slot + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int ideal = mix(keys[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        keys[slot] = 0;
+        values[slot] = null;
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int length) {
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+
+        keys = new long[length];
+        values = (V[]) new Object[length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    public void forEachEntry(ObjLongConsumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(zeroValue, 0);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(values[i], keys[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Long && containsKey((long) key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Long ? get((long) key) : null;
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        return put((long) key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Long ? remove((long) key) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hasZeroKey ? Objects.hashCode(zeroValue) : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                result += Long.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Map.Entry<Long, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Long, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<Long, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+        };
+    }
+
+    /**
+     * Visits the slots circularly from a free one, so the backward shift of a {@link #remove()} only moves entries not visited yet
+     * (as no cluster wraps around that free slot), which may land on the removed slot itself.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Long, V>> {
+        private final int start = freeSlot();
+        private int next = hasZeroKey ? -1 : advance(0);
+        private int last = -2;
+
+        private int freeSlot() {
+            int slot = 0;
+            while (keys[slot] != 0) {
+                slot++;
+            }
+            return slot;
+        }
+
+        private int slotAt(int index) {
+            return (start + 1 + index) & (keys.length - 1);
+        }
+
+        private int advance(int from) {
+            while (from < keys.length && keys[slotAt(from)] == 0) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public Map.Entry<Long, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            last = next;
+            next = advance(last + 1);
+            return last < 0 ? new SlotEntry(0, zeroValue) : new SlotEntry(keys[slotAt(last)], values[slotAt(last)]);
+        }
+
+        @Override
+        public void remove() {
+            if (last == -2) {
+                throw new IllegalStateException();
+            }
+
+            if (last < 0) {
+                LongObjectMap.this.remove(0L);
+
+            } else {
+                removeSlot(slotAt(last));
+                next = advance(last);
+            }
+            last = -2;
+        }
+
+    }
+
+    /**
+     * An entry writing its value through to the map.
+     */
+    private final class SlotEntry implements Map.Entry<Long, V> {
+        private final long key;
+        private V value;
+
+        SlotEntry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Long getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            put(key, value);
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+            return getKey().equals(that.getKey()) && Objects.equals(value, that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package gs.autopojo.intern;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A direct mapped table: each instance can only live on the slot of its hash, replacing the previous one on a miss.
+ */
+final class BoundedInterner<T> extends Interner<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+
+    BoundedInterner(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+
+        this.slots = new AtomicReferenceArray<>(powerOfTwo(maxSize));
+        this.mask = slots.length() - 1;
+    }
+
+    @Override
+    public T intern(T value) {
+        int index = spread(value.hashCode()) & mask;
+        T existing = slots.get(index);
+
+        if (existing != null && existing.equals(value)) {
+            hit();
+            return existing;
+        }
+        if (slots.compareAndSet(index, existing, value)) {
+            if (existing != null) {
+                evicted();
+            }
+
+        } else {
+            // lost against a concurrent intern, which may have just stored an equal instance
+            T winner = slots.get(index);
+            if (winner != null && winner.equals(value)) {
+                hit();
+                return winner;
+            }
+        }
+        miss();
+        return value;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+}
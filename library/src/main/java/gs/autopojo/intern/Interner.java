@@ -0,0 +1,93 @@
+package gs.autopojo.intern;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe canonicalizing table: {@link #intern(Object)} returns the first instance seen equal to the given one,
+ * by its {@code hashCode} and {@code equals}. Interned instances should not be modified afterwards.
+ *
+ * @see #weak()
+ * @see #bounded(int)
+ */
+public abstract class Interner<T> {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    Interner() {
+    }
+
+    /**
+     * An unbounded table holding its instances weakly, so they are evicted once no longer referenced elsewhere.
+     * Split in lock striped segments, so concurrent calls rarely contend.
+     */
+    public static <T> Interner<T> weak() {
+        return new WeakInterner<>(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * A lock-free table of a fixed number of slots (the given {@code maxSize}, rounded up to a power of 2) holding its instances strongly.
+     * Each instance has a single slot, evicting whatever was there on a miss, so two frequent instances sharing it may keep evicting each other.
+     */
+    public static <T> Interner<T> bounded(int maxSize) {
+        return new BoundedInterner<>(maxSize);
+    }
+
+    public abstract T intern(T value);
+
+    /**
+     * The number of instances currently held, which for {@link #weak()} may include some not yet evicted.
+     */
+    public abstract int size();
+
+    /**
+     * The number of {@link #intern(Object)} calls which returned a previously interned instance.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * The number of {@link #intern(Object)} calls which interned the given instance.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * The number of instances which have been evicted: collected ones for {@link #weak()} or replaced ones for {@link #bounded(int)}.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void evicted() {
+        evictions.increment();
+    }
+
+    /**
+     * The lowest power of 2 not less than the given (positive) value.
+     */
+    static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + size() + ", hits=" + hits() + ", misses=" + misses() + ", evictions=" + evictions() + '}';
+    }
+
+}
@@ -0,0 +1,132 @@
+package gs.autopojo.intern;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Lock striped segments of chained {@link WeakReference}s, each one expunging its collected entries when locked.
+ */
+final class WeakInterner<T> extends Interner<T> {
+    private final Segment<T>[] segments;
+    private final int shift;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    WeakInterner(int concurrency) {
+        int count = powerOfTwo(concurrency);
+
+        this.segments = new Segment[count];
+        this.shift = 32 - Integer.numberOfTrailingZeros(count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(this);
+        }
+    }
+
+    @Override
+    public T intern(T value) {
+        int hash = spread(value.hashCode());
+
+        // the high bits pick the segment, while the low ones the bucket
+        return segments[shift == 32 ? 0 : hash >>> shift].intern(value, hash);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<T> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static final class Segment<T> {
+        private static final float LOAD_FACTOR = .75f;
+        private final WeakInterner<T> interner;
+        private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+        private Entry<T>[] table;
+        private int count;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment(WeakInterner<T> interner) {
+            this.interner = interner;
+            this.table = new Entry[16];
+        }
+
+        synchronized T intern(T value, int hash) {
+            expunge();
+
+            int index = hash & (table.length - 1);
+            for (Entry<T> entry = table[index]; entry != null; entry = entry.next) {
+                T existing;
+                if (entry.hash == hash && (existing = entry.get()) != null && existing.equals(value)) {
+                    interner.hit();
+                    return existing;
+                }
+            }
+
+            if (++count > table.length * LOAD_FACTOR) {
+                resize();
+                index = hash & (table.length - 1);
+            }
+            table[index] = new Entry<>(value, hash, queue, table[index]);
+            interner.miss();
+            return value;
+        }
+
+        synchronized int size() {
+            expunge();
+            return count;
+        }
+
+        private void expunge() {
+            for (Reference<? extends T> reference; (reference = queue.poll()) != null; ) {
+                @SuppressWarnings("unchecked")
+                Entry<T> collected = (Entry<T>) reference;
+                int index = collected.hash & (table.length - 1);
+
+                for (Entry<T> entry = table[index], previous = null; entry != null; previous = entry, entry = entry.next) {
+                    if (entry == collected) {
+                        if (previous == null) {
+                            table[index] = entry.next;
+
+                        } else {
+                            previous.next = entry.next;
+                        }
+                        count--;
+                        interner.evicted();
+                        break;
+                    }
+                }
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void resize() {
+            Entry<T>[] resized = new Entry[table.length * 2];
+            int mask = resized.length - 1;
+
+            for (Entry<T> head : table) {
+                for (Entry<T> entry = head, next; entry != null; entry = next) {
+                    next = entry.next;
+                    entry.next = resized[entry.hash & mask];
+                    resized[entry.hash & mask] = entry;
+                }
+            }
+            table = resized;
+        }
+
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        final int hash;
+        Entry<T> next;
+
+        Entry(T value, int hash, ReferenceQueue<T> queue, Entry<T> next) {
+            super(value, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+package gs.autopojo.json;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers of the code generated for {@code jsonCodec} {@link gs.autopojo.POJO}s.
+ * Every value (including {@code null} ones) is written, non finite numbers as strings.
+ */
+public final class Json {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public static void write(Appendable out, boolean value) throws IOException {
+        out.append(value ? "true" : "false");
+    }
+
+    public static void write(Appendable out, long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.append("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    public static void write(Appendable out, float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            write(out, Float.toString(value));
+
+        } else {
+            out.append(Float.toString(value));
+        }
+    }
+
+    public static void write(Appendable out, double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            write(out, Double.toString(value));
+
+        } else {
+            out.append(Double.toString(value));
+        }
+    }
+
+    public static void write(Appendable out, char value) throws IOException {
+        out.append('"');
+        writeEscaped(out, value);
+        out.append('"');
+    }
+
+    public static void write(Appendable out, Boolean value) throws IOException {
+        if (value == null) {
+            out.append("null");
+
+        } else {
+            write(out, value.booleanValue());
+        }
+    }
+
+    public static void write(Appendable out, Character value) throws IOException {
+        if (value == null) {
+            out.append("null");
+
+        } else {
+            write(out, value.charValue());
+        }
+    }
+
+    public static void write(Appendable out, Number value) throws IOException {
+        if (value == null) {
+            out.append("null");
+
+        } else if (value instanceof Double) {
+            write(out, value.doubleValue());
+
+        } else if (value instanceof Float) {
+            write(out, value.floatValue());
+
+        } else {
+            write(out, value.longValue());
+        }
+    }
+
+    public static void write(Appendable out, String value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < 0x20 || c == '"' || c == '\\') {
+                out.append(value, start, i);
+                writeEscaped(out, c);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, length).append('"');
+    }
+
+    public static void write(Appendable out, Enum<?> value) throws IOException {
+        write(out, value == null ? null : value.name());
+    }
+
+    public static void write(Appendable out, JsonWritable value) throws IOException {
+        if (value == null) {
+            out.append("null");
+
+        } else {
+            value.writeJson(out);
+        }
+    }
+
+    public static void write(Appendable out, int[] value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('[');
+        for (int i = 0; i < value.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            write(out, value[i]);
+        }
+        out.append(']');
+    }
+
+    public static void write(Appendable out, long[] value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('[');
+        for (int i = 0; i < value.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            write(out, value[i]);
+        }
+        out.append(']');
+    }
+
+    public static void write(Appendable out, double[] value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('[');
+        for (int i = 0; i < value.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            write(out, value[i]);
+        }
+        out.append(']');
+    }
+
+    public static <E> void writeList(Appendable out, List<E> value, ValueWriter<? super E> writer) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('[');
+        boolean first = true;
+        for (E element : value) {
+            if (!first) {
+                out.append(',');
+            }
+            writer.write(out, element);
+            first = false;
+        }
+        out.append(']');
+    }
+
+    /**
+     * Writes a map as an object, being its keys the {@link Enum#name()} of the enums or the {@link String#valueOf(Object)} of anything else.
+     */
+    public static <V> void writeMap(Appendable out, Map<?, V> value, ValueWriter<? super V> writer) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, V> entry : value.entrySet()) {
+            Object key = entry.getKey();
+
+            if (!first) {
+                out.append(',');
+            }
+            write(out, key instanceof Enum ? ((Enum<?>) key).name() : String.valueOf(key));
+            out.append(':');
+            writer.write(out, entry.getValue());
+            first = false;
+        }
+        out.append('}');
+    }
+
+    public static String toString(JsonWritable value) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            write(sb, value);
+
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escapes the given name, quoting it and appending the {@code :} separator, to precompute the fields of an object.
+     */
+    public static String name(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 3);
+        try {
+            write(sb, name);
+
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sb.append(':').toString();
+    }
+
+    private static void writeEscaped(Appendable out, char c) throws IOException {
+        switch (c) {
+            case '"':
+            case '\\':
+                out.append('\\').append(c);
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+
+                } else {
+                    out.append(c);
+                }
+        }
+    }
+
+    private Json() {
+    }
+
+    @FunctionalInterface
+    public interface ValueWriter<T> {
+
+        void write(Appendable out, T value) throws IOException;
+
+    }
+
+}
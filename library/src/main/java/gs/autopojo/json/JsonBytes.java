@@ -0,0 +1,116 @@
+package gs.autopojo.json;
+
+import java.util.Arrays;
+
+/**
+ * A growable {@code UTF-8} {@code byte[]} sink, for writing {@code JSON} without building an intermediate {@link String}.
+ * Not thread safe.
+ */
+public final class JsonBytes implements Appendable {
+    private byte[] bytes;
+    private int size;
+    private char highSurrogate;
+
+    public JsonBytes() {
+        this(256);
+    }
+
+    public JsonBytes(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    @Override
+    public JsonBytes append(CharSequence csq) {
+        return csq == null ? append("null") : append(csq, 0, csq.length());
+    }
+
+    @Override
+    public JsonBytes append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+
+        ensureCapacity(size + end - start);
+        for (int i = start; i < end; i++) {
+            char c = csq.charAt(i);
+
+            if (c < 0x80 && highSurrogate == 0 && size < bytes.length) {
+                bytes[size++] = (byte) c;
+
+            } else {
+                append(c);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonBytes append(char c) {
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+
+                ensureCapacity(size + 4);
+                bytes[size++] = (byte) (0xF0 | codePoint >> 18);
+                bytes[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                bytes[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | codePoint & 0x3F);
+                return this;
+            }
+            append('?');
+        }
+
+        if (c < 0x80) {
+            ensureCapacity(size + 1);
+            bytes[size++] = (byte) c;
+
+        } else if (c < 0x800) {
+            ensureCapacity(size + 2);
+            bytes[size++] = (byte) (0xC0 | c >> 6);
+            bytes[size++] = (byte) (0x80 | c & 0x3F);
+
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+
+        } else if (Character.isLowSurrogate(c)) {
+            append('?');
+
+        } else {
+            ensureCapacity(size + 3);
+            bytes[size++] = (byte) (0xE0 | c >> 12);
+            bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+            bytes[size++] = (byte) (0x80 | c & 0x3F);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The backing array, valid up to {@link #size()}.
+     */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    public void reset() {
+        size = 0;
+        highSurrogate = 0;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(minCapacity, bytes.length + (bytes.length >> 1)));
+        }
+    }
+
+}
@@ -0,0 +1,461 @@
+package gs.autopojo.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import gs.autopojo.collections.DoubleList;
+import gs.autopojo.collections.IntList;
+import gs.autopojo.collections.LongList;
+
+/**
+ * A pull parser over a {@code JSON} text, used by the code generated for {@code jsonCodec} {@link gs.autopojo.POJO}s.
+ * Values are read straight from the text, without building an intermediate tree. Not thread safe.
+ * <p>
+ * Malformed input throws {@link IllegalArgumentException}.
+ */
+public final class JsonReader {
+    private final CharSequence json;
+    private final StringBuilder unescaped = new StringBuilder();
+    private int position;
+
+    public JsonReader(CharSequence json) {
+        this.json = json;
+    }
+
+    public JsonReader(byte[] json) {
+        this(new String(json, StandardCharsets.UTF_8));
+    }
+
+    public void beginObject() {
+        expect('{');
+    }
+
+    public void endObject() {
+        expect('}');
+    }
+
+    public void beginArray() {
+        expect('[');
+    }
+
+    public void endArray() {
+        expect(']');
+    }
+
+    /**
+     * Whether the current object or array has another element, consuming its leading {@code ,} if any.
+     */
+    public boolean hasNext() {
+        char c = peek();
+        if (c == '}' || c == ']') {
+            return false;
+        }
+
+        int previous = position - 1;
+        while (previous >= 0 && isWhitespace(json.charAt(previous))) {
+            previous--;
+        }
+        if (previous >= 0 && json.charAt(previous) != '{' && json.charAt(previous) != '[') {
+            expect(',');
+        }
+        return true;
+    }
+
+    /**
+     * Reads the name of the next field (and its {@code :} separator), returning its index on the given names or {@code -1}.
+     */
+    public int nextName(String[] names) {
+        int end = stringEnd();
+        int index = -1;
+
+        for (int i = 0; i < names.length; i++) {
+            if (matches(end, names[i])) {
+                index = i;
+                break;
+            }
+        }
+        position = end + 1;
+        expect(':');
+        return index;
+    }
+
+    /**
+     * Consumes a {@code null}, returning whether there was one.
+     */
+    public boolean nextNull() {
+        if (peek() == 'n' && regionEquals(position, "null")) {
+            position += 4;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean nextBoolean() {
+        char c = peek();
+
+        if (c == 't' && regionEquals(position, "true")) {
+            position += 4;
+            return true;
+
+        } else if (c == 'f' && regionEquals(position, "false")) {
+            position += 5;
+            return false;
+        }
+        throw error("a boolean");
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Out of range int " + value + " at offset " + position);
+        }
+        return (int) value;
+    }
+
+    public long nextLong() {
+        int start = position;
+        boolean negative = peek() == '-';
+        if (negative) {
+            position++;
+        }
+
+        // accumulated as a negative, to also fit Long.MIN_VALUE
+        long value = 0;
+        int digits = 0;
+        while (position < json.length()) {
+            char c = json.charAt(position);
+            if (c < '0' || c > '9') {
+                break;
+            }
+
+            int digit = c - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                position = start;
+                throw error("a long");
+            }
+            value = value * 10 - digit;
+            digits++;
+            position++;
+        }
+        if (digits == 0 || (!negative && value == Long.MIN_VALUE)) {
+            position = start;
+            throw error("a long");
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * Reads a number, or a string for the non finite ones ({@code "NaN"}, {@code "Infinity"} and {@code "-Infinity"}).
+     */
+    public double nextDouble() {
+        if (peek() == '"') {
+            return Double.parseDouble(nextString());
+        }
+
+        int start = position;
+        while (position < json.length() && isNumberChar(json.charAt(position))) {
+            position++;
+        }
+        try {
+            return Double.parseDouble(json.subSequence(start, position).toString());
+
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("a number");
+        }
+    }
+
+    public char nextChar() {
+        int start = position;
+        String value = nextString();
+
+        if (value == null || value.length() != 1) {
+            position = start;
+            throw error("a single char string");
+        }
+        return value.charAt(0);
+    }
+
+    /**
+     * Reads a string, or a {@code null}.
+     */
+    public String nextString() {
+        if (nextNull()) {
+            return null;
+        }
+
+        int end = stringEnd();
+        String value = string(end);
+        position = end + 1;
+        return value;
+    }
+
+    /**
+     * Reads the name of an enum constant, or a {@code null}.
+     */
+    public <E extends Enum<E>> E nextEnum(E[] values) {
+        if (nextNull()) {
+            return null;
+        }
+
+        int end = stringEnd();
+        for (E value : values) {
+            if (matches(end, value.name())) {
+                position = end + 1;
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown constant " + string(end) + " at offset " + position);
+    }
+
+    public int[] nextIntArray() {
+        if (nextNull()) {
+            return null;
+        }
+
+        IntList list = new IntList();
+        beginArray();
+        while (hasNext()) {
+            list.addInt(nextInt());
+        }
+        endArray();
+        return list.toIntArray();
+    }
+
+    public long[] nextLongArray() {
+        if (nextNull()) {
+            return null;
+        }
+
+        LongList list = new LongList();
+        beginArray();
+        while (hasNext()) {
+            list.addLong(nextLong());
+        }
+        endArray();
+        return list.toLongArray();
+    }
+
+    public double[] nextDoubleArray() {
+        if (nextNull()) {
+            return null;
+        }
+
+        DoubleList list = new DoubleList();
+        beginArray();
+        while (hasNext()) {
+            list.addDouble(nextDouble());
+        }
+        endArray();
+        return list.toDoubleArray();
+    }
+
+    public <E> List<E> nextList(ValueReader<? extends E> reader) {
+        if (nextNull()) {
+            return null;
+        }
+
+        List<E> list = new ArrayList<>();
+        beginArray();
+        while (hasNext()) {
+            list.add(reader.read(this));
+        }
+        endArray();
+        return list;
+    }
+
+    public <K, V> Map<K, V> nextMap(Function<String, ? extends K> keyParser, ValueReader<? extends V> reader) {
+        if (nextNull()) {
+            return null;
+        }
+
+        Map<K, V> map = new LinkedHashMap<>();
+        beginObject();
+        while (hasNext()) {
+            String key = nextString();
+
+            expect(':');
+            map.put(keyParser.apply(key), reader.read(this));
+        }
+        endObject();
+        return map;
+    }
+
+    /**
+     * Skips the next value, as the ones of unknown fields.
+     */
+    public void skipValue() {
+        char c = peek();
+
+        if (c == '{') {
+            beginObject();
+            while (hasNext()) {
+                position = stringEnd() + 1;
+                expect(':');
+                skipValue();
+            }
+            endObject();
+
+        } else if (c == '[') {
+            beginArray();
+            while (hasNext()) {
+                skipValue();
+            }
+            endArray();
+
+        } else if (c == '"') {
+            position = stringEnd() + 1;
+
+        } else if (c == 't' || c == 'f') {
+            nextBoolean();
+
+        } else if (!nextNull()) {
+            nextDouble();
+        }
+    }
+
+    private char peek() {
+        while (position < json.length() && isWhitespace(json.charAt(position))) {
+            position++;
+        }
+        if (position >= json.length()) {
+            throw error("a value");
+        }
+        return json.charAt(position);
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("'" + c + "'");
+        }
+        position++;
+    }
+
+    /**
+     * Consumes the opening quote of a string and returns the index of its closing one,
+     * leaving its content on {@link #unescaped} if it had escape sequences ({@link #unescaped} is empty otherwise).
+     */
+    private int stringEnd() {
+        expect('"');
+        unescaped.setLength(0);
+
+        for (int i = position; i < json.length(); i++) {
+            char c = json.charAt(i);
+
+            if (c == '"') {
+                return i;
+
+            } else if (c == '\\') {
+                return unescape(i);
+            }
+        }
+        throw error("a closing '\"'");
+    }
+
+    private int unescape(int escape) {
+        unescaped.append(json, position, escape);
+
+        for (int i = escape; i < json.length(); i++) {
+            char c = json.charAt(i);
+
+            if (c == '"') {
+                return i;
+
+            } else if (c != '\\') {
+                unescaped.append(c);
+
+            } else if (++i < json.length()) {
+                char escaped = json.charAt(i);
+
+                switch (escaped) {
+                    case 'b':
+                        unescaped.append('\b');
+                        break;
+                    case 'f':
+                        unescaped.append('\f');
+                        break;
+                    case 'n':
+                        unescaped.append('\n');
+                        break;
+                    case 'r':
+                        unescaped.append('\r');
+                        break;
+                    case 't':
+                        unescaped.append('\t');
+                        break;
+                    case 'u':
+                        if (i + 4 >= json.length()) {
+                            throw error("an unicode escape");
+                        }
+                        try {
+                            unescaped.append((char) Integer.parseInt(json.subSequence(i + 1, i + 5).toString(), 16));
+
+                        } catch (NumberFormatException e) {
+                            throw error("an unicode escape");
+                        }
+                        i += 4;
+                        break;
+                    default:
+                        unescaped.append(escaped);
+                }
+            }
+        }
+        throw error("a closing '\"'");
+    }
+
+    private boolean matches(int end, String candidate) {
+        if (unescaped.length() > 0) {
+            if (unescaped.length() != candidate.length()) {
+                return false;
+            }
+            for (int i = 0; i < candidate.length(); i++) {
+                if (unescaped.charAt(i) != candidate.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return end - position == candidate.length() && regionEquals(position, candidate);
+    }
+
+    private String string(int end) {
+        return unescaped.length() > 0 ? unescaped.toString() : json.subSequence(position, end).toString();
+    }
+
+    private boolean regionEquals(int start, String expected) {
+        if (start + expected.length() > json.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (json.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private static boolean isNumberChar(char c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    private IllegalArgumentException error(String expected) {
+        return new IllegalArgumentException("Expected " + expected + " at offset " + position);
+    }
+
+    @FunctionalInterface
+    public interface ValueReader<T> {
+
+        T read(JsonReader reader);
+
+    }
+
+}
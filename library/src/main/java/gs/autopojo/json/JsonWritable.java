@@ -0,0 +1,15 @@
+package gs.autopojo.json;
+
+import java.io.IOException;
+
+/**
+ * Implemented by the {@code jsonCodec} {@link gs.autopojo.POJO}s, which also have a static {@code readJson(JsonReader)}.
+ */
+public interface JsonWritable {
+
+    /**
+     * Writes this object as a {@code JSON} object.
+     */
+    void writeJson(Appendable out) throws IOException;
+
+}
@@ -0,0 +1,90 @@
+package gs.autopojo.properties;
+
+/**
+ * Indexed access to the properties of a {@code propertyTable} {@link gs.autopojo.POJO} (superclass ones first),
+ * implemented by its generated {@code Properties.INSTANCE} without any reflection.
+ * <p>
+ * The primitive variants only accept the properties of a compatible type (throwing {@link IllegalArgumentException} otherwise),
+ * and read them without boxing.
+ */
+public interface PropertyTable<T> {
+
+    int size();
+
+    String name(int index);
+
+    Class<?> type(int index);
+
+    /**
+     * The index of the given property, or {@code -1} if there is not such.
+     */
+    int indexOf(CharSequence name);
+
+    Object get(T instance, int index);
+
+    /**
+     * @throws UnsupportedOperationException if it is {@code immutable}
+     */
+    default void set(T instance, int index, Object value) {
+        throw new UnsupportedOperationException("immutable " + instance.getClass().getName());
+    }
+
+    /**
+     * Reads a {@code boolean} property.
+     */
+    default boolean getBoolean(T instance, int index) {
+        throw new IllegalArgumentException("not a boolean property: " + name(index));
+    }
+
+    /**
+     * Reads an {@code int}, {@code short}, {@code byte} or {@code char} property.
+     */
+    default int getInt(T instance, int index) {
+        throw new IllegalArgumentException("not a int property: " + name(index));
+    }
+
+    /**
+     * Reads a {@code long}, {@code int}, {@code short}, {@code byte} or {@code char} property.
+     */
+    default long getLong(T instance, int index) {
+        throw new IllegalArgumentException("not a long property: " + name(index));
+    }
+
+    /**
+     * Reads any primitive numeric property.
+     */
+    default double getDouble(T instance, int index) {
+        throw new IllegalArgumentException("not a double property: " + name(index));
+    }
+
+    default void setBoolean(T instance, int index, boolean value) {
+        throw new IllegalArgumentException("not a boolean property: " + name(index));
+    }
+
+    default void setInt(T instance, int index, int value) {
+        throw new IllegalArgumentException("not a int property: " + name(index));
+    }
+
+    default void setLong(T instance, int index, long value) {
+        throw new IllegalArgumentException("not a long property: " + name(index));
+    }
+
+    default void setDouble(T instance, int index, double value) {
+        throw new IllegalArgumentException("not a double property: " + name(index));
+    }
+
+    /**
+     * The hash of the perfect hash table backing {@link #indexOf(CharSequence)}, whose seed is chosen at compile time.
+     */
+    static int hash(CharSequence name, int seed) {
+        int hash = seed;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+}
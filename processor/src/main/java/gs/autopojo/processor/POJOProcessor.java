@@ -1,17 +1,28 @@
 package gs.autopojo.processor;
 
 import com.google.auto.service.AutoService;
-import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.TypeSpec;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
-import javax.annotation.Generated;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
@@ -19,38 +30,135 @@ import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 
 import gs.autopojo.POJO;
+import gs.autopojo.processor.tasks.EmitGenClassTask;
+import gs.autopojo.processor.tasks.Footprint;
+import gs.autopojo.processor.tasks.POJOModel;
 import gs.autopojo.processor.tasks.ProcessClassTask;
+import gs.autopojo.processor.tasks.ProcessingStats;
+import gs.autopojo.processor.tasks.RenderGenClassTask;
+import gs.autopojo.processor.tasks.RoundCache;
+import gs.autopojo.processor.tasks.TypeModel;
+import gs.autopojo.processor.tasks.WriteFootprintTask;
+import gs.autopojo.processor.tasks.WriteGenClassFileTask;
 import gs.autopojo.processor.tasks.WriteGenClassTask;
-import io.reactivex.Completable;
-import io.reactivex.Single;
 
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
-@SupportedAnnotationTypes({"gs.autopojo.POJO", "gs.autopojo.ExtraAnnotation", "gs.autopojo.ExtraAnnotations"})
+@SupportedAnnotationTypes("*") // any annotation may be @POJO meta-annotated, even if it was compiled before
+@SupportedOptions({POJOProcessor.OPTION_PARALLELISM, POJOProcessor.OPTION_STATS, POJOProcessor.OPTION_STATS_FILE,
+        POJOProcessor.OPTION_FOOTPRINT, POJOProcessor.OPTION_FOOTPRINT_BUILDERS, POJOProcessor.OPTION_FOOTPRINT_COMPRESSED_OOPS,
+        POJOProcessor.OPTION_FOOTPRINT_HEADER_SIZE, POJOProcessor.OPTION_FOOTPRINT_BUDGET, POJOProcessor.OPTION_FOOTPRINT_LAYOUT,
+        POJOProcessor.OPTION_BACKEND})
 public class POJOProcessor extends AbstractProcessor {
 
+    /**
+     * Max number of threads used to build and render the sources. Defaults to the available processors.
+     */
+    public static final String OPTION_PARALLELISM = "autopojo.parallelism";
+
+    /**
+     * When {@code true}, reports the timings and counters of each round as a {@link Diagnostic.Kind#NOTE}.
+     */
+    public static final String OPTION_STATS = "autopojo.stats";
+
+    /**
+     * A path where to write the stats of all rounds as JSON. Implies {@link #OPTION_STATS}.
+     */
+    public static final String OPTION_STATS_FILE = "autopojo.statsFile";
+
+    /**
+     * When {@code true}, writes the estimated instance size and field layout of each generated class as
+     * {@code <Name>.footprint.json} and {@code <Name>.footprint.txt} resources.
+     */
+    public static final String OPTION_FOOTPRINT = "autopojo.footprint";
+
+    /**
+     * When {@code true}, the {@link #OPTION_FOOTPRINT} reports also include the builders.
+     */
+    public static final String OPTION_FOOTPRINT_BUILDERS = "autopojo.footprintBuilders";
+
+    /**
+     * If references take 4 bytes (the default) or 8 on the footprint estimates.
+     */
+    public static final String OPTION_FOOTPRINT_COMPRESSED_OOPS = "autopojo.footprintCompressedOops";
+
+    /**
+     * The object header size on the footprint estimates. Defaults to 12 bytes with compressed oops, or 16 without them.
+     */
+    public static final String OPTION_FOOTPRINT_HEADER_SIZE = "autopojo.footprintHeaderSize";
+
+    /**
+     * A max estimated instance size, in bytes, over which a {@link Diagnostic.Kind#WARNING} is reported on the {@link POJO}.
+     */
+    public static final String OPTION_FOOTPRINT_BUDGET = "autopojo.footprintBudget";
+
+    /**
+     * The HotSpot field layout of the footprint estimates: {@code jdk8} (the default) for JDK 8 to 14, or {@code jdk15} for
+     * JDK 15 onwards, which also fills the gaps left by the superclasses.
+     */
+    public static final String OPTION_FOOTPRINT_LAYOUT = "autopojo.footprintLayout";
+
+    public static final String FOOTPRINT_LAYOUT_JDK8 = "jdk8";
+
+    public static final String FOOTPRINT_LAYOUT_JDK15 = "jdk15";
+
+    /**
+     * How the classes are generated: {@code source} (the default) writes their sources, to be compiled by {@code javac} on
+     * the next round, while {@code bytecode} writes the class files of the ones {@link EmitGenClassTask} supports straight away
+     * (rendering the rest as sources).
+     */
+    public static final String OPTION_BACKEND = "autopojo.backend";
+
+    public static final String BACKEND_SOURCE = "source";
+
+    public static final String BACKEND_BYTECODE = "bytecode";
+
+    private final List<String> roundsStats = new ArrayList<>();
+
+    private int round;
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-        LinkedList<Completable> tasks = new LinkedList<>();
+        Set<TypeElement> interfaces = new LinkedHashSet<>();
 
-        TypeElement pojoElement = processingEnv.getElementUtils().getTypeElement(POJO.class.getCanonicalName());
+        process(roundEnv, roundEnv.getElementsAnnotatedWith(POJO.class), interfaces);
+        for (TypeElement annotation : annotations) {
+            // reads the meta-annotation from the annotation type itself, which may come from the classpath
+            if (annotation.getAnnotation(POJO.class) != null) {
+                process(roundEnv, roundEnv.getElementsAnnotatedWith(annotation), interfaces);
+            }
+        }
+        List<TypeElement> elements = new ArrayList<>(interfaces);
 
-        process(roundEnv, roundEnv.getElementsAnnotatedWith(POJO.class), tasks);
+        ProcessingStats stats = new ProcessingStats(++round, isStatsEnabled());
+        if (!elements.isEmpty()) {
+            ForkJoinPool pool = new ForkJoinPool(getParallelism());
+            try {
+                generate(elements, pool, stats);
 
-        Completable.mergeDelayError(tasks)
-                .blockingAwait();
-        return true;
+            } finally {
+                pool.shutdown();
+            }
+
+            if (stats.isEnabled()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, stats.toString());
+                roundsStats.add(stats.toJSON());
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeStatsFile();
+        }
+        return false; // claims no annotation, as it's registered for all of them
     }
 
-    private void process(RoundEnvironment roundEnv, Set<? extends Element> elements, List<Completable> tasks) {
+    private void process(RoundEnvironment roundEnv, Set<? extends Element> elements, Set<TypeElement> interfaces) {
         for (Element element : elements) {
             switch (element.getKind()) {
                 case INTERFACE:
-                    tasks.add(scheduleTask((TypeElement) element));
+                    interfaces.add((TypeElement) element);
                     break;
 
-                case ANNOTATION_TYPE:
-                    process(roundEnv, roundEnv.getElementsAnnotatedWith((TypeElement) element), tasks);
+                case ANNOTATION_TYPE: // its usages are found through the round's annotations
                     break;
 
                 default:
@@ -60,18 +168,247 @@ public class POJOProcessor extends AbstractProcessor {
         }
     }
 
-    private Completable scheduleTask(TypeElement element) {
-        return Single.fromCallable(new ProcessClassTask(
-                processingEnv.getTypeUtils(),
-                processingEnv.getElementUtils(),
-                element))
-                .filter($ -> $.name.enclosingClassName() == null) // only write top-level classes
-                .doOnSuccess($ -> $.typeSpec.addAnnotation(AnnotationSpec.builder(Generated.class)
-                        .addMember("value", "$S", getClass().getCanonicalName())
-                        .build()))
-                .flatMapCompletable($ -> Completable.fromCallable(new WriteGenClassTask(processingEnv.getFiler(), $)))
-                .doOnError($ -> processingEnv.getMessager()
-                        .printMessage(Diagnostic.Kind.ERROR, $.toString(), element));
+    private void generate(List<TypeElement> elements, ForkJoinPool pool, ProcessingStats stats) {
+        RoundCache cache = new RoundCache(processingEnv.getTypeUtils(), processingEnv.getElementUtils(), stats);
+        List<POJOModel> models = new ArrayList<>(elements.size());
+        List<Future<String>> sources = new ArrayList<>(elements.size());
+        List<Future<Map<String, byte[]>>> classFiles = new ArrayList<>(elements.size());
+        List<RenderGenClassTask> tasks = new ArrayList<>(elements.size());
+        Throwable[] errors = new Throwable[elements.size()];
+        boolean bytecode = isBytecodeBackend();
+
+        // phase one: reads the models on the compiler thread,
+        // while phase two builds and renders the top-level classes on the pool as soon as they are read
+        for (int i = 0; i < elements.size(); i++) {
+            POJOModel model = null;
+            Future<String> source = null;
+            Future<Map<String, byte[]>> classFile = null;
+            RenderGenClassTask task = null;
+            try {
+                long start = stats.start();
+                model = cache.getModel(elements.get(i));
+
+                if (model.name.enclosingClassName() == null) { // only write top-level classes
+                    stats.stop(ProcessingStats.Phase.EXTRACT, start, model);
+                    stats.count(model);
+
+                    POJOModel top = model;
+                    if (bytecode && EmitGenClassTask.isSupported(model)) {
+                        EmitGenClassTask emit = new EmitGenClassTask(model);
+                        classFile = pool.submit(() -> {
+                            long renderStart = stats.start();
+                            try {
+                                return emit.call();
+
+                            } finally {
+                                stats.stop(ProcessingStats.Phase.RENDER, renderStart, top);
+                            }
+                        });
+
+                    } else {
+                        RenderGenClassTask render = task = new RenderGenClassTask(model, getClass().getCanonicalName());
+                        source = pool.submit(() -> {
+                            long renderStart = stats.start();
+                            try {
+                                return render.call();
+
+                            } finally {
+                                stats.stop(ProcessingStats.Phase.RENDER, renderStart, top);
+                            }
+                        });
+                    }
+                }
+
+            } catch (RuntimeException e) {
+                errors[i] = e;
+            }
+            models.add(model);
+            sources.add(source);
+            classFiles.add(classFile);
+            tasks.add(task);
+        }
+
+        // a single writer (Filer is not thread-safe), reporting errors in a stable order
+        for (int i = 0; i < elements.size(); i++) {
+            Future<String> source = sources.get(i);
+            Future<Map<String, byte[]>> classFile = classFiles.get(i);
+            if (source != null || classFile != null) {
+                try {
+                    String content = source != null ? source.get() : null;
+                    Map<String, byte[]> bytes = classFile != null ? classFile.get() : null;
+
+                    long start = stats.start();
+                    if (content != null) {
+                        new WriteGenClassTask(processingEnv.getFiler(), models.get(i), content).call();
+
+                    } else {
+                        new WriteGenClassFileTask(processingEnv.getFiler(), models.get(i), bytes).call();
+                    }
+                    stats.stop(ProcessingStats.Phase.WRITE, start, models.get(i));
+
+                } catch (ExecutionException e) {
+                    errors[i] = e.getCause();
+
+                } catch (Exception e) {
+                    errors[i] = e;
+                }
+            }
+            if (errors[i] != null) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, errors[i].toString(), elements.get(i));
+            }
+        }
+        stats.count(cache);
+
+        if (isFootprintEnabled()) {
+            List<TypeSpec> typeSpecs = new ArrayList<>(elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                // the emitted class files have the same fields than the sources, which are only built for the estimates
+                typeSpecs.add(errors[i] != null ? null : tasks.get(i) != null ? tasks.get(i).getTypeSpec() :
+                        classFiles.get(i) != null ? new ProcessClassTask(models.get(i)).call().typeSpec.build() : null);
+            }
+            reportFootprints(models, typeSpecs);
+        }
+    }
+
+    private void reportFootprints(List<POJOModel> models, List<TypeSpec> typeSpecs) {
+        Map<String, String> options = processingEnv.getOptions();
+        boolean compressedOops = !"false".equals(options.get(OPTION_FOOTPRINT_COMPRESSED_OOPS));
+        int headerSize = getFootprintSize(OPTION_FOOTPRINT_HEADER_SIZE, compressedOops ? 12 : 16);
+        int budget = getFootprintSize(OPTION_FOOTPRINT_BUDGET, Integer.MAX_VALUE);
+        if (headerSize < 0 || budget < 0) {
+            return;
+        }
+        Footprint footprint = new Footprint(processingEnv.getElementUtils(), getFootprintLayout(), compressedOops, headerSize);
+
+        // registers all the round's classes first, so a superclass on another file is also known
+        for (int i = 0; i < models.size(); i++) {
+            if (typeSpecs.get(i) != null) {
+                footprint.add(models.get(i).name, typeSpecs.get(i));
+            }
+        }
+        for (int i = 0; i < models.size(); i++) {
+            if (typeSpecs.get(i) != null) {
+                List<Footprint.Layout> layouts = new ArrayList<>();
+                collectLayouts(footprint, budget, models.get(i), layouts);
+
+                if (Boolean.parseBoolean(options.get(OPTION_FOOTPRINT))) {
+                    try {
+                        new WriteFootprintTask(processingEnv.getFiler(), models.get(i), footprint, layouts).call();
+
+                    } catch (IOException e) {
+                        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Can not write footprint: " + e, models.get(i).element);
+                    }
+                }
+            }
+        }
+    }
+
+    private void collectLayouts(Footprint footprint, int budget, POJOModel model, List<Footprint.Layout> layouts) {
+        Map<String, String> options = processingEnv.getOptions();
+        Footprint.Layout layout = footprint.layout(model.name);
+
+        layouts.add(layout);
+        if (layout.instanceSize > budget) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format(Locale.ROOT,
+                    "%s is estimated at %d bytes per instance, over the %d bytes budget", model.name, layout.instanceSize, budget), model.element);
+        }
+        if (model.pojo.builder() && Boolean.parseBoolean(options.get(OPTION_FOOTPRINT_BUILDERS))) {
+            Footprint.Layout builder = footprint.layout(model.name.nestedClass("Builder"));
+            if (builder != null) {
+                layouts.add(builder);
+            }
+        }
+        for (TypeModel type : model.types) {
+            if (type instanceof POJOModel) {
+                collectLayouts(footprint, budget, (POJOModel) type, layouts);
+            }
+        }
+    }
+
+    private boolean isFootprintEnabled() {
+        Map<String, String> options = processingEnv.getOptions();
+        return Boolean.parseBoolean(options.get(OPTION_FOOTPRINT)) || options.containsKey(OPTION_FOOTPRINT_BUDGET);
+    }
+
+    /**
+     * The given size option, in bytes, or {@code -1} (once reported as an error) if it is not a positive number.
+     */
+    private int getFootprintSize(String option, int defaultValue) {
+        String value = processingEnv.getOptions().get(option);
+
+        if (value != null) {
+            try {
+                int size = Integer.parseInt(value);
+                if (size > 0) {
+                    return size;
+                }
+
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unsupported " + option + " " + value + ", expected a positive number of bytes");
+            return -1;
+        }
+        return defaultValue;
+    }
+
+    private Footprint.LayoutModel getFootprintLayout() {
+        String layout = processingEnv.getOptions().getOrDefault(OPTION_FOOTPRINT_LAYOUT, FOOTPRINT_LAYOUT_JDK8);
+
+        if (!layout.equals(FOOTPRINT_LAYOUT_JDK8) && !layout.equals(FOOTPRINT_LAYOUT_JDK15)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unsupported " + OPTION_FOOTPRINT_LAYOUT + " " + layout + ", using " + FOOTPRINT_LAYOUT_JDK8);
+        }
+        return layout.equals(FOOTPRINT_LAYOUT_JDK15) ? Footprint.LayoutModel.JDK15 : Footprint.LayoutModel.JDK8;
+    }
+
+    private boolean isBytecodeBackend() {
+        String backend = processingEnv.getOptions().getOrDefault(OPTION_BACKEND, BACKEND_SOURCE);
+
+        if (!backend.equals(BACKEND_SOURCE) && !backend.equals(BACKEND_BYTECODE)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unsupported " + OPTION_BACKEND + " " + backend + ", using " + BACKEND_SOURCE);
+        }
+        return backend.equals(BACKEND_BYTECODE);
+    }
+
+    private boolean isStatsEnabled() {
+        Map<String, String> options = processingEnv.getOptions();
+        return Boolean.parseBoolean(options.get(OPTION_STATS)) || options.containsKey(OPTION_STATS_FILE);
+    }
+
+    private void writeStatsFile() {
+        String path = processingEnv.getOptions().get(OPTION_STATS_FILE);
+
+        if (path != null) {
+            try {
+                Path file = Paths.get(path);
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                Files.write(file, ("{\"rounds\":[" + String.join(",", roundsStats) + "]}\n").getBytes(StandardCharsets.UTF_8));
+
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Can not write " + path + ": " + e);
+            }
+        }
+    }
+
+    private int getParallelism() {
+        String value = processingEnv.getOptions().get(OPTION_PARALLELISM);
+
+        if (value != null) {
+            try {
+                return Math.max(1, Integer.parseInt(value));
+
+            } catch (NumberFormatException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Unsupported " + OPTION_PARALLELISM + " " + value + ", using the available processors");
+            }
+        }
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
     }
 
 }
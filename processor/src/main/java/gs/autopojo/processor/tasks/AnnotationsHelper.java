@@ -0,0 +1,108 @@
+package gs.autopojo.processor.tasks;
+
+import com.google.auto.common.AnnotationMirrors;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.util.Elements;
+
+import gs.autopojo.ExtraAnnotation;
+import gs.autopojo.ExtraAnnotations;
+import gs.autopojo.POJO;
+
+import static com.google.auto.common.MoreTypes.isTypeOf;
+
+/**
+ * Expands the annotations copied from the interfaces to the generated code: any annotation (or meta-annotation) but the ones
+ * only targeting annotations or related to {@link POJO}, with {@link ExtraAnnotation}s read straight from their mirrors.
+ * Its results only depend on the annotation types and mirrors, so {@link RoundCache} memoizes them for all the members.
+ *
+ * @see RoundCache#getAnnotations(javax.lang.model.element.Element, ExtraAnnotation.ApplyOn)
+ */
+final class AnnotationsHelper {
+
+    /**
+     * If the given annotation type is copied to the generated code (as opposed to only its meta-annotations).
+     */
+    public static boolean isCopied(Elements elements, TypeElement annotationType) {
+        Target target = annotationType.getAnnotation(Target.class);
+
+        if (target != null && Arrays.equals(target.value(), new ElementType[]{ElementType.ANNOTATION_TYPE})) {
+            return false;
+        }
+        return !isTypeOf(POJO.class, annotationType.asType()) && elements.getAllAnnotationMirrors(annotationType).stream()
+                .noneMatch($ -> isTypeOf(POJO.class, $.getAnnotationType()));
+    }
+
+    /**
+     * The {@link AnnotationSpec}s the given annotation expands to: itself, or the ones described by an {@link ExtraAnnotation}.
+     */
+    public static List<Expansion> expand(AnnotationMirror mirror) {
+        DeclaredType type = mirror.getAnnotationType();
+
+        if (isTypeOf(ExtraAnnotations.class, type)) {
+            List<Expansion> expansions = new ArrayList<>();
+            for (AnnotationValue value : values(mirror, "value")) {
+                expansions.add(expandExtraAnnotation((AnnotationMirror) value.getValue()));
+            }
+            return expansions;
+
+        } else if (isTypeOf(ExtraAnnotation.class, type)) {
+            return Collections.singletonList(expandExtraAnnotation(mirror));
+        }
+        return Collections.singletonList(new Expansion(AnnotationSpec.get(mirror), EnumSet.allOf(ExtraAnnotation.ApplyOn.class)));
+    }
+
+    private static Expansion expandExtraAnnotation(AnnotationMirror mirror) {
+        AnnotationSpec.Builder builder = AnnotationSpec.builder(ClassName.bestGuess(value(mirror, "value")));
+
+        for (AnnotationValue value : values(mirror, "members")) {
+            AnnotationMirror member = (AnnotationMirror) value.getValue();
+            builder.addMember(value(member, "name"), value(member, "format"), value(member, "value"));
+        }
+
+        Set<ExtraAnnotation.ApplyOn> applyOn = EnumSet.noneOf(ExtraAnnotation.ApplyOn.class);
+        for (AnnotationValue value : values(mirror, "applyOn")) {
+            applyOn.add(ExtraAnnotation.ApplyOn.valueOf(((VariableElement) value.getValue()).getSimpleName().toString()));
+        }
+        return new Expansion(builder.build(), applyOn.isEmpty() ? EnumSet.allOf(ExtraAnnotation.ApplyOn.class) : applyOn);
+    }
+
+    private static String value(AnnotationMirror mirror, String name) {
+        return (String) AnnotationMirrors.getAnnotationValue(mirror, name).getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> values(AnnotationMirror mirror, String name) {
+        return (List<? extends AnnotationValue>) AnnotationMirrors.getAnnotationValue(mirror, name).getValue();
+    }
+
+    static final class Expansion {
+        final AnnotationSpec spec;
+        final Set<ExtraAnnotation.ApplyOn> applyOn;
+
+        Expansion(AnnotationSpec spec, Set<ExtraAnnotation.ApplyOn> applyOn) {
+            this.spec = spec;
+            this.applyOn = applyOn;
+        }
+
+    }
+
+    private AnnotationsHelper() {
+    }
+
+}
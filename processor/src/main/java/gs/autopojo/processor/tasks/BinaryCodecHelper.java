@@ -0,0 +1,167 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+
+import gs.autopojo.codec.Binary;
+
+/**
+ * Builds the {@code binaryCodec} code of each property, which is written as:
+ * <ul>
+ * <li>primitives: fixed width, as {@link java.nio.ByteBuffer} does ({@code boolean} as a {@code byte})</li>
+ * <li>boxed primitives and {@link gs.autopojo.POJO}s: a presence {@code byte} followed by their value</li>
+ * <li>{@code String}s and arrays: length prefixed</li>
+ * <li>enums: their ordinal, as an {@code int}</li>
+ * </ul>
+ *
+ * @see Binary
+ */
+final class BinaryCodecHelper {
+
+    /**
+     * The fixed size of the given property, or {@code -1} if it depends on its value.
+     */
+    public static int fixedSizeOf(PropertyModel property) {
+        if (property.type.isPrimitive()) {
+            return primitiveSize(property.type);
+
+        } else if (property.enumType) {
+            return Integer.BYTES;
+        }
+        return -1;
+    }
+
+    public static CodeBlock sizeOf(PropertyModel property, CodeBlock value) {
+        TypeName type = property.type;
+
+        if (type.isBoxedPrimitive()) {
+            return CodeBlock.of("($L == null ? 1 : $L)", value, 1 + primitiveSize(type.unbox()));
+
+        } else if (isString(type) || isSupportedArray(type) || isSupportedPOJO(property)) {
+            return CodeBlock.of("$T.sizeOf($L)", Binary.class, value);
+        }
+        throw unsupported(property);
+    }
+
+    public static CodeBlock write(PropertyModel property, CodeBlock value) {
+        TypeName type = property.type;
+
+        if (type.isPrimitive()) {
+            return CodeBlock.of("$L;\n", writePrimitive(type, null, value));
+
+        } else if (type.isBoxedPrimitive()) {
+            return CodeBlock.of("if ($T.writePresence(buffer, $L)) {\n$>$L;\n$<}\n", Binary.class, value,
+                    writePrimitive(type.unbox(), null, value));
+
+        } else if (property.enumType) {
+            return CodeBlock.of("$T.writeEnum(buffer, $L);\n", Binary.class, value);
+
+        } else if (isString(type) || isSupportedArray(type) || isSupportedPOJO(property)) {
+            return CodeBlock.of("$T.write(buffer, $L);\n", Binary.class, value);
+        }
+        throw unsupported(property);
+    }
+
+    /**
+     * @param enumValues the field holding the {@code values()} of the property type, if it is an enum
+     */
+    public static CodeBlock read(PropertyModel property, String enumValues) {
+        TypeName type = property.type;
+
+        if (type.isPrimitive()) {
+            return readPrimitive(type, null);
+
+        } else if (type.isBoxedPrimitive()) {
+            return CodeBlock.of("$T.readPresence(buffer) ? $L : null", Binary.class, readPrimitive(type.unbox(), null));
+
+        } else if (property.enumType) {
+            return CodeBlock.of("$T.readEnum(buffer, $N)", Binary.class, enumValues);
+
+        } else if (isString(type)) {
+            return CodeBlock.of("$T.readString(buffer)", Binary.class);
+
+        } else if (isSupportedArray(type)) {
+            TypeName componentType = ((ArrayTypeName) type).componentType;
+            return CodeBlock.of("$T.read$LArray(buffer)", Binary.class, capitalize(componentType.toString()));
+
+        } else if (isSupportedPOJO(property)) {
+            return CodeBlock.of("$T.readPresence(buffer) ? $T.readFrom(buffer) : null", Binary.class, type);
+        }
+        throw unsupported(property);
+    }
+
+    static int primitiveSize(TypeName type) {
+        if (type.equals(TypeName.BOOLEAN) || type.equals(TypeName.BYTE)) {
+            return Byte.BYTES;
+
+        } else if (type.equals(TypeName.SHORT) || type.equals(TypeName.CHAR)) {
+            return Short.BYTES;
+
+        } else if (type.equals(TypeName.INT) || type.equals(TypeName.FLOAT)) {
+            return Integer.BYTES;
+        }
+        return Long.BYTES;
+    }
+
+    /**
+     * Writes a primitive at the given {@code index}, or at the buffer's position if it is {@code null}.
+     */
+    static CodeBlock writePrimitive(TypeName type, CodeBlock index, CodeBlock value) {
+        CodeBlock at = index == null ? CodeBlock.of("") : CodeBlock.of("$L, ", index);
+
+        if (type.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("buffer.put($L(byte) ($L ? 1 : 0))", at, value);
+
+        } else if (type.equals(TypeName.BYTE)) {
+            return CodeBlock.of("buffer.put($L$L)", at, value);
+        }
+        return CodeBlock.of("buffer.put$L($L$L)", capitalize(type.toString()), at, value);
+    }
+
+    /**
+     * Reads a primitive at the given {@code index}, or at the buffer's position if it is {@code null}.
+     */
+    static CodeBlock readPrimitive(TypeName type, CodeBlock index) {
+        CodeBlock at = index == null ? CodeBlock.of("") : index;
+
+        if (type.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("buffer.get($L) != 0", at);
+
+        } else if (type.equals(TypeName.BYTE)) {
+            return CodeBlock.of("buffer.get($L)", at);
+        }
+        return CodeBlock.of("buffer.get$L($L)", capitalize(type.toString()), at);
+    }
+
+    private static boolean isString(TypeName type) {
+        return type.equals(ClassName.get(String.class));
+    }
+
+    private static boolean isSupportedArray(TypeName type) {
+        if (type instanceof ArrayTypeName) {
+            TypeName componentType = ((ArrayTypeName) type).componentType;
+
+            return componentType.equals(TypeName.BYTE) || componentType.equals(TypeName.INT) ||
+                    componentType.equals(TypeName.LONG) || componentType.equals(TypeName.DOUBLE);
+        }
+        return false;
+    }
+
+    private static boolean isSupportedPOJO(PropertyModel property) {
+        return property.pojoType != null && property.pojoType.binaryCodec() && property.type instanceof ClassName;
+    }
+
+    private static String capitalize(String name) {
+        return name.substring(0, 1).toUpperCase() + name.substring(1);
+    }
+
+    private static IllegalArgumentException unsupported(PropertyModel property) {
+        return new IllegalArgumentException("unsupported binaryCodec property type: " + property.type + " " + property.name);
+    }
+
+    private BinaryCodecHelper() {
+    }
+
+}
@@ -0,0 +1,494 @@
+package gs.autopojo.processor.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal writer of version 49 (Java 5) class files: the first one with generic signatures and the last one without
+ * stack map frames, so a branch only needs its offset. Names are internal ({@code a/b/Outer$Inner}) and types descriptors,
+ * and the max stack and locals of each method are computed as its instructions are added.
+ * Only the instructions needed by {@link EmitGenClassTask} are supported.
+ */
+final class ClassFileWriter {
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_PRIVATE = 0x0002;
+    public static final int ACC_PROTECTED = 0x0004;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_FINAL = 0x0010;
+    public static final int ACC_SUPER = 0x0020;
+
+    public static final int POP = 0x57;
+    public static final int DUP = 0x59;
+    public static final int IADD = 0x60;
+    public static final int IMUL = 0x68;
+    public static final int LCMP = 0x94;
+    public static final int IFEQ = 0x99;
+    public static final int IFNE = 0x9a;
+    public static final int IF_ICMPNE = 0xa0;
+    public static final int IF_ACMPNE = 0xa6;
+    public static final int GOTO = 0xa7;
+    public static final int INVOKEVIRTUAL = 0xb6;
+    public static final int INVOKESPECIAL = 0xb7;
+    public static final int INVOKESTATIC = 0xb8;
+    public static final int IFNULL = 0xc6;
+    public static final int IFNONNULL = 0xc7;
+
+    private static final int VERSION = 49;
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteVector pool = new ByteVector();
+    private final Map<String, Integer> poolIndexes = new HashMap<>();
+    private int poolCount = 1;
+    private final int access;
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+    private final List<ByteVector> fields = new ArrayList<>();
+    private final List<Code> methods = new ArrayList<>();
+    private final ByteVector innerClasses = new ByteVector();
+    private int innerClassesCount;
+
+    ClassFileWriter(int access, String name, String superName, String... interfaces) {
+        this.access = access;
+        this.thisClass = classRef(name);
+        this.superClass = classRef(superName);
+        this.interfaces = Arrays.stream(interfaces).mapToInt(this::classRef).toArray();
+    }
+
+    public void field(int access, String name, String descriptor, String signature) {
+        ByteVector field = new ByteVector()
+                .putShort(access)
+                .putShort(utf8(name))
+                .putShort(utf8(descriptor));
+
+        putSignature(field, signature);
+        fields.add(field);
+    }
+
+    /**
+     * Adds a method, whose instructions are then added to the returned {@link Code}.
+     */
+    public Code method(int access, String name, String descriptor, String signature) {
+        Code code = new Code(access, name, descriptor, signature);
+        methods.add(code);
+        return code;
+    }
+
+    /**
+     * Declares a member class, on both its outer and own class files, as {@code javac} requires to read it back as nested.
+     */
+    public void innerClass(String name, String outerName, String simpleName, int access) {
+        innerClasses
+                .putShort(classRef(name))
+                .putShort(classRef(outerName))
+                .putShort(utf8(simpleName))
+                .putShort(access);
+        innerClassesCount++;
+    }
+
+    public byte[] toByteArray() {
+        int innerClassesName = innerClassesCount > 0 ? utf8("InnerClasses") : 0;
+        int codeName = methods.isEmpty() ? 0 : utf8("Code");
+
+        ByteVector out = new ByteVector()
+                .putInt(0xCAFEBABE)
+                .putShort(0)
+                .putShort(VERSION)
+                .putShort(poolCount)
+                .putBytes(pool)
+                .putShort(access)
+                .putShort(thisClass)
+                .putShort(superClass)
+                .putShort(interfaces.length);
+        for (int index : interfaces) {
+            out.putShort(index);
+        }
+
+        out.putShort(fields.size());
+        for (ByteVector field : fields) {
+            out.putBytes(field);
+        }
+
+        out.putShort(methods.size());
+        for (Code method : methods) {
+            method.writeTo(out, codeName);
+        }
+
+        if (innerClassesCount > 0) {
+            out.putShort(1)
+                    .putShort(innerClassesName)
+                    .putInt(2 + innerClasses.length)
+                    .putShort(innerClassesCount)
+                    .putBytes(innerClasses);
+
+        } else {
+            out.putShort(0);
+        }
+        return Arrays.copyOf(out.data, out.length);
+    }
+
+    private void putSignature(ByteVector member, String signature) {
+        if (signature != null) {
+            member.putShort(1)
+                    .putShort(utf8("Signature"))
+                    .putInt(2)
+                    .putShort(utf8(signature));
+
+        } else {
+            member.putShort(0);
+        }
+    }
+
+    private int utf8(String value) {
+        Integer index = poolIndexes.get("U" + value);
+        if (index == null) {
+            pool.putByte(CONSTANT_UTF8).putUTF(value);
+            poolIndexes.put("U" + value, index = poolCount++);
+        }
+        return index;
+    }
+
+    private int constant(int tag, String key, int first, int second) {
+        Integer index = poolIndexes.get(key);
+        if (index == null) {
+            pool.putByte(tag).putShort(first);
+            if (second >= 0) {
+                pool.putShort(second);
+            }
+            poolIndexes.put(key, index = poolCount++);
+        }
+        return index;
+    }
+
+    private int classRef(String name) {
+        return constant(CONSTANT_CLASS, "C" + name, utf8(name), -1);
+    }
+
+    private int string(String value) {
+        return constant(CONSTANT_STRING, "S" + value, utf8(value), -1);
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        int nameAndType = constant(CONSTANT_NAME_AND_TYPE, "T" + name + ' ' + descriptor, utf8(name), utf8(descriptor));
+
+        return constant(tag, tag + owner + '.' + name + ' ' + descriptor, classRef(owner), nameAndType);
+    }
+
+    /**
+     * The slots taken by a value of the given type descriptor, on the stack and as a local.
+     */
+    static int size(String descriptor) {
+        switch (descriptor.charAt(0)) {
+            case 'V':
+                return 0;
+
+            case 'J':
+            case 'D':
+                return 2;
+
+            default:
+                return 1;
+        }
+    }
+
+    static int argumentsSize(String methodDescriptor) {
+        int size = 0;
+        for (int i = 1; methodDescriptor.charAt(i) != ')'; i++) {
+            char c = methodDescriptor.charAt(i);
+            if (c == 'J' || c == 'D') {
+                size += 2;
+                continue;
+            }
+            while (c == '[') {
+                c = methodDescriptor.charAt(++i);
+            }
+            if (c == 'L') {
+                i = methodDescriptor.indexOf(';', i);
+            }
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * The offset (from {@code iload}, the first of the 5 opcode families ordered by type) of the given type's opcodes.
+     */
+    private static int typeOffset(String descriptor) {
+        switch (descriptor.charAt(0)) {
+            case 'J':
+                return 1;
+
+            case 'F':
+                return 2;
+
+            case 'D':
+                return 3;
+
+            case 'L':
+            case '[':
+                return 4;
+
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * The instructions of a method. A branch target is a {@link Label}, which keeps the stack depth to resume with.
+     */
+    final class Code {
+        private final int access;
+        private final int name;
+        private final int descriptor;
+        private final int signatureName;
+        private final int signature;
+        private final ByteVector code = new ByteVector();
+        private int stack;
+        private int maxStack;
+        private int maxLocals;
+
+        Code(int access, String name, String descriptor, String signature) {
+            this.access = access;
+            this.name = utf8(name);
+            this.descriptor = utf8(descriptor);
+            // all the constants are added before the pool is written
+            this.signatureName = signature != null ? utf8("Signature") : 0;
+            this.signature = signature != null ? utf8(signature) : 0;
+            this.maxLocals = argumentsSize(descriptor) + ((access & ACC_STATIC) != 0 ? 0 : 1);
+        }
+
+        public Code op(int opcode, int stackDelta) {
+            code.putByte(opcode);
+            return grow(stackDelta);
+        }
+
+        public Code load(String descriptor, int local) {
+            return local(0x15, 0x1a, descriptor, local).grow(size(descriptor));
+        }
+
+        public Code store(String descriptor, int local) {
+            return local(0x36, 0x3b, descriptor, local).grow(-size(descriptor));
+        }
+
+        public Code loadThis() {
+            return load("Ljava/lang/Object;", 0);
+        }
+
+        public Code push(int value) {
+            if (value >= -1 && value <= 5) {
+                return op(0x03 + value, 1);
+
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                code.putByte(0x10).putByte(value);
+
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                code.putByte(0x11).putShort(value);
+
+            } else {
+                throw new IllegalArgumentException("unsupported int constant " + value);
+            }
+            return grow(1);
+        }
+
+        public Code ldc(String value) {
+            int index = string(value);
+            if (index < 256) {
+                code.putByte(0x12).putByte(index);
+
+            } else {
+                code.putByte(0x13).putShort(index);
+            }
+            return grow(1);
+        }
+
+        public Code newObject(String type) {
+            code.putByte(0xbb).putShort(classRef(type));
+            return grow(1);
+        }
+
+        public Code checkCast(String type) {
+            code.putByte(0xc0).putShort(classRef(type));
+            return this;
+        }
+
+        public Code getField(String owner, String name, String descriptor) {
+            code.putByte(0xb4).putShort(memberRef(CONSTANT_FIELD_REF, owner, name, descriptor));
+            return grow(size(descriptor) - 1);
+        }
+
+        public Code putField(String owner, String name, String descriptor) {
+            code.putByte(0xb5).putShort(memberRef(CONSTANT_FIELD_REF, owner, name, descriptor));
+            return grow(-size(descriptor) - 1);
+        }
+
+        public Code invoke(int opcode, String owner, String name, String descriptor) {
+            code.putByte(opcode).putShort(memberRef(CONSTANT_METHOD_REF, owner, name, descriptor));
+
+            int returned = size(descriptor.substring(descriptor.indexOf(')') + 1));
+            return grow(returned - argumentsSize(descriptor) - (opcode == INVOKESTATIC ? 0 : 1));
+        }
+
+        /**
+         * Returns from the method, with a value of the given type descriptor ({@code V} for none).
+         */
+        public Code returnValue(String descriptor) {
+            return op(descriptor.equals("V") ? 0xb1 : 0xac + typeOffset(descriptor), -size(descriptor));
+        }
+
+        public Code jump(int opcode, Label label) {
+            int delta = opcode == GOTO ? 0 : opcode == IF_ICMPNE || opcode == IF_ACMPNE ? -2 : -1;
+            int position = code.length;
+
+            code.putByte(opcode);
+            if (label.position >= 0) {
+                code.putShort(label.position - position);
+
+            } else {
+                label.jumps.add(position);
+                code.putShort(0);
+            }
+            grow(delta);
+            label.stack = stack;
+            return this;
+        }
+
+        public Code mark(Label label) {
+            label.position = code.length;
+            for (int jump : label.jumps) {
+                code.setShort(jump + 1, label.position - jump);
+            }
+            stack = label.stack;
+            return this;
+        }
+
+        private Code local(int opcode, int shortOpcode, String descriptor, int local) {
+            int offset = typeOffset(descriptor);
+
+            if (local <= 3) {
+                code.putByte(shortOpcode + offset * 4 + local);
+
+            } else if (local <= 255) {
+                code.putByte(opcode + offset).putByte(local);
+
+            } else {
+                throw new IllegalArgumentException("unsupported local " + local);
+            }
+            maxLocals = Math.max(maxLocals, local + size(descriptor));
+            return this;
+        }
+
+        private Code grow(int delta) {
+            stack += delta;
+            maxStack = Math.max(maxStack, stack);
+            return this;
+        }
+
+        private void writeTo(ByteVector out, int codeName) {
+            out.putShort(access)
+                    .putShort(name)
+                    .putShort(descriptor)
+                    .putShort(signature != 0 ? 2 : 1)
+                    .putShort(codeName)
+                    .putInt(12 + code.length)
+                    .putShort(maxStack)
+                    .putShort(maxLocals)
+                    .putInt(code.length)
+                    .putBytes(code)
+                    .putShort(0)  // exception table
+                    .putShort(0); // attributes
+
+            if (signature != 0) {
+                out.putShort(signatureName)
+                        .putInt(2)
+                        .putShort(signature);
+            }
+        }
+
+    }
+
+    static final class Label {
+        private final List<Integer> jumps = new ArrayList<>();
+        private int position = -1;
+        private int stack;
+    }
+
+    private static final class ByteVector {
+        private byte[] data = new byte[64];
+        private int length;
+
+        ByteVector putByte(int value) {
+            ensure(1);
+            data[length++] = (byte) value;
+            return this;
+        }
+
+        ByteVector putShort(int value) {
+            if (value < Short.MIN_VALUE || value > 0xFFFF) {
+                throw new IllegalArgumentException("unsupported 16 bits value " + value);
+            }
+            ensure(2);
+            data[length++] = (byte) (value >>> 8);
+            data[length++] = (byte) value;
+            return this;
+        }
+
+        ByteVector putInt(int value) {
+            ensure(4);
+            data[length++] = (byte) (value >>> 24);
+            data[length++] = (byte) (value >>> 16);
+            data[length++] = (byte) (value >>> 8);
+            data[length++] = (byte) value;
+            return this;
+        }
+
+        ByteVector putBytes(ByteVector bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes.data, 0, data, length, bytes.length);
+            length += bytes.length;
+            return this;
+        }
+
+        /**
+         * Puts the length prefixed <i>modified</i> UTF-8 encoding of the class file format.
+         */
+        ByteVector putUTF(String value) {
+            int start = length;
+            putShort(0);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x01 && c <= 0x7F) {
+                    putByte(c);
+
+                } else if (c <= 0x7FF) {
+                    putByte(0xC0 | (c >> 6)).putByte(0x80 | (c & 0x3F));
+
+                } else {
+                    putByte(0xE0 | (c >> 12)).putByte(0x80 | ((c >> 6) & 0x3F)).putByte(0x80 | (c & 0x3F));
+                }
+            }
+            setShort(start, length - start - 2);
+            return this;
+        }
+
+        void setShort(int position, int value) {
+            data[position] = (byte) (value >>> 8);
+            data[position + 1] = (byte) value;
+        }
+
+        private void ensure(int size) {
+            if (length + size > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + size));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,211 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.lang.model.element.Modifier;
+
+import gs.autopojo.POJO;
+
+/**
+ * Builds the nested {@code Columns} container of a {@code columns} {@link POJO}: a struct of arrays, one per property,
+ * growing together. Enums are stored by ordinal on {@code byte[]}s, read through the {@code values()} copies of the generated class.
+ */
+final class ColumnsHelper {
+
+    static TypeSpec build(POJOModel model, Function<PropertyModel, String> enumValuesField) {
+        ClassName columnsClassName = model.name.nestedClass("Columns");
+        TypeSpec.Builder columns = TypeSpec.classBuilder(columnsClassName.simpleName())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariables(model.typeVariables)
+                .addField(TypeName.INT, "size", Modifier.PRIVATE)
+                .addField(TypeName.INT, "capacity", Modifier.PRIVATE);
+        List<MethodSpec> accessors = new ArrayList<>();
+        CodeBlock.Builder init = CodeBlock.builder().add("this.capacity = capacity;\n");
+        CodeBlock.Builder grow = CodeBlock.builder();
+        CodeBlock.Builder clear = CodeBlock.builder();
+        CodeBlock.Builder add = CodeBlock.builder().add("ensureCapacity(size + 1);\n");
+        List<CodeBlock> getArguments = new ArrayList<>();
+        CodeBlock.Builder get = CodeBlock.builder().add("checkIndex(index);\n");
+        boolean unchecked = false;
+
+        List<PropertyModel> properties = new ArrayList<>(model.superProperties);
+        properties.addAll(model.properties);
+        for (PropertyModel property : properties) {
+            ArrayTypeName columnType = columnType(property);
+            String column = property.name + "Column";
+            CodeBlock element = CodeBlock.of("this.$N[index]", column);
+            if (property.enumType) {
+                // ordinal + 1, so the zero filled array reads as nulls
+                element = CodeBlock.of("$N[(this.$N[index] & 0xFF) - 1]", enumValuesField.apply(property), column);
+
+            } else if (columnType.equals(ArrayTypeName.of(TypeName.OBJECT))) {
+                element = CodeBlock.of("($T) $L", property.type, element);
+                unchecked = true;
+            }
+
+            columns.addField(columnType, column, Modifier.PRIVATE);
+            init.add("this.$N = $L;\n", column, newArray(columnType, CodeBlock.of("capacity")));
+            grow.add("this.$1N = $2T.copyOf(this.$1N, capacity);\n", column, Arrays.class);
+            if (!property.type.isPrimitive() && !property.enumType) {
+                clear.add("$T.fill(this.$N, 0, size, null);\n", Arrays.class, column);
+            }
+
+            MethodSpec.Builder getter = MethodSpec.methodBuilder("get" + property.methodSuffix())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(TypeName.INT, "index")
+                    .returns(property.type)
+                    .addCode("checkIndex(index);\n");
+            if (property.enumType) {
+                getter.addCode("return this.$N[index] == 0 ? null : $L;\n", column, element);
+
+            } else {
+                getter.addCode("return $L;\n", element);
+            }
+            if (columnType.equals(ArrayTypeName.of(TypeName.OBJECT))) {
+                getter.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                        .addMember("value", "$S", "unchecked")
+                        .build());
+            }
+            accessors.add(getter.build());
+            accessors.add(MethodSpec.methodBuilder("set" + property.methodSuffix())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(TypeName.INT, "index")
+                    .addParameter(property.type, property.name)
+                    .addCode("checkIndex(index);\n")
+                    .addCode("this.$N[index] = $L;\n", column, columnValue(property, CodeBlock.of("$N", property.name)))
+                    .build());
+            accessors.add(MethodSpec.methodBuilder("get" + property.methodSuffix() + "Column")
+                    .addJavadoc(property.enumType ? "The backing array of ordinals (plus one, {@code 0} for {@code null}), valid up to {@link #size()}.\n" :
+                            "The backing array, valid up to {@link #size()}.\n")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(columnType)
+                    .addCode("return this.$N;\n", column)
+                    .build());
+
+            add.add("this.$N[size] = $L;\n", column, columnValue(property, CodeBlock.of("value.get$L()", property.methodSuffix())));
+            CodeBlock value = property.enumType ? CodeBlock.of("this.$N[index] == 0 ? null : $L", column, element) : element;
+            if (model.pojo.immutable()) {
+                getArguments.add(value);
+
+            } else {
+                get.add("reuse.set$L($L);\n", property.methodSuffix(), value);
+            }
+        }
+        add.add("size++;\n");
+
+        MethodSpec.Builder getMethod = MethodSpec.methodBuilder("get")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .returns(model.type);
+        if (model.pojo.immutable()) {
+            get.add("return new $T(\n$>$>", model.type)
+                    .add(getArguments.stream().collect(CodeBlock.joining(",\n")))
+                    .add("$<$<);\n");
+
+        } else {
+            getMethod.addParameter(model.type, "reuse");
+            get.add("return reuse;\n");
+        }
+        if (unchecked) {
+            getMethod.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+
+        return columns
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addCode("this(16);\n")
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, "capacity")
+                        .addCode(init.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("size")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.INT)
+                        .addCode("return size;\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("ensureCapacity")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, "minCapacity")
+                        .beginControlFlow("if (minCapacity > capacity)")
+                        .addCode("capacity = $T.max(minCapacity, capacity + (capacity >> 1) + 1);\n", Math.class)
+                        .addCode(grow.build())
+                        .endControlFlow()
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("add")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(model.type, "value")
+                        .addCode(add.build())
+                        .build())
+                .addMethod(getMethod.addCode(get.build()).build())
+                .addMethods(model.pojo.immutable() ? Collections.emptyList() : Collections.singletonList(MethodSpec.methodBuilder("get")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, "index")
+                        .returns(model.type)
+                        .addCode("return get(index, new $T());\n", model.type)
+                        .build()))
+                .addMethods(accessors)
+                .addMethod(MethodSpec.methodBuilder("clear")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addCode(clear.build())
+                        .addCode("size = 0;\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("checkIndex")
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(TypeName.INT, "index")
+                        .beginControlFlow("if (index < 0 || index >= size)")
+                        .addCode("throw new $T(\"Index: \" + index + \", Size: \" + size);\n", IndexOutOfBoundsException.class)
+                        .endControlFlow()
+                        .build())
+                .build();
+    }
+
+    /**
+     * The array holding a property on the {@code Columns}: a primitive one for primitives, {@code byte[]} for enums
+     * and {@code Object[]} when the property type can not be used for creating an array (parameterized ones or type variables).
+     */
+    private static ArrayTypeName columnType(PropertyModel property) {
+        if (property.enumType) {
+            return ArrayTypeName.of(TypeName.BYTE);
+        }
+        TypeName component = property.type;
+        while (component instanceof ArrayTypeName) {
+            component = ((ArrayTypeName) component).componentType;
+        }
+        return component.isPrimitive() || component instanceof ClassName ?
+                ArrayTypeName.of(property.type) : ArrayTypeName.of(TypeName.OBJECT);
+    }
+
+    private static CodeBlock newArray(ArrayTypeName type, CodeBlock length) {
+        StringBuilder dimensions = new StringBuilder();
+        TypeName component = type.componentType;
+        while (component instanceof ArrayTypeName) {
+            component = ((ArrayTypeName) component).componentType;
+            dimensions.append("[]");
+        }
+        return CodeBlock.of("new $T[$L]$L", component, length, dimensions);
+    }
+
+    private static CodeBlock columnValue(PropertyModel property, CodeBlock value) {
+        return property.enumType ? CodeBlock.of("$1L == null ? 0 : (byte) ($1L.ordinal() + 1)", value) : value;
+    }
+
+    private ColumnsHelper() {
+    }
+
+}
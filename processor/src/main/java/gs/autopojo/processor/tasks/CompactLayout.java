@@ -0,0 +1,189 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.TypeName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Where the properties of a {@code compact} {@link gs.autopojo.POJO} are stored: {@code long} words named {@code bits0}, {@code bits1}, ...
+ * holding a presence bit for each primitive and boxed primitive, the value bit of booleans and the ordinal (plus one, {@code 0} for {@code null})
+ * of enums of up to {@value #MAX_ENUM_BITS} bits. Other primitives keep a field of their (unboxed) type, always {@code 0} when not present,
+ * so instances with the same values always have the same words and fields.
+ * <p>
+ * The same layout is used by the builder, so its state can be copied as is.
+ */
+final class CompactLayout {
+    private static final int MAX_ENUM_BITS = 8;
+
+    private final Map<PropertyModel, Slot> slots = new LinkedHashMap<>();
+    private final int words;
+
+    CompactLayout(List<PropertyModel> properties) {
+        List<PropertyModel> enums = new ArrayList<>();
+        int bit = 0;
+
+        for (PropertyModel property : properties) {
+            TypeName type = property.type.isBoxedPrimitive() ? property.type.unbox() : property.type;
+
+            if (type.equals(TypeName.BOOLEAN)) {
+                if (bit % 64 == 63) {
+                    bit++;
+                }
+
+                slots.put(property, new Slot(null, bit / 64, 1L << bit % 64, 1L << (bit + 1) % 64, 0));
+                bit += 2;
+
+            } else if (type.isPrimitive()) {
+                slots.put(property, new Slot(type, bit / 64, 1L << bit % 64, 0, 0));
+                bit++;
+
+            } else if (property.enumType && enumBits(property) <= MAX_ENUM_BITS) {
+                enums.add(property);
+            }
+        }
+        for (PropertyModel property : enums) {
+            int bits = enumBits(property);
+            if (bit % 64 + bits > 64) {
+                bit += 64 - bit % 64;
+            }
+
+            slots.put(property, new Slot(null, bit / 64, 0, ((1L << bits) - 1) << bit % 64, bit % 64));
+            bit += bits;
+        }
+        this.words = (bit + 63) / 64;
+    }
+
+    private static int enumBits(PropertyModel property) {
+        return 32 - Integer.numberOfLeadingZeros(property.enumConstants);
+    }
+
+    boolean contains(PropertyModel property) {
+        return slots.containsKey(property);
+    }
+
+    /**
+     * The type of the field holding the given property's value, or {@code null} if it is only stored on the words.
+     */
+    TypeName fieldType(PropertyModel property) {
+        return slots.get(property).fieldType;
+    }
+
+    List<String> words() {
+        List<String> names = new ArrayList<>(words);
+        for (int i = 0; i < words; i++) {
+            names.add(word(i));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    List<FieldSpec> fields() {
+        List<FieldSpec> fields = new ArrayList<>();
+        for (Map.Entry<PropertyModel, Slot> entry : slots.entrySet()) {
+            if (entry.getValue().fieldType != null) {
+                fields.add(FieldSpec.builder(entry.getValue().fieldType, entry.getKey().name, Modifier.PRIVATE).build());
+            }
+        }
+        for (String word : words()) {
+            fields.add(FieldSpec.builder(TypeName.LONG, word, Modifier.PRIVATE).build());
+        }
+        return fields;
+    }
+
+    CodeBlock get(PropertyModel property, String enumValuesField) {
+        Slot slot = slots.get(property);
+        String word = word(slot.word);
+
+        if (property.enumType) {
+            return CodeBlock.of("int ordinal = (int) ($N >>> $L & $L) - 1;\nreturn ordinal < 0 ? null : $N[ordinal];\n",
+                    word, slot.shift, hex(slot.value >>> slot.shift), enumValuesField);
+
+        } else if (slot.fieldType == null) {
+            CodeBlock value = CodeBlock.of("($N & $L) != 0", word, hex(slot.value));
+
+            return property.type.isPrimitive() ? CodeBlock.of("return $L;\n", value) :
+                    CodeBlock.of("return ($N & $L) != 0 ? $L : null;\n", word, hex(slot.presence), value);
+
+        } else if (property.type.isPrimitive()) {
+            return CodeBlock.of("return $N;\n", property.name);
+        }
+        return CodeBlock.of("return ($N & $L) != 0 ? $N : null;\n", word, hex(slot.presence), property.name);
+    }
+
+    /**
+     * Sets the given property from a variable of its same name.
+     */
+    CodeBlock set(PropertyModel property) {
+        Slot slot = slots.get(property);
+        String word = word(slot.word);
+        String name = property.name;
+
+        if (property.enumType) {
+            return CodeBlock.of("$1N = $1N & ~$2L | ($3N == null ? 0L : ($3N.ordinal() + 1L) << $4L);\n",
+                    word, hex(slot.value), name, slot.shift);
+        }
+
+        CodeBlock set = slot.fieldType == null ?
+                CodeBlock.of("$1N = $1N & ~$2L | ($3N ? $2L : 0L) | $4L;\n", word, hex(slot.value), name, hex(slot.presence)) :
+                CodeBlock.of("this.$1N = $1N;\n$2N |= $3L;\n", name, word, hex(slot.presence));
+        if (property.type.isPrimitive()) {
+            return set;
+        }
+        return CodeBlock.builder()
+                .beginControlFlow("if ($N == null)", name)
+                .add(clear(property))
+                .nextControlFlow("else")
+                .add(set)
+                .endControlFlow()
+                .build();
+    }
+
+    CodeBlock has(PropertyModel property) {
+        Slot slot = slots.get(property);
+
+        return CodeBlock.of("return ($N & $L) != 0;\n", word(slot.word), hex(property.enumType ? slot.value : slot.presence));
+    }
+
+    CodeBlock clear(PropertyModel property) {
+        Slot slot = slots.get(property);
+        String word = word(slot.word);
+
+        if (slot.fieldType != null) {
+            return CodeBlock.of("this.$N = 0;\n$N &= ~$L;\n", property.name, word, hex(slot.presence));
+        }
+        return CodeBlock.of("$N &= ~$L;\n", word, hex(slot.value | slot.presence));
+    }
+
+    private static String word(int index) {
+        return "bits" + index;
+    }
+
+    private static String hex(long mask) {
+        return "0x" + Long.toHexString(mask) + "L";
+    }
+
+    private static final class Slot {
+        final TypeName fieldType;
+        final int word;
+        final long presence;
+        final long value;
+        final int shift;
+
+        Slot(TypeName fieldType, int word, long presence, long value, int shift) {
+            this.fieldType = fieldType;
+            this.word = word;
+            this.presence = presence;
+            this.value = value;
+            this.shift = shift;
+        }
+
+    }
+
+}
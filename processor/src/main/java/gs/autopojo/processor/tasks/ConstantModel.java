@@ -0,0 +1,31 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
+public class ConstantModel {
+    public final String name;
+    public final TypeName type;
+    public final List<Modifier> modifiers;
+    public final String initializer;
+
+    /**
+     * The interface declaring it, when it's not a compile-time constant and {@link gs.autopojo.POJO#delegateConstants()} is set,
+     * or {@code null} if it's copied by its {@link #initializer}.
+     */
+    public final ClassName delegate;
+
+    ConstantModel(String name, TypeName type, List<Modifier> modifiers, String initializer, ClassName delegate) {
+        this.name = name;
+        this.type = type;
+        this.modifiers = Collections.unmodifiableList(modifiers);
+        this.initializer = initializer;
+        this.delegate = delegate;
+    }
+
+}
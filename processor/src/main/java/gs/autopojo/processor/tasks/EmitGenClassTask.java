@@ -0,0 +1,667 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.WildcardTypeName;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.lang.model.element.Modifier;
+
+import gs.autopojo.POJO;
+
+import static gs.autopojo.processor.tasks.ClassFileWriter.ACC_FINAL;
+import static gs.autopojo.processor.tasks.ClassFileWriter.ACC_PRIVATE;
+import static gs.autopojo.processor.tasks.ClassFileWriter.ACC_PROTECTED;
+import static gs.autopojo.processor.tasks.ClassFileWriter.ACC_PUBLIC;
+import static gs.autopojo.processor.tasks.ClassFileWriter.ACC_STATIC;
+import static gs.autopojo.processor.tasks.ClassFileWriter.ACC_SUPER;
+import static gs.autopojo.processor.tasks.ClassFileWriter.DUP;
+import static gs.autopojo.processor.tasks.ClassFileWriter.GOTO;
+import static gs.autopojo.processor.tasks.ClassFileWriter.IADD;
+import static gs.autopojo.processor.tasks.ClassFileWriter.IFEQ;
+import static gs.autopojo.processor.tasks.ClassFileWriter.IFNE;
+import static gs.autopojo.processor.tasks.ClassFileWriter.IFNULL;
+import static gs.autopojo.processor.tasks.ClassFileWriter.IF_ACMPNE;
+import static gs.autopojo.processor.tasks.ClassFileWriter.IF_ICMPNE;
+import static gs.autopojo.processor.tasks.ClassFileWriter.IMUL;
+import static gs.autopojo.processor.tasks.ClassFileWriter.INVOKESPECIAL;
+import static gs.autopojo.processor.tasks.ClassFileWriter.INVOKESTATIC;
+import static gs.autopojo.processor.tasks.ClassFileWriter.INVOKEVIRTUAL;
+import static gs.autopojo.processor.tasks.ClassFileWriter.LCMP;
+import static gs.autopojo.processor.tasks.ClassFileWriter.POP;
+
+/**
+ * Emits the class files of a top-level {@link POJOModel} straight from it, with the same members and behavior than the
+ * source built by {@link ProcessClassTask}, so {@code javac} doesn't have to parse and compile it on another round.
+ * Only the plain classes are supported (see {@link #isSupported(POJOModel)}), any other one must be rendered as source.
+ * <p>
+ * Classes are written as Java 5 ones, with the builder reaching its class (and the other way around) through their
+ * public accessors instead of their private fields, as neither synthetic accessors nor nest mates are emitted.
+ * It does not touch javac's model, so it can run outside the compiler thread.
+ */
+public class EmitGenClassTask implements Callable<Map<String, byte[]>> {
+    private static final String OBJECT = "java/lang/Object";
+    private static final String OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+    private static final String STRING_DESCRIPTOR = "Ljava/lang/String;";
+    private static final String STRING_BUILDER = "java/lang/StringBuilder";
+    private static final String STRING_BUILDER_DESCRIPTOR = "Ljava/lang/StringBuilder;";
+    private static final String ARRAYS = "java/util/Arrays";
+    private static final String OBJECTS = "java/util/Objects";
+    private static final String CONSTRUCTOR = "<init>";
+    private final POJOModel model;
+    private final String type;
+    private final String typeDescriptor;
+    private final ClassName builderClassName;
+    private final String builderType;
+    private final String builderDescriptor;
+    private final int accessorsAccess;
+
+    public EmitGenClassTask(POJOModel model) {
+        this.model = model;
+        this.type = internalName(model.name);
+        this.typeDescriptor = descriptor(model.name);
+        this.builderClassName = model.pojo.builder() ? model.name.nestedClass("Builder") : null;
+        this.builderType = builderClassName != null ? internalName(builderClassName) : null;
+        this.builderDescriptor = builderClassName != null ? descriptor(builderClassName) : null;
+        this.accessorsAccess = model.modifiers.contains(Modifier.PUBLIC) ? ACC_PUBLIC : 0;
+    }
+
+    /**
+     * If the given model can be emitted: a non generic top-level class, without a superclass, nested types, constants nor
+     * {@link LazyModel lazy} properties, whose only features are {@link POJO#builder()} and {@link POJO#immutable()},
+     * and no annotations to copy.
+     */
+    public static boolean isSupported(POJOModel model) {
+        POJO pojo = model.pojo;
+
+        if (model.name.enclosingClassName() != null || model.superType != null || !model.typeVariables.isEmpty() ||
+                !model.annotations.isEmpty() || model.cloneable || !model.lazyProperties.isEmpty() ||
+                !model.constants.isEmpty() || !model.types.isEmpty() ||
+                !model.modifiers.stream().allMatch($ -> $ == Modifier.PUBLIC) ||
+                !model.interfaces.stream().allMatch($ -> $ instanceof ClassName && !$.isAnnotated())) {
+            return false;
+        }
+        if (pojo.pooled() || pojo.primitiveCollections() || pojo.binaryCodec() || pojo.jsonCodec() || pojo.propertyTable() ||
+                pojo.flyweight() || pojo.columns() || pojo.compact() || pojo.trackChanges() || pojo.concurrent() ||
+                pojo.seqlock() || pojo.cacheHashCode() || pojo.interned()) {
+            return false;
+        }
+        for (PropertyModel property : model.properties) {
+            if (!property.fieldAnnotations.isEmpty() || !property.getterAnnotations.isEmpty() ||
+                    !property.setterAnnotations.isEmpty() || !isSupported(property.type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupported(TypeName type) {
+        if (type.isAnnotated()) {
+            return false;
+
+        } else if (type.isPrimitive() || type instanceof ClassName) {
+            return true;
+
+        } else if (type instanceof ArrayTypeName) {
+            return isSupported(((ArrayTypeName) type).componentType);
+
+        } else if (type instanceof ParameterizedTypeName) {
+            ParameterizedTypeName ptName = (ParameterizedTypeName) type;
+
+            // an inner class of a parameterized type would lose its enclosing type arguments
+            return ptName.equals(ParameterizedTypeName.get(ptName.rawType,
+                    ptName.typeArguments.toArray(new TypeName[ptName.typeArguments.size()]))) &&
+                    ptName.typeArguments.stream().allMatch(EmitGenClassTask::isSupported);
+
+        } else if (type instanceof WildcardTypeName) {
+            WildcardTypeName wildcard = (WildcardTypeName) type;
+
+            return wildcard.upperBounds.stream().allMatch(EmitGenClassTask::isSupported) &&
+                    wildcard.lowerBounds.stream().allMatch(EmitGenClassTask::isSupported);
+        }
+        return false;
+    }
+
+    /**
+     * The emitted class files, by their binary names.
+     */
+    @Override
+    public Map<String, byte[]> call() {
+        ClassFileWriter classFile = new ClassFileWriter(ACC_SUPER | accessorsAccess, type, OBJECT, model.interfaces.stream()
+                .map($ -> internalName((ClassName) $))
+                .toArray(String[]::new));
+        ClassFileWriter builderFile = builderClassName != null ? new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, builderType, OBJECT) : null;
+
+        addFields(classFile, builderFile);
+        addValueMethods(classFile);
+        if (model.pojo.immutable()) {
+            addConstructor(classFile);
+
+        } else {
+            addCopyConstructor(classFile);
+        }
+        addWithMethods(classFile);
+
+        if (builderFile != null) {
+            addToBuilder(classFile);
+            addBuilderMethods(builderFile);
+
+            classFile.innerClass(builderType, type, builderClassName.simpleName(), ACC_PUBLIC | ACC_STATIC);
+            builderFile.innerClass(builderType, type, builderClassName.simpleName(), ACC_PUBLIC | ACC_STATIC);
+        }
+
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put(binaryName(type), classFile.toByteArray());
+        if (builderFile != null) {
+            files.put(binaryName(builderType), builderFile.toByteArray());
+        }
+        return files;
+    }
+
+    private void addFields(ClassFileWriter classFile, ClassFileWriter builderFile) {
+        for (PropertyModel property : model.properties) {
+            String name = property.name;
+            String descriptor = descriptor(property.type);
+
+            classFile.field(ACC_PRIVATE | (model.pojo.immutable() ? ACC_FINAL : 0), name, descriptor, signature(property.type));
+            classFile.method(accessorsAccess, "get" + property.methodSuffix(),
+                    methodDescriptor(property.type), methodSignature(property.type))
+                    .loadThis()
+                    .getField(type, name, descriptor)
+                    .returnValue(descriptor);
+
+            if (!model.pojo.immutable()) {
+                classFile.method(accessorsAccess, "set" + property.methodSuffix(),
+                        methodDescriptor(TypeName.VOID, property.type), methodSignature(TypeName.VOID, property.type))
+                        .loadThis()
+                        .load(descriptor, 1)
+                        .putField(type, name, descriptor)
+                        .returnValue("V");
+            }
+
+            if (builderFile != null) {
+                builderFile.field(ACC_PRIVATE, name, descriptor, signature(property.type));
+                builderFile.method(ACC_PUBLIC, name, methodDescriptor(property.type), methodSignature(property.type))
+                        .loadThis()
+                        .getField(builderType, name, descriptor)
+                        .returnValue(descriptor);
+                builderFile.method(ACC_PUBLIC, name,
+                        methodDescriptor(builderClassName, property.type), methodSignature(builderClassName, property.type))
+                        .loadThis()
+                        .load(descriptor, 1)
+                        .putField(builderType, name, descriptor)
+                        .loadThis()
+                        .returnValue(builderDescriptor);
+            }
+        }
+    }
+
+    private void addValueMethods(ClassFileWriter classFile) {
+        ClassFileWriter.Label notSame = new ClassFileWriter.Label();
+        ClassFileWriter.Label differs = new ClassFileWriter.Label();
+        ClassFileWriter.Code equals = classFile.method(ACC_PUBLIC, "equals", "(" + OBJECT_DESCRIPTOR + ")Z", null)
+                .loadThis()
+                .load(OBJECT_DESCRIPTOR, 1)
+                .jump(IF_ACMPNE, notSame)
+                .push(1)
+                .returnValue("Z")
+                .mark(notSame)
+                .load(OBJECT_DESCRIPTOR, 1)
+                .jump(IFNULL, differs)
+                .loadThis()
+                .invoke(INVOKEVIRTUAL, OBJECT, "getClass", "()Ljava/lang/Class;")
+                .load(OBJECT_DESCRIPTOR, 1)
+                .invoke(INVOKEVIRTUAL, OBJECT, "getClass", "()Ljava/lang/Class;")
+                .jump(IF_ACMPNE, differs);
+        if (!model.properties.isEmpty()) {
+            equals.load(OBJECT_DESCRIPTOR, 1)
+                    .checkCast(type)
+                    .store(typeDescriptor, 2);
+        }
+        for (PropertyModel property : model.properties) {
+            String descriptor = descriptor(property.type);
+
+            equals.loadThis()
+                    .getField(type, property.name, descriptor)
+                    .load(typeDescriptor, 2)
+                    .getField(type, property.name, descriptor);
+            addEqualsComparison(equals, property.type, differs);
+        }
+        equals.push(1)
+                .returnValue("Z")
+                .mark(differs)
+                .push(0)
+                .returnValue("Z");
+
+        ClassFileWriter.Code hashCode = classFile.method(ACC_PUBLIC, "hashCode", "()I", null)
+                .push(1)
+                .store("I", 1);
+        for (PropertyModel property : model.properties) {
+            hashCode.push(31)
+                    .load("I", 1)
+                    .op(IMUL, -1)
+                    .loadThis()
+                    .getField(type, property.name, descriptor(property.type));
+            addHashCode(hashCode, property.type);
+            hashCode.op(IADD, -1)
+                    .store("I", 1);
+        }
+        hashCode.load("I", 1)
+                .returnValue("I");
+
+        classFile.method(ACC_PUBLIC, "toString", "()" + STRING_DESCRIPTOR, null)
+                .loadThis()
+                .newObject(STRING_BUILDER)
+                .op(DUP, 1)
+                .invoke(INVOKESPECIAL, STRING_BUILDER, CONSTRUCTOR, "()V")
+                .invoke(INVOKEVIRTUAL, type, "appendTo", "(" + STRING_BUILDER_DESCRIPTOR + ")" + STRING_BUILDER_DESCRIPTOR)
+                .invoke(INVOKEVIRTUAL, STRING_BUILDER, "toString", "()" + STRING_DESCRIPTOR)
+                .returnValue(STRING_DESCRIPTOR);
+
+        ClassFileWriter.Code appendTo = classFile.method(ACC_PUBLIC, "appendTo",
+                "(" + STRING_BUILDER_DESCRIPTOR + ")" + STRING_BUILDER_DESCRIPTOR, null);
+        String separator = model.name.simpleName() + "{";
+        for (PropertyModel property : model.properties) {
+            addAppendTo(appendTo, property, separator + property.name + "=");
+            separator = ", ";
+        }
+        if (separator.endsWith("{")) {
+            appendString(appendTo, separator);
+        }
+        appendTo.load(STRING_BUILDER_DESCRIPTOR, 1)
+                .push('}')
+                .invoke(INVOKEVIRTUAL, STRING_BUILDER, "append", "(C)" + STRING_BUILDER_DESCRIPTOR)
+                .returnValue(STRING_BUILDER_DESCRIPTOR);
+    }
+
+    /**
+     * Compares the two values on the stack as {@link ProcessClassTask}'s {@code equals} does, jumping to {@code differs} if they are not.
+     */
+    private static void addEqualsComparison(ClassFileWriter.Code code, TypeName type, ClassFileWriter.Label differs) {
+        if (type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+            String descriptor = descriptor(type);
+
+            code.invoke(INVOKESTATIC, internalName(type.box()), "compare", "(" + descriptor + descriptor + ")I")
+                    .jump(IFNE, differs);
+
+        } else if (type.equals(TypeName.LONG)) {
+            code.op(LCMP, -3)
+                    .jump(IFNE, differs);
+
+        } else if (type.isPrimitive()) {
+            code.jump(IF_ICMPNE, differs);
+
+        } else if (type instanceof ArrayTypeName) {
+            String descriptor = arrayArgumentDescriptor((ArrayTypeName) type);
+
+            code.invoke(INVOKESTATIC, ARRAYS, isDeepArray(type) ? "deepEquals" : "equals", "(" + descriptor + descriptor + ")Z")
+                    .jump(IFEQ, differs);
+
+        } else {
+            code.invoke(INVOKESTATIC, OBJECTS, "equals", "(" + OBJECT_DESCRIPTOR + OBJECT_DESCRIPTOR + ")Z")
+                    .jump(IFEQ, differs);
+        }
+    }
+
+    /**
+     * Compares the two values on the stack by identity, as {@code ==} does (but floats and doubles, compared as {@code equals} does),
+     * jumping to {@code differs} if they are not.
+     */
+    private static void addIdentityComparison(ClassFileWriter.Code code, TypeName type, ClassFileWriter.Label differs) {
+        if (type.equals(TypeName.LONG)) {
+            code.op(LCMP, -3).jump(IFNE, differs);
+
+        } else if (type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+            String descriptor = descriptor(type);
+
+            code.invoke(INVOKESTATIC, internalName(type.box()), "compare", "(" + descriptor + descriptor + ")I")
+                    .jump(IFNE, differs);
+
+        } else {
+            code.jump(type.isPrimitive() ? IF_ICMPNE : IF_ACMPNE, differs);
+        }
+    }
+
+    private static void addHashCode(ClassFileWriter.Code code, TypeName type) {
+        if (type.equals(TypeName.BOOLEAN) || type.equals(TypeName.LONG) || type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+            code.invoke(INVOKESTATIC, internalName(type.box()), "hashCode", "(" + descriptor(type) + ")I");
+
+        } else if (type instanceof ArrayTypeName) {
+            code.invoke(INVOKESTATIC, ARRAYS, isDeepArray(type) ? "deepHashCode" : "hashCode",
+                    "(" + arrayArgumentDescriptor((ArrayTypeName) type) + ")I");
+
+        } else if (!type.isPrimitive()) {
+            code.invoke(INVOKESTATIC, OBJECTS, "hashCode", "(" + OBJECT_DESCRIPTOR + ")I");
+        }
+    }
+
+    private void addAppendTo(ClassFileWriter.Code code, PropertyModel property, String label) {
+        String descriptor = descriptor(property.type);
+
+        if (property.type instanceof ArrayTypeName) {
+            appendLabel(code, label)
+                    .loadThis()
+                    .getField(type, property.name, descriptor)
+                    .invoke(INVOKESTATIC, ARRAYS, isDeepArray(property.type) ? "deepToString" : "toString",
+                            "(" + arrayArgumentDescriptor((ArrayTypeName) property.type) + ")" + STRING_DESCRIPTOR)
+                    .invoke(INVOKEVIRTUAL, STRING_BUILDER, "append", "(" + STRING_DESCRIPTOR + ")" + STRING_BUILDER_DESCRIPTOR)
+                    .op(POP, -1);
+
+        } else if (property.pojoType != null) {
+            ClassFileWriter.Label isNull = new ClassFileWriter.Label();
+            ClassFileWriter.Label end = new ClassFileWriter.Label();
+
+            appendString(code, label);
+            code.loadThis()
+                    .getField(type, property.name, descriptor)
+                    .jump(IFNULL, isNull)
+                    .loadThis()
+                    .getField(type, property.name, descriptor)
+                    .load(STRING_BUILDER_DESCRIPTOR, 1)
+                    .invoke(INVOKEVIRTUAL, internalName(rawType(property.type)), "appendTo",
+                            "(" + STRING_BUILDER_DESCRIPTOR + ")" + STRING_BUILDER_DESCRIPTOR)
+                    .op(POP, -1)
+                    .jump(GOTO, end)
+                    .mark(isNull);
+            appendString(code, "null");
+            code.mark(end);
+
+        } else {
+            appendLabel(code, label)
+                    .loadThis()
+                    .getField(type, property.name, descriptor)
+                    .invoke(INVOKEVIRTUAL, STRING_BUILDER, "append", "(" + appendDescriptor(property.type) + ")" + STRING_BUILDER_DESCRIPTOR)
+                    .op(POP, -1);
+        }
+    }
+
+    private static ClassFileWriter.Code appendLabel(ClassFileWriter.Code code, String label) {
+        return code.load(STRING_BUILDER_DESCRIPTOR, 1)
+                .ldc(label)
+                .invoke(INVOKEVIRTUAL, STRING_BUILDER, "append", "(" + STRING_DESCRIPTOR + ")" + STRING_BUILDER_DESCRIPTOR);
+    }
+
+    private static void appendString(ClassFileWriter.Code code, String value) {
+        appendLabel(code, value).op(POP, -1);
+    }
+
+    /**
+     * The {@link StringBuilder#append} overload {@code javac} would pick for a value of the given type.
+     */
+    private static String appendDescriptor(TypeName type) {
+        if (type.equals(TypeName.BYTE) || type.equals(TypeName.SHORT)) {
+            return "I";
+
+        } else if (type.isPrimitive()) {
+            return descriptor(type);
+
+        } else if (type.equals(ClassName.get(String.class)) || type.equals(ClassName.get(CharSequence.class)) ||
+                type.equals(ClassName.get(StringBuffer.class))) {
+            return descriptor(type);
+        }
+        return OBJECT_DESCRIPTOR;
+    }
+
+    private void addConstructor(ClassFileWriter classFile) {
+        ClassFileWriter.Code constructor = classFile.method(ACC_PUBLIC, CONSTRUCTOR,
+                constructorDescriptor(), methodSignature(TypeName.VOID, parameterTypes()))
+                .loadThis()
+                .invoke(INVOKESPECIAL, OBJECT, CONSTRUCTOR, "()V");
+
+        int local = 1;
+        for (PropertyModel property : model.properties) {
+            String descriptor = descriptor(property.type);
+
+            constructor.loadThis()
+                    .load(descriptor, local)
+                    .putField(type, property.name, descriptor);
+            local += ClassFileWriter.size(descriptor);
+        }
+        constructor.returnValue("V");
+    }
+
+    private void addCopyConstructor(ClassFileWriter classFile) {
+        classFile.method(ACC_PUBLIC, CONSTRUCTOR, "()V", null)
+                .loadThis()
+                .invoke(INVOKESPECIAL, OBJECT, CONSTRUCTOR, "()V")
+                .returnValue("V");
+
+        ClassFileWriter.Code constructor = classFile.method(ACC_PUBLIC, CONSTRUCTOR, "(" + typeDescriptor + ")V", null)
+                .loadThis()
+                .invoke(INVOKESPECIAL, OBJECT, CONSTRUCTOR, "()V");
+        for (PropertyModel property : model.properties) {
+            String descriptor = descriptor(property.type);
+
+            constructor.loadThis()
+                    .load(typeDescriptor, 1)
+                    .getField(type, property.name, descriptor)
+                    .putField(type, property.name, descriptor);
+        }
+        constructor.returnValue("V");
+    }
+
+    private void addWithMethods(ClassFileWriter classFile) {
+        for (PropertyModel property : model.properties) {
+            String descriptor = descriptor(property.type);
+            ClassFileWriter.Code with = classFile.method(ACC_PUBLIC, "with" + property.methodSuffix(),
+                    methodDescriptor(model.name, property.type), methodSignature(model.name, property.type));
+
+            if (!model.pojo.immutable()) {
+                // a mutable copy is never shared, even if nothing changed
+                int copy = 1 + ClassFileWriter.size(descriptor);
+
+                with.newObject(type)
+                        .op(DUP, 1)
+                        .loadThis()
+                        .invoke(INVOKESPECIAL, type, CONSTRUCTOR, "(" + typeDescriptor + ")V")
+                        .store(typeDescriptor, copy)
+                        .load(typeDescriptor, copy)
+                        .load(descriptor, 1)
+                        .invoke(INVOKEVIRTUAL, type, "set" + property.methodSuffix(), methodDescriptor(TypeName.VOID, property.type))
+                        .load(typeDescriptor, copy)
+                        .returnValue(typeDescriptor);
+                continue;
+            }
+
+            ClassFileWriter.Label changed = new ClassFileWriter.Label();
+            with.load(descriptor, 1)
+                    .loadThis()
+                    .getField(type, property.name, descriptor);
+            addIdentityComparison(with, property.type, changed);
+            with.loadThis()
+                    .returnValue(typeDescriptor)
+                    .mark(changed)
+                    .newObject(type)
+                    .op(DUP, 1);
+            for (PropertyModel argument : model.properties) {
+                if (argument == property) {
+                    with.load(descriptor, 1);
+
+                } else {
+                    with.loadThis()
+                            .getField(type, argument.name, descriptor(argument.type));
+                }
+            }
+            with.invoke(INVOKESPECIAL, type, CONSTRUCTOR, constructorDescriptor())
+                    .returnValue(typeDescriptor);
+        }
+    }
+
+    /**
+     * Fills a builder through its setters, as its fields are private.
+     */
+    private void addToBuilder(ClassFileWriter classFile) {
+        classFile.method(ACC_PUBLIC, "toBuilder", "()" + builderDescriptor, null)
+                .newObject(builderType)
+                .op(DUP, 1)
+                .invoke(INVOKESPECIAL, builderType, CONSTRUCTOR, "()V")
+                .store(builderDescriptor, 1)
+                .loadThis()
+                .load(builderDescriptor, 1)
+                .invoke(INVOKEVIRTUAL, type, "fillBuilder", "(" + builderDescriptor + ")V")
+                .load(builderDescriptor, 1)
+                .returnValue(builderDescriptor);
+
+        ClassFileWriter.Code fillBuilder = classFile.method(ACC_PROTECTED, "fillBuilder", "(" + builderDescriptor + ")V", null);
+        for (PropertyModel property : model.properties) {
+            fillBuilder.load(builderDescriptor, 1)
+                    .loadThis()
+                    .getField(type, property.name, descriptor(property.type))
+                    .invoke(INVOKEVIRTUAL, builderType, property.name, methodDescriptor(builderClassName, property.type))
+                    .op(POP, -1);
+        }
+        fillBuilder.returnValue("V");
+    }
+
+    /**
+     * The builder's constructor, {@code build()} and (if mutable) {@code fillInstance}, which calls the setters as the fields are private.
+     */
+    private void addBuilderMethods(ClassFileWriter builderFile) {
+        builderFile.method(ACC_PUBLIC, CONSTRUCTOR, "()V", null)
+                .loadThis()
+                .invoke(INVOKESPECIAL, OBJECT, CONSTRUCTOR, "()V")
+                .returnValue("V");
+
+        if (model.pojo.immutable()) {
+            ClassFileWriter.Code build = builderFile.method(ACC_PUBLIC, "build", "()" + typeDescriptor, null)
+                    .newObject(type)
+                    .op(DUP, 1);
+            for (PropertyModel property : model.properties) {
+                build.loadThis()
+                        .getField(builderType, property.name, descriptor(property.type));
+            }
+            build.invoke(INVOKESPECIAL, type, CONSTRUCTOR, constructorDescriptor())
+                    .returnValue(typeDescriptor);
+            return;
+        }
+
+        ClassFileWriter.Code fillInstance = builderFile.method(ACC_PROTECTED, "fillInstance", "(" + typeDescriptor + ")V", null);
+        for (PropertyModel property : model.properties) {
+            fillInstance.load(typeDescriptor, 1)
+                    .loadThis()
+                    .getField(builderType, property.name, descriptor(property.type))
+                    .invoke(INVOKEVIRTUAL, type, "set" + property.methodSuffix(), methodDescriptor(TypeName.VOID, property.type));
+        }
+        fillInstance.returnValue("V");
+
+        builderFile.method(ACC_PUBLIC, "build", "()" + typeDescriptor, null)
+                .newObject(type)
+                .op(DUP, 1)
+                .invoke(INVOKESPECIAL, type, CONSTRUCTOR, "()V")
+                .store(typeDescriptor, 1)
+                .loadThis()
+                .load(typeDescriptor, 1)
+                .invoke(INVOKEVIRTUAL, builderType, "fillInstance", "(" + typeDescriptor + ")V")
+                .load(typeDescriptor, 1)
+                .returnValue(typeDescriptor);
+    }
+
+    private TypeName[] parameterTypes() {
+        return model.properties.stream()
+                .map($ -> $.type)
+                .toArray(TypeName[]::new);
+    }
+
+    private String constructorDescriptor() {
+        return methodDescriptor(TypeName.VOID, parameterTypes());
+    }
+
+    private static boolean isDeepArray(TypeName type) {
+        return ((ArrayTypeName) type).componentType instanceof ArrayTypeName;
+    }
+
+    /**
+     * The parameter of the {@link java.util.Arrays} overload taking the given array: its own type if of primitives, or {@code Object[]}.
+     */
+    private static String arrayArgumentDescriptor(ArrayTypeName type) {
+        return type.componentType.isPrimitive() ? descriptor(type) : "[" + OBJECT_DESCRIPTOR;
+    }
+
+    private static ClassName rawType(TypeName type) {
+        return type instanceof ParameterizedTypeName ? ((ParameterizedTypeName) type).rawType : (ClassName) type;
+    }
+
+    static String internalName(TypeName type) {
+        ClassName name = (ClassName) type;
+        String simpleNames = String.join("$", name.simpleNames());
+
+        return name.packageName().isEmpty() ? simpleNames : name.packageName().replace('.', '/') + '/' + simpleNames;
+    }
+
+    private static String binaryName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    static String descriptor(TypeName type) {
+        if (type.isPrimitive() || type.equals(TypeName.VOID)) {
+            return type.equals(TypeName.BOOLEAN) ? "Z" : type.equals(TypeName.BYTE) ? "B" : type.equals(TypeName.SHORT) ? "S" :
+                    type.equals(TypeName.CHAR) ? "C" : type.equals(TypeName.INT) ? "I" : type.equals(TypeName.LONG) ? "J" :
+                            type.equals(TypeName.FLOAT) ? "F" : type.equals(TypeName.DOUBLE) ? "D" : "V";
+
+        } else if (type instanceof ArrayTypeName) {
+            return "[" + descriptor(((ArrayTypeName) type).componentType);
+        }
+        return "L" + internalName(rawType(type)) + ";";
+    }
+
+    /**
+     * The generic signature of the given type, or {@code null} if it's the same than its {@link #descriptor(TypeName)}.
+     */
+    static String signature(TypeName type) {
+        return isGeneric(type) ? genericSignature(type) : null;
+    }
+
+    private static boolean isGeneric(TypeName type) {
+        return type instanceof ParameterizedTypeName ||
+                type instanceof ArrayTypeName && isGeneric(((ArrayTypeName) type).componentType);
+    }
+
+    private static String genericSignature(TypeName type) {
+        if (type instanceof ParameterizedTypeName) {
+            ParameterizedTypeName ptName = (ParameterizedTypeName) type;
+            StringBuilder sb = new StringBuilder("L").append(internalName(ptName.rawType)).append('<');
+
+            for (TypeName argument : ptName.typeArguments) {
+                sb.append(genericSignature(argument));
+            }
+            return sb.append(">;").toString();
+
+        } else if (type instanceof WildcardTypeName) {
+            WildcardTypeName wildcard = (WildcardTypeName) type;
+
+            if (!wildcard.lowerBounds.isEmpty()) {
+                return "-" + genericSignature(wildcard.lowerBounds.get(0));
+            }
+            return wildcard.upperBounds.get(0).equals(TypeName.OBJECT) ? "*" : "+" + genericSignature(wildcard.upperBounds.get(0));
+
+        } else if (type instanceof ArrayTypeName) {
+            return "[" + genericSignature(((ArrayTypeName) type).componentType);
+        }
+        return descriptor(type);
+    }
+
+    private static String methodDescriptor(TypeName returnType, TypeName... parameterTypes) {
+        StringBuilder sb = new StringBuilder("(");
+        for (TypeName parameterType : parameterTypes) {
+            sb.append(descriptor(parameterType));
+        }
+        return sb.append(')').append(descriptor(returnType)).toString();
+    }
+
+    private static String methodSignature(TypeName returnType, TypeName... parameterTypes) {
+        boolean generic = isGeneric(returnType);
+        StringBuilder sb = new StringBuilder("(");
+
+        for (TypeName parameterType : parameterTypes) {
+            sb.append(genericSignature(parameterType));
+            generic |= isGeneric(parameterType);
+        }
+        return generic ? sb.append(')').append(genericSignature(returnType)).toString() : null;
+    }
+
+}
@@ -0,0 +1,158 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the {@code parse} methods of the generated enums: a {@code switch} on the length of the input, and then on the
+ * character which tells apart the most of the remaining constants, until a single one is left and its other characters are compared.
+ * So no input is hashed nor copied, and a miss returns {@code null} as soon as a character doesn't match.
+ */
+final class EnumHelper {
+
+    /**
+     * Parses the {@code CharSequence value}, comparing its UTF-16 {@code char}s.
+     */
+    public static CodeBlock parseChars(ClassName type, List<String> constants) {
+        List<Candidate> candidates = new ArrayList<>(constants.size());
+        for (String constant : constants) {
+            candidates.add(new Candidate(constant, constant.chars().toArray()));
+        }
+
+        return CodeBlock.builder()
+                .add("if (value == null) {\n$>return null;\n$<}\n")
+                .add(parse(type, candidates, "value.length()", i -> CodeBlock.of("value.charAt($L)", i), EnumHelper::charLiteral))
+                .build();
+    }
+
+    /**
+     * Parses the {@code length} bytes of {@code bytes} from {@code offset}, comparing them against the constants encoded as {@code UTF-8}.
+     */
+    public static CodeBlock parseBytes(ClassName type, List<String> constants) {
+        List<Candidate> candidates = new ArrayList<>(constants.size());
+        for (String constant : constants) {
+            byte[] bytes = constant.getBytes(StandardCharsets.UTF_8);
+            int[] units = new int[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                units[i] = bytes[i];
+            }
+            candidates.add(new Candidate(constant, units));
+        }
+
+        return parse(type, candidates, "length",
+                i -> i == 0 ? CodeBlock.of("bytes[offset]") : CodeBlock.of("bytes[offset + $L]", i), EnumHelper::byteLiteral);
+    }
+
+    private static CodeBlock parse(ClassName type, List<Candidate> candidates, String length,
+                                   IntFunction<CodeBlock> unit, IntFunction<CodeBlock> literal) {
+        Map<Integer, List<Candidate>> byLength = new TreeMap<>();
+        for (Candidate candidate : candidates) {
+            byLength.computeIfAbsent(candidate.units.length, $ -> new ArrayList<>()).add(candidate);
+        }
+
+        CodeBlock.Builder code = CodeBlock.builder()
+                .beginControlFlow("switch ($L)", length);
+        for (Map.Entry<Integer, List<Candidate>> entry : byLength.entrySet()) {
+            code.add("case $L:\n$>", entry.getKey());
+            if (!match(code, type, entry.getValue(), new HashSet<>(), unit, literal)) {
+                code.add("break;\n");
+            }
+            code.add("$<");
+        }
+        return code.endControlFlow()
+                .add("return null;\n")
+                .build();
+    }
+
+    /**
+     * Adds the code matching the given same length candidates, returning {@code true} if it always returns.
+     */
+    private static boolean match(CodeBlock.Builder code, ClassName type, List<Candidate> candidates, Set<Integer> matched,
+                                 IntFunction<CodeBlock> unit, IntFunction<CodeBlock> literal) {
+        if (candidates.size() == 1) {
+            Candidate candidate = candidates.get(0);
+            List<CodeBlock> conditions = new ArrayList<>();
+
+            for (int i = 0; i < candidate.units.length; i++) {
+                if (!matched.contains(i)) {
+                    conditions.add(CodeBlock.of("$L == $L", unit.apply(i), literal.apply(candidate.units[i])));
+                }
+            }
+            if (conditions.isEmpty()) {
+                code.add("return $T.$N;\n", type, candidate.name);
+                return true;
+            }
+            code.beginControlFlow("if ($L)", CodeBlock.join(conditions, " && "))
+                    .add("return $T.$N;\n", type, candidate.name)
+                    .endControlFlow();
+            return false;
+        }
+
+        // the position telling apart the most candidates
+        int position = -1;
+        int distinct = 0;
+        for (int i = 0; i < candidates.get(0).units.length; i++) {
+            if (!matched.contains(i)) {
+                Set<Integer> units = new HashSet<>();
+                for (Candidate candidate : candidates) {
+                    units.add(candidate.units[i]);
+                }
+                if (units.size() > distinct) {
+                    position = i;
+                    distinct = units.size();
+                }
+            }
+        }
+
+        Map<Integer, List<Candidate>> byUnit = new TreeMap<>();
+        for (Candidate candidate : candidates) {
+            byUnit.computeIfAbsent(candidate.units[position], $ -> new ArrayList<>()).add(candidate);
+        }
+
+        Set<Integer> nextMatched = new HashSet<>(matched);
+        nextMatched.add(position);
+
+        code.beginControlFlow("switch ($L)", unit.apply(position));
+        for (Map.Entry<Integer, List<Candidate>> entry : byUnit.entrySet()) {
+            code.add("case $L:\n$>", literal.apply(entry.getKey()));
+            if (!match(code, type, entry.getValue(), nextMatched, unit, literal)) {
+                code.add("break;\n");
+            }
+            code.add("$<");
+        }
+        code.endControlFlow();
+        return false;
+    }
+
+    private static CodeBlock charLiteral(int c) {
+        return c >= ' ' && c <= '~' && c != '\'' && c != '\\' ? CodeBlock.of("'$L'", (char) c) : CodeBlock.of("(char) 0x$L", Integer.toHexString(c));
+    }
+
+    private static CodeBlock byteLiteral(int b) {
+        return b >= ' ' && b <= '~' && b != '\'' && b != '\\' ? CodeBlock.of("'$L'", (char) b) : CodeBlock.of("(byte) 0x$L", Integer.toHexString(b & 0xFF));
+    }
+
+    private static final class Candidate {
+        final String name;
+        final int[] units;
+
+        Candidate(String name, int[] units) {
+            this.name = name;
+            this.units = units;
+        }
+
+    }
+
+    private EnumHelper() {
+    }
+
+}
@@ -0,0 +1,18 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ClassName;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
+public class EnumModel extends TypeModel {
+    public final List<String> constants;
+
+    EnumModel(ClassName name, List<Modifier> modifiers, List<String> constants) {
+        super(name, modifiers);
+        this.constants = Collections.unmodifiableList(constants);
+    }
+
+}
@@ -0,0 +1,499 @@
+package gs.autopojo.processor.tasks;
+
+import com.google.auto.common.MoreTypes;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeVariableName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+
+import gs.autopojo.ExtraAnnotation;
+import gs.autopojo.Lazy;
+import gs.autopojo.POJO;
+
+import static com.google.auto.common.MoreElements.asExecutable;
+import static com.google.auto.common.MoreElements.asType;
+import static com.google.auto.common.MoreElements.asVariable;
+import static com.google.auto.common.MoreElements.isType;
+import static com.google.auto.common.MoreTypes.isTypeOf;
+import static gs.autopojo.processor.tasks.ElementsHelper.getFieldInitExpression;
+
+/**
+ * Reads a {@link POJO} interface into a {@link POJOModel}.
+ * Must run on the compiler thread, as it is the only task touching javac's model.
+ *
+ * @see RoundCache#getModel(TypeElement)
+ */
+public class ExtractModelTask implements Callable<POJOModel> {
+    private final RoundCache cache;
+    private final Elements elements;
+    private final TypeElement element;
+
+    public ExtractModelTask(RoundCache cache, TypeElement element) {
+        this.cache = cache;
+        this.elements = cache.getElements();
+        this.element = element;
+    }
+
+    @Override
+    public POJOModel call() {
+        Consumer<Element> throwIfMissing = $ -> {
+            throw new IllegalArgumentException("Missing " + POJO.class + " annotation on " + $);
+        };
+
+        POJO pojo = cache.getPOJO(element);
+        if (pojo == null) {
+            throwIfMissing.accept(element);
+        }
+        for (Element parent = element.getEnclosingElement(); isType(parent); parent = parent.getEnclosingElement()) {
+            if (cache.getPOJO(parent) == null) {
+                throwIfMissing.accept(parent);
+            }
+        }
+
+        ClassName className = cache.getName(element);
+        List<TypeVariableName> classVariables = collectTypeVariables(element);
+        TypeName classType = classVariables.isEmpty() ? className :
+                ParameterizedTypeName.get(className, element.getTypeParameters().stream()
+                        .map($ -> TypeName.get($.asType()))
+                        .toArray(TypeName[]::new));
+
+        TypeElement classSuperElement = collectSuperElement();
+        if (pojo.immutable() && pojo.pooled()) {
+            throw new IllegalArgumentException("Immutable " + POJO.class + " can not be pooled on " + element);
+        }
+        if (pojo.immutable() && pojo.compact()) {
+            throw new IllegalArgumentException("Immutable " + POJO.class + " can not be compact on " + element);
+        }
+        if (pojo.immutable() && pojo.trackChanges()) {
+            throw new IllegalArgumentException("Immutable " + POJO.class + " can not track changes on " + element);
+        }
+        if (pojo.interned() && !pojo.immutable()) {
+            throw new IllegalArgumentException("Interned " + POJO.class + " must be immutable on " + element);
+        }
+        if (pojo.concurrent() && (pojo.immutable() || pojo.compact() || pojo.trackChanges())) {
+            throw new IllegalArgumentException("Concurrent " + POJO.class + " can not be immutable, compact nor track changes on " + element);
+        }
+        if (pojo.seqlock() && !pojo.concurrent()) {
+            throw new IllegalArgumentException("Seqlock " + POJO.class + " must be concurrent on " + element);
+        }
+        if (pojo.seqlock() && classSuperElement != null) {
+            throw new IllegalArgumentException("Seqlock " + POJO.class + " can not have a superclass on " + element);
+        }
+        if (classSuperElement != null) {
+            POJO superPOJO = cache.getPOJO(classSuperElement);
+
+            if (superPOJO.immutable() != pojo.immutable()) {
+                throw new IllegalArgumentException("Mixed immutable and mutable " + POJO.class + " hierarchy on " + element);
+            }
+            if (pojo.pooled() && !superPOJO.pooled()) {
+                throw new IllegalArgumentException("Pooled " + POJO.class + " with a not pooled superclass on " + element);
+            }
+            if (pojo.trackChanges() != superPOJO.trackChanges()) {
+                throw new IllegalArgumentException("Mixed tracking and not tracking changes " + POJO.class + " hierarchy on " + element);
+            }
+            if (pojo.concurrent() != superPOJO.concurrent()) {
+                throw new IllegalArgumentException("Mixed concurrent and not concurrent " + POJO.class + " hierarchy on " + element);
+            }
+            if (pojo.interned() && superPOJO.interned()) {
+                throw new IllegalArgumentException("Interned " + POJO.class + " with an interned superclass on " + element);
+            }
+        }
+        TypeName classSuper = classSuperElement == null ? null : cache.resolve(ClassName.get(classSuperElement));
+
+        List<PropertyModel> properties = new ArrayList<>();
+        List<LazyModel> lazyProperties = new ArrayList<>();
+        List<ConstantModel> constants = new ArrayList<>();
+        List<TypeModel> types = new ArrayList<>();
+        processElements(properties, lazyProperties, constants, types);
+
+        List<PropertyModel> superProperties = collectSuperProperties(classSuperElement, pojo.jsonCodec());
+        Map<String, TypeName> interfaceMethods = lazyProperties.isEmpty() ? Collections.emptyMap() :
+                collectInterfaceMethods(properties, superProperties, lazyProperties);
+
+        return new POJOModel(element, pojo, className, classType,
+                collectModifiers(element, Modifier.ABSTRACT),
+                classVariables,
+                collectAnnotations(element, ExtraAnnotation.ApplyOn.CLASS),
+                collectInterfaces(element),
+                classSuper,
+                cache.getTypes().isAssignable(element.asType(), elements.getTypeElement(Cloneable.class.getName()).asType()),
+                superProperties,
+                properties,
+                lazyProperties,
+                lazyProperties.isEmpty() ? null : TypeName.get(element.asType()),
+                interfaceMethods,
+                constants,
+                types);
+    }
+
+    private TypeElement collectSuperElement() {
+        TypeElement[] classSupers = Stream.concat(Stream.of(element.getSuperclass()), element.getInterfaces().stream())
+                .filter($ -> $.getKind() == TypeKind.DECLARED)
+                .map(MoreTypes::asTypeElement)
+                .filter($ -> cache.getPOJO($) != null)
+                .toArray(TypeElement[]::new);
+
+        switch (classSupers.length) {
+            case 0:
+                return null;
+
+            case 1:
+                return classSupers[0];
+
+            default:
+                throw new IllegalArgumentException("More than 1 " + POJO.class + " as superclass on " + element);
+        }
+    }
+
+    /**
+     * Properties of the superclass, without their annotations (but their {@link PropertyModel#serializedName} if needed).
+     */
+    private List<PropertyModel> collectSuperProperties(TypeElement classSuperElement, boolean serializedNames) {
+        if (classSuperElement == null) {
+            return Collections.emptyList();
+        }
+        return cache.getLocalAndInheritedMethods(classSuperElement).stream()
+                .filter($ -> $.getKind() == ElementKind.METHOD && $.getAnnotation(Lazy.class) == null)
+                .map($ -> {
+                    String name = $.getSimpleName().toString();
+                    Map<ClassName, POJO> argumentPOJOTypes = new HashMap<>();
+                    Set<ClassName> argumentEnumTypes = new HashSet<>();
+                    collectArgumentTypes($.getReturnType(), argumentPOJOTypes, argumentEnumTypes);
+
+                    return new PropertyModel(name, cache.resolve(TypeName.get($.getReturnType())),
+                            getPOJOType($.getReturnType()), countEnumConstants($.getReturnType()),
+                            argumentPOJOTypes, argumentEnumTypes,
+                            serializedNames ? getSerializedName(name, collectAnnotations($, ExtraAnnotation.ApplyOn.FIELD),
+                                    collectAnnotations($, ExtraAnnotation.ApplyOn.GETTER)) : name,
+                            Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void processElements(List<PropertyModel> properties, List<LazyModel> lazyProperties,
+                                 List<ConstantModel> constants, List<TypeModel> types) {
+        for (Element member : element.getEnclosedElements()) {
+            switch (member.getKind()) {
+                case METHOD:
+                    ExecutableElement method = (ExecutableElement) member;
+                    if (method.getParameters().isEmpty()) {
+                        if (method.getAnnotation(Lazy.class) != null) {
+                            lazyProperties.add(readLazy(method));
+
+                        } else {
+                            properties.add(readProperty(method));
+                        }
+                        continue;
+                    }
+                    break;
+
+                case FIELD:
+                    if (member.getModifiers().contains(Modifier.STATIC)) {
+                        constants.add(readConstant(asVariable(member)));
+                        continue;
+                    }
+                    break;
+
+                case ENUM:
+                    types.add(readEnum(asType(member)));
+                    continue;
+            }
+
+            if (isType(member)) {
+                types.add(cache.getModel(asType(member)));
+
+            } else {
+                throw new IllegalArgumentException("unsupported " + member.getKind() + ": " + member);
+            }
+        }
+    }
+
+    private PropertyModel readProperty(ExecutableElement member) {
+        String name = member.getSimpleName().toString();
+        List<AnnotationSpec> fieldAnnotations = collectAnnotations(member, ExtraAnnotation.ApplyOn.FIELD);
+        List<AnnotationSpec> getterAnnotations = collectAnnotations(member, ExtraAnnotation.ApplyOn.GETTER);
+        Map<ClassName, POJO> argumentPOJOTypes = new HashMap<>();
+        Set<ClassName> argumentEnumTypes = new HashSet<>();
+        collectArgumentTypes(member.getReturnType(), argumentPOJOTypes, argumentEnumTypes);
+
+        return new PropertyModel(
+                name,
+                cache.resolve(TypeName.get(member.getReturnType())),
+                getPOJOType(member.getReturnType()),
+                countEnumConstants(member.getReturnType()),
+                argumentPOJOTypes,
+                argumentEnumTypes,
+                getSerializedName(name, fieldAnnotations, getterAnnotations),
+                fieldAnnotations,
+                getterAnnotations,
+                collectAnnotations(member, ExtraAnnotation.ApplyOn.SETTER));
+    }
+
+    private LazyModel readLazy(ExecutableElement member) {
+        if (!member.getModifiers().contains(Modifier.DEFAULT)) {
+            throw new IllegalArgumentException("unsupported not default @" + Lazy.class.getSimpleName() + " method: " + member);
+        }
+
+        return new LazyModel(
+                member.getSimpleName().toString(),
+                TypeName.get(member.getReturnType()),
+                new HashSet<>(Arrays.asList(member.getAnnotation(Lazy.class).value())));
+    }
+
+    /**
+     * The methods the generated class must implement to run the {@link Lazy} ones' bodies, checking their dependencies along the way.
+     */
+    private Map<String, TypeName> collectInterfaceMethods(List<PropertyModel> properties, List<PropertyModel> superProperties,
+                                                          List<LazyModel> lazyProperties) {
+        Map<String, PropertyModel> byName = Stream.concat(properties.stream(), superProperties.stream())
+                .collect(Collectors.toMap($ -> $.name, $ -> $, (first, $) -> first));
+
+        for (LazyModel lazy : lazyProperties) {
+            for (String dependency : lazy.dependencies) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalArgumentException("Unknown @" + Lazy.class.getSimpleName() + " dependency '" + dependency + "' on " + element);
+                }
+            }
+        }
+
+        Map<String, TypeName> methods = new LinkedHashMap<>();
+        for (ExecutableElement method : cache.getLocalAndInheritedMethods(element)) {
+            if (method.getAnnotation(Lazy.class) != null || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+
+            } else if (!method.getParameters().isEmpty()) {
+                throw new IllegalArgumentException("unsupported @" + Lazy.class.getSimpleName() + " along with method: " + method);
+            }
+            String name = method.getSimpleName().toString();
+            TypeName type = TypeName.get(method.getReturnType());
+            PropertyModel property = byName.get(name);
+
+            // the lazy view implements the interface, so it must return the declared types (nested enums are bridged by ordinal)
+            if (property != null && !property.type.equals(type) && !property.enumType) {
+                throw new IllegalArgumentException("unsupported @" + Lazy.class.getSimpleName() + " along with property '" + name +
+                        "' of a generated type: " + method);
+            }
+            methods.put(name, type);
+        }
+        return methods;
+    }
+
+    private POJO getPOJOType(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED ? cache.getPOJO(MoreTypes.asTypeElement(type)) : null;
+    }
+
+    private int countEnumConstants(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED || MoreTypes.asTypeElement(type).getKind() != ElementKind.ENUM) {
+            return 0;
+        }
+        return (int) MoreTypes.asTypeElement(type).getEnclosedElements().stream()
+                .filter($ -> $.getKind() == ElementKind.ENUM_CONSTANT)
+                .count();
+    }
+
+    private void collectArgumentTypes(TypeMirror type, Map<ClassName, POJO> pojoTypes, Set<ClassName> enumTypes) {
+        switch (type.getKind()) {
+            case ARRAY:
+                collectArgumentType(MoreTypes.asArray(type).getComponentType(), pojoTypes, enumTypes);
+                break;
+
+            case DECLARED:
+                for (TypeMirror argument : MoreTypes.asDeclared(type).getTypeArguments()) {
+                    collectArgumentType(argument, pojoTypes, enumTypes);
+                }
+                break;
+
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                TypeMirror bound = wildcard.getExtendsBound() != null ? wildcard.getExtendsBound() : wildcard.getSuperBound();
+                if (bound != null) {
+                    collectArgumentType(bound, pojoTypes, enumTypes);
+                }
+                break;
+        }
+    }
+
+    private void collectArgumentType(TypeMirror type, Map<ClassName, POJO> pojoTypes, Set<ClassName> enumTypes) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            TypeElement typeElement = MoreTypes.asTypeElement(type);
+            POJO pojo = cache.getPOJO(typeElement);
+
+            if (pojo != null) {
+                pojoTypes.put(cache.resolve(ClassName.get(typeElement)), pojo);
+
+            } else if (typeElement.getKind() == ElementKind.ENUM) {
+                enumTypes.add(cache.resolve(ClassName.get(typeElement)));
+            }
+        }
+        collectArgumentTypes(type, pojoTypes, enumTypes);
+    }
+
+    @SafeVarargs
+    private static String getSerializedName(String name, List<AnnotationSpec>... annotations) {
+        for (List<AnnotationSpec> list : annotations) {
+            for (AnnotationSpec annotation : list) {
+                String simpleName = annotation.type instanceof ClassName ? ((ClassName) annotation.type).simpleName() : null;
+                List<CodeBlock> value = annotation.members.get("value");
+
+                if (("JsonProperty".equals(simpleName) || "SerializedName".equals(simpleName)) && value != null && value.size() == 1) {
+                    String literal = value.get(0).toString();
+
+                    if (literal.length() > 2 && literal.startsWith("\"") && literal.endsWith("\"")) {
+                        return unescapeJavaLiteral(literal.substring(1, literal.length() - 1));
+                    }
+                }
+            }
+        }
+        return name;
+    }
+
+    private static String unescapeJavaLiteral(String literal) {
+        StringBuilder sb = new StringBuilder(literal.length());
+
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+
+            if (c != '\\' || i + 1 >= literal.length()) {
+                sb.append(c);
+                continue;
+            }
+            char escaped = literal.charAt(++i);
+            switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(literal.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    sb.append(escaped);
+            }
+        }
+        return sb.toString();
+    }
+
+    private ConstantModel readConstant(VariableElement element) {
+        boolean delegate = cache.getPOJO(this.element).delegateConstants();
+        Object value = element.getConstantValue();
+        String initializer;
+        if (!delegate) {
+            initializer = getFieldInitExpression(elements, element);
+
+        } else {
+            // compile-time constants are inlined anyway, while the others are read from the interface
+            initializer = value != null ? elements.getConstantExpression(value) : null;
+        }
+
+        return new ConstantModel(
+                element.getSimpleName().toString(),
+                cache.resolve(TypeName.get(element.asType())),
+                collectModifiers(element),
+                initializer,
+                delegate && value == null ? ClassName.get(asType(element.getEnclosingElement())) : null);
+    }
+
+    private EnumModel readEnum(TypeElement element) {
+        List<String> constants = new ArrayList<>();
+
+        for (Element member : element.getEnclosedElements()) {
+            switch (member.getKind()) {
+                case CONSTRUCTOR:
+                    if (((ExecutableElement) member).getParameters().isEmpty()) {
+                        // skip default constructor
+                        continue;
+                    }
+
+                case ENUM_CONSTANT:
+                    constants.add(asVariable(member).getSimpleName().toString());
+                    break;
+
+                case METHOD:
+                    ExecutableElement method = asExecutable(member);
+                    if ((method.getSimpleName().contentEquals("values") && method.getParameters().isEmpty()) ||
+                            (method.getSimpleName().contentEquals("valueOf") && method.getParameters().size() == 1 && isTypeOf(String.class, method.getParameters().get(0).asType()))) {
+                        continue;
+                    }
+
+                default:
+                    throw new IllegalArgumentException("unsupported " + member.getKind() + ": " + member);
+
+            }
+        }
+
+        return new EnumModel(cache.getName(this.element).nestedClass(element.getSimpleName().toString()),
+                collectModifiers(element, Modifier.FINAL), constants);
+    }
+
+    private List<Modifier> collectModifiers(Element element, Modifier... ignore) {
+        List<Modifier> toIgnore = Arrays.asList(ignore);
+        return element.getModifiers().stream()
+                .filter($ -> !toIgnore.contains($))
+                .collect(Collectors.toList());
+    }
+
+    private List<TypeVariableName> collectTypeVariables(TypeElement element) {
+        return element.getTypeParameters().stream()
+                .map(TypeVariableName::get)
+                .map($ -> cache.resolve($))
+                .collect(Collectors.toList());
+    }
+
+    private List<AnnotationSpec> collectAnnotations(Element element, ExtraAnnotation.ApplyOn applyOn) {
+        long start = cache.getStats().start();
+        try {
+            return cache.getAnnotations(element, applyOn);
+
+        } finally {
+            cache.getStats().stop(ProcessingStats.Phase.ANNOTATIONS, start);
+        }
+    }
+
+    private List<TypeName> collectInterfaces(TypeElement element) {
+        // decided from the declared supertypes only, never from previously generated classes
+        return element.getInterfaces().stream()
+                .filter($ -> cache.getPOJO(MoreTypes.asTypeElement($)) == null)
+                .map($ -> cache.resolve(TypeName.get($)))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,349 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+
+/**
+ * Estimates the shallow size and field layout of the generated classes, the way HotSpot lays out instance fields on the given
+ * {@link LayoutModel}, with the instance size rounded up to {@value #OBJECT_ALIGNMENT} bytes.
+ * <p>
+ * Classes rendered on this round are read from their {@link TypeSpec}s, while any other (previously compiled) superclass
+ * from its {@link TypeElement}, so it must be used on the compiler thread.
+ */
+public class Footprint {
+    private static final int OBJECT_ALIGNMENT = 8;
+    private final Elements elements;
+    private final LayoutModel layoutModel;
+    private final boolean compressedOops;
+    private final int headerSize;
+    private final Map<ClassName, TypeSpec> generated = new HashMap<>();
+    private final Map<ClassName, Layout> layouts = new HashMap<>();
+
+    public Footprint(Elements elements, LayoutModel layoutModel, boolean compressedOops, int headerSize) {
+        this.elements = elements;
+        this.layoutModel = layoutModel;
+        this.compressedOops = compressedOops;
+        this.headerSize = headerSize;
+    }
+
+    /**
+     * Registers the given top-level class and its nested ones, so they can be estimated (or used as superclasses).
+     */
+    public void add(ClassName name, TypeSpec typeSpec) {
+        generated.put(name, typeSpec);
+        for (TypeSpec nested : typeSpec.typeSpecs) {
+            add(name.nestedClass(nested.name), nested);
+        }
+    }
+
+    /**
+     * The estimated layout of the given class, or {@code null} if it is neither registered nor known by javac.
+     */
+    public Layout layout(ClassName name) {
+        Layout layout = layouts.get(name);
+
+        if (layout == null && !layouts.containsKey(name)) {
+            layout = computeLayout(name);
+            layouts.put(name, layout);
+        }
+        return layout;
+    }
+
+    public String modelToJSON() {
+        return "{\"layout\":\"" + layoutModel.name().toLowerCase(Locale.ROOT) + "\",\"compressedOops\":" + compressedOops + ",\"headerSize\":" + headerSize + ",\"objectAlignment\":" + OBJECT_ALIGNMENT + '}';
+    }
+
+    private Layout computeLayout(ClassName name) {
+        ClassName superName;
+        List<Field> fields = new ArrayList<>();
+
+        TypeSpec typeSpec = generated.get(name);
+        if (typeSpec != null) {
+            superName = typeSpec.superclass instanceof ParameterizedTypeName ? ((ParameterizedTypeName) typeSpec.superclass).rawType :
+                    typeSpec.superclass instanceof ClassName ? (ClassName) typeSpec.superclass : null;
+
+            for (FieldSpec field : typeSpec.fieldSpecs) {
+                if (!field.hasModifier(Modifier.STATIC)) {
+                    fields.add(new Field(name, field.name, field.type));
+                }
+            }
+
+        } else {
+            TypeElement element = elements.getTypeElement(name.toString());
+            if (element == null) {
+                return null;
+            }
+
+            superName = element.getSuperclass().getKind() == TypeKind.DECLARED ?
+                    ClassName.get((TypeElement) ((DeclaredType) element.getSuperclass()).asElement()) : null;
+
+            for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    fields.add(new Field(name, field.getSimpleName().toString(), TypeName.get(field.asType())));
+                }
+            }
+        }
+
+        Layout superLayout = superName == null || superName.equals(TypeName.OBJECT) ? null : layout(superName);
+        List<Field> slots = new ArrayList<>();
+        List<int[]> gaps = new ArrayList<>();
+        if (superLayout != null) {
+            slots.addAll(superLayout.fields);
+            for (int[] gap : superLayout.gaps) {
+                gaps.add(gap.clone());
+            }
+
+        } else {
+            gaps.add(new int[]{headerSize, Integer.MAX_VALUE});
+        }
+
+        if (layoutModel == LayoutModel.JDK15) {
+            // primitives from the largest to the smallest, then references (a stable sort keeps the declaration order)
+            fields.sort(Comparator.comparingInt((Field $) -> $.type.isPrimitive() ? -sizeOf($.type) : 0));
+            for (Field field : fields) {
+                field.size = sizeOf(field.type);
+                place(field, gaps);
+            }
+
+        } else {
+            placeLegacy(fields, gaps);
+        }
+        slots.addAll(fields);
+        slots.sort(Comparator.comparingInt($ -> $.offset));
+
+        int end = headerSize;
+        for (Field field : slots) {
+            end = Math.max(end, field.offset + field.size);
+        }
+        return new Layout(name, superLayout, slots, gaps, headerSize, align(end, OBJECT_ALIGNMENT));
+    }
+
+    private int sizeOf(TypeName type) {
+        if (type.equals(TypeName.LONG) || type.equals(TypeName.DOUBLE)) {
+            return 8;
+
+        } else if (type.equals(TypeName.INT) || type.equals(TypeName.FLOAT)) {
+            return 4;
+
+        } else if (type.equals(TypeName.SHORT) || type.equals(TypeName.CHAR)) {
+            return 2;
+
+        } else if (type.equals(TypeName.BYTE) || type.equals(TypeName.BOOLEAN)) {
+            return 1;
+        }
+        return compressedOops ? 4 : 8;
+    }
+
+    private static void place(Field field, List<int[]> gaps) {
+        for (int i = 0; i < gaps.size(); i++) {
+            int[] gap = gaps.get(i);
+            int offset = align(gap[0], field.size);
+
+            if (offset + field.size <= gap[1]) {
+                field.offset = offset;
+
+                // splits the gap around the field, keeping its unused space before and after it
+                gaps.remove(i);
+                if (offset + field.size < gap[1]) {
+                    gaps.add(i, new int[]{offset + field.size, gap[1]});
+                }
+                if (gap[0] < offset) {
+                    gaps.add(i, new int[]{gap[0], offset});
+                }
+                return;
+            }
+        }
+        throw new IllegalStateException("No room for " + field.name);
+    }
+
+    /**
+     * Places the fields after the superclass ones (the only gap kept by the legacy layout), grouped as longs and doubles, ints and
+     * floats, shorts and chars, bytes and booleans and then references, each group in declaration order. When the longs are not
+     * aligned to 8 bytes, the gap before them takes an int, or else shorts and bytes, or else a reference.
+     */
+    private void placeLegacy(List<Field> fields, List<int[]> gaps) {
+        List<Field> longs = new ArrayList<>();
+        List<Field> ints = new ArrayList<>();
+        List<Field> shorts = new ArrayList<>();
+        List<Field> bytes = new ArrayList<>();
+        List<Field> references = new ArrayList<>();
+        for (Field field : fields) {
+            field.size = sizeOf(field.type);
+            (!field.type.isPrimitive() ? references : field.size == 8 ? longs : field.size == 4 ? ints : field.size == 2 ? shorts : bytes)
+                    .add(field);
+        }
+
+        int offset = gaps.get(gaps.size() - 1)[0];
+        if (!longs.isEmpty() && offset % 8 != 0) {
+            int gapEnd = align(offset, 8);
+
+            offset = pack(ints, offset, gapEnd);
+            offset = pack(shorts, offset, gapEnd);
+            offset = pack(bytes, offset, gapEnd);
+            pack(references, offset, gapEnd);
+            offset = gapEnd;
+        }
+        offset = pack(longs, offset, Integer.MAX_VALUE);
+        offset = pack(ints, offset, Integer.MAX_VALUE);
+        offset = pack(shorts, offset, Integer.MAX_VALUE);
+        offset = pack(bytes, offset, Integer.MAX_VALUE);
+        offset = align(offset, sizeOf(TypeName.OBJECT));
+        offset = pack(references, offset, Integer.MAX_VALUE);
+
+        // a subclass starts after the fields, rounded up to the reference size
+        gaps.clear();
+        gaps.add(new int[]{align(offset, sizeOf(TypeName.OBJECT)), Integer.MAX_VALUE});
+    }
+
+    /**
+     * Places the group's leading fields one after the other from the given offset while they fit before {@code end}.
+     */
+    private static int pack(List<Field> group, int offset, int end) {
+        while (!group.isEmpty() && offset + group.get(0).size <= end) {
+            Field field = group.remove(0);
+            field.offset = offset;
+            offset += field.size;
+        }
+        return offset;
+    }
+
+    private static int align(int offset, int alignment) {
+        return (offset + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * The HotSpot field layout algorithm to estimate with.
+     */
+    public enum LayoutModel {
+
+        /**
+         * JDK 8 to 14: each class's fields are grouped by size after its superclass ones, whose gaps are never reused.
+         */
+        JDK8,
+
+        /**
+         * JDK 15 onwards: primitives from the largest to the smallest, then references, each one on the first gap aligned to its
+         * size (gaps left by the header or by a superclass included).
+         */
+        JDK15
+
+    }
+
+    public static final class Layout {
+        public final ClassName name;
+        public final Layout superLayout;
+        public final List<Field> fields;
+        public final int headerSize;
+        public final int instanceSize;
+        private final List<int[]> gaps;
+
+        Layout(ClassName name, Layout superLayout, List<Field> fields, List<int[]> gaps, int headerSize, int instanceSize) {
+            this.name = name;
+            this.superLayout = superLayout;
+            this.fields = Collections.unmodifiableList(fields);
+            this.gaps = gaps;
+            this.headerSize = headerSize;
+            this.instanceSize = instanceSize;
+        }
+
+        /**
+         * The bytes not used by the header nor by any field, alignment padding included.
+         */
+        public int lostBytes() {
+            int lost = instanceSize - headerSize;
+            for (Field field : fields) {
+                lost -= field.size;
+            }
+            return lost;
+        }
+
+        public String toJSON() {
+            StringBuilder sb = new StringBuilder()
+                    .append("{\"class\":\"").append(name)
+                    .append("\",\"superclass\":").append(superLayout != null ? "\"" + superLayout.name + "\"" : "null")
+                    .append(",\"instanceSize\":").append(instanceSize)
+                    .append(",\"lostBytes\":").append(lostBytes())
+                    .append(",\"fields\":[");
+
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                sb.append(i > 0 ? "," : "")
+                        .append("{\"name\":\"").append(field.name)
+                        .append("\",\"declaringClass\":\"").append(field.declaringClass)
+                        .append("\",\"type\":\"").append(field.type)
+                        .append("\",\"offset\":").append(field.offset)
+                        .append(",\"size\":").append(field.size).append('}');
+            }
+            return sb.append("]}").toString();
+        }
+
+        /**
+         * A table of offsets, like the one printed by JOL.
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder()
+                    .append(String.format(Locale.ROOT, "%s: %d bytes (%d lost)\n", name, instanceSize, lostBytes()))
+                    .append(String.format(Locale.ROOT, "%8s %6s  %s\n", "OFFSET", "SIZE", "FIELD"))
+                    .append(String.format(Locale.ROOT, "%8d %6d  %s\n", 0, headerSize, "(object header)"));
+
+            int end = headerSize;
+            for (Field field : fields) {
+                if (end < field.offset) {
+                    sb.append(String.format(Locale.ROOT, "%8d %6d  %s\n", end, field.offset - end, "(gap)"));
+                }
+                sb.append(String.format(Locale.ROOT, "%8d %6d  %s %s.%s\n", field.offset, field.size,
+                        field.type, String.join(".", field.declaringClass.simpleNames()), field.name));
+                end = Math.max(end, field.offset + field.size);
+            }
+            if (end < instanceSize) {
+                sb.append(String.format(Locale.ROOT, "%8d %6d  %s\n", end, instanceSize - end, "(alignment)"));
+            }
+            return sb.toString();
+        }
+
+    }
+
+    public static final class Field {
+        public final ClassName declaringClass;
+        public final String name;
+        public final TypeName type;
+        private int offset;
+        private int size;
+
+        Field(ClassName declaringClass, String name, TypeName type) {
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.type = type;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+    }
+
+}
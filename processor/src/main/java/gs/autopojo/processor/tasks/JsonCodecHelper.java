@@ -0,0 +1,184 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.WildcardTypeName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import gs.autopojo.POJO;
+import gs.autopojo.json.Json;
+
+/**
+ * Builds the code writing and reading each property of a {@code jsonCodec} {@link POJO}.
+ * Overloads of {@link Json#write} are picked by {@code javac}, while readers are chosen here.
+ * Lists and maps are handled recursively, with lambdas named after their depth.
+ */
+final class JsonCodecHelper {
+    private static final ClassName LIST = ClassName.get(List.class);
+    private static final ClassName MAP = ClassName.get(Map.class);
+    private static final ClassName STRING = ClassName.get(String.class);
+
+    static CodeBlock write(PropertyModel property, CodeBlock value) {
+        return CodeBlock.of("$L;\n", write(property, property.type, true, CodeBlock.of("out"), value, 0));
+    }
+
+    private static CodeBlock write(PropertyModel property, TypeName type, boolean top, CodeBlock out, CodeBlock value, int depth) {
+        if (isRaw(type, LIST)) {
+            return CodeBlock.of("$T.writeList($L, $L, $L)", Json.class, out, value, writer(property, typeArgument(property, type, 0), depth + 1));
+
+        } else if (isRaw(type, MAP)) {
+            keyParser(property, typeArgument(property, type, 0));
+            return CodeBlock.of("$T.writeMap($L, $L, $L)", Json.class, out, value, writer(property, typeArgument(property, type, 1), depth + 1));
+        }
+        checkSupported(property, type, top);
+        return CodeBlock.of("$T.write($L, $L)", Json.class, out, value);
+    }
+
+    private static CodeBlock writer(PropertyModel property, TypeName type, int depth) {
+        if (isRaw(type, LIST) || isRaw(type, MAP)) {
+            CodeBlock out = CodeBlock.of("out$L", depth);
+            CodeBlock value = CodeBlock.of("value$L", depth);
+
+            return CodeBlock.of("($L, $L) -> $L", out, value, write(property, type, false, out, value, depth));
+        }
+        checkSupported(property, type, false);
+        return CodeBlock.of("$T::write", Json.class);
+    }
+
+    /**
+     * Reads the given property from a {@code reader}, using the given {@code values()} copies for enums.
+     */
+    static CodeBlock read(PropertyModel property, Function<TypeName, String> enumValuesField) {
+        return read(property, property.type, true, CodeBlock.of("reader"), 0, enumValuesField);
+    }
+
+    private static CodeBlock read(PropertyModel property, TypeName type, boolean top, CodeBlock reader, int depth,
+                                  Function<TypeName, String> enumValuesField) {
+        if (isRaw(type, LIST)) {
+            CodeBlock elementReader = CodeBlock.of("reader$L", depth + 1);
+
+            return CodeBlock.of("$L.nextList($L -> $L)", reader, elementReader,
+                    read(property, typeArgument(property, type, 0), false, elementReader, depth + 1, enumValuesField));
+
+        } else if (isRaw(type, MAP)) {
+            CodeBlock valueReader = CodeBlock.of("reader$L", depth + 1);
+
+            return CodeBlock.of("$L.nextMap($L, $L -> $L)", reader, keyParser(property, typeArgument(property, type, 0)), valueReader,
+                    read(property, typeArgument(property, type, 1), false, valueReader, depth + 1, enumValuesField));
+
+        } else if (type.isPrimitive()) {
+            if (type.equals(TypeName.BOOLEAN)) {
+                return CodeBlock.of("$L.nextBoolean()", reader);
+
+            } else if (type.equals(TypeName.BYTE) || type.equals(TypeName.SHORT)) {
+                return CodeBlock.of("($T) $L.nextInt()", type, reader);
+
+            } else if (type.equals(TypeName.INT)) {
+                return CodeBlock.of("$L.nextInt()", reader);
+
+            } else if (type.equals(TypeName.LONG)) {
+                return CodeBlock.of("$L.nextLong()", reader);
+
+            } else if (type.equals(TypeName.CHAR)) {
+                return CodeBlock.of("$L.nextChar()", reader);
+
+            } else if (type.equals(TypeName.FLOAT)) {
+                return CodeBlock.of("(float) $L.nextDouble()", reader);
+            }
+            return CodeBlock.of("$L.nextDouble()", reader);
+
+        } else if (type.isBoxedPrimitive()) {
+            return CodeBlock.of("$1L.nextNull() ? null : $2L", reader, read(property, type.unbox(), false, reader, depth, enumValuesField));
+
+        } else if (type.equals(STRING)) {
+            return CodeBlock.of("$L.nextString()", reader);
+
+        } else if (type.equals(ArrayTypeName.of(TypeName.INT))) {
+            return CodeBlock.of("$L.nextIntArray()", reader);
+
+        } else if (type.equals(ArrayTypeName.of(TypeName.LONG))) {
+            return CodeBlock.of("$L.nextLongArray()", reader);
+
+        } else if (type.equals(ArrayTypeName.of(TypeName.DOUBLE))) {
+            return CodeBlock.of("$L.nextDoubleArray()", reader);
+
+        } else if (isEnum(property, type, top)) {
+            return CodeBlock.of("$L.nextEnum($N)", reader, enumValuesField.apply(type));
+
+        } else if (isPOJO(property, type, top)) {
+            return CodeBlock.of("$T.readJson($L)", rawType(type), reader);
+        }
+        throw unsupported(property);
+    }
+
+    private static CodeBlock keyParser(PropertyModel property, TypeName type) {
+        if (type.equals(STRING)) {
+            return CodeBlock.of("$T.identity()", Function.class);
+
+        } else if (type.equals(TypeName.INT.box()) || type.equals(TypeName.LONG.box()) || isEnum(property, type, false)) {
+            return CodeBlock.of("$T::valueOf", type);
+        }
+        throw unsupported(property);
+    }
+
+    private static void checkSupported(PropertyModel property, TypeName type, boolean top) {
+        if (!type.isPrimitive() && !type.isBoxedPrimitive() && !type.equals(STRING) &&
+                !type.equals(ArrayTypeName.of(TypeName.INT)) &&
+                !type.equals(ArrayTypeName.of(TypeName.LONG)) &&
+                !type.equals(ArrayTypeName.of(TypeName.DOUBLE)) &&
+                !isEnum(property, type, top) && !isPOJO(property, type, top)) {
+            throw unsupported(property);
+        }
+    }
+
+    private static boolean isEnum(PropertyModel property, TypeName type, boolean top) {
+        return top ? property.enumType : property.argumentEnumTypes.contains(rawType(type));
+    }
+
+    private static boolean isPOJO(PropertyModel property, TypeName type, boolean top) {
+        POJO pojo = top ? property.pojoType : property.argumentPOJOTypes.get(rawType(type));
+        return pojo != null && pojo.jsonCodec();
+    }
+
+    private static boolean isRaw(TypeName type, ClassName rawType) {
+        return type instanceof ParameterizedTypeName && ((ParameterizedTypeName) type).rawType.equals(rawType);
+    }
+
+    private static ClassName rawType(TypeName type) {
+        if (type instanceof ParameterizedTypeName) {
+            return ((ParameterizedTypeName) type).rawType;
+        }
+        return type instanceof ClassName ? (ClassName) type : null;
+    }
+
+    /**
+     * The type argument at the given index, being the upper bound of an {@code ? extends} wildcard.
+     */
+    private static TypeName typeArgument(PropertyModel property, TypeName type, int index) {
+        TypeName argument = ((ParameterizedTypeName) type).typeArguments.get(index);
+
+        if (argument instanceof WildcardTypeName) {
+            WildcardTypeName wildcard = (WildcardTypeName) argument;
+
+            if (!wildcard.lowerBounds.isEmpty() || wildcard.upperBounds.get(0).equals(TypeName.OBJECT)) {
+                throw unsupported(property);
+            }
+            return wildcard.upperBounds.get(0);
+        }
+        return argument;
+    }
+
+    private static IllegalArgumentException unsupported(PropertyModel property) {
+        return new IllegalArgumentException("unsupported jsonCodec property type: " + property.type + " " + property.name);
+    }
+
+    private JsonCodecHelper() {
+    }
+
+}
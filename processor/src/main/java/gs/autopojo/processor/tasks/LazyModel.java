@@ -0,0 +1,33 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.TypeName;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A {@link gs.autopojo.Lazy} {@code default} method, computed from the properties it depends on.
+ */
+public class LazyModel {
+    public final String name;
+    public final TypeName type;
+    public final Set<String> dependencies;
+
+    LazyModel(String name, TypeName type, Set<String> dependencies) {
+        this.name = name;
+        this.type = type;
+        this.dependencies = Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * If the given property is one of its {@link #dependencies}, or any of them if none was given.
+     */
+    boolean dependsOn(String property) {
+        return dependencies.isEmpty() || dependencies.contains(property);
+    }
+
+    String methodSuffix() {
+        return name.substring(0, 1).toUpperCase() + name.substring(1);
+    }
+
+}
@@ -7,33 +7,32 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeVariableName;
 import com.squareup.javapoet.WildcardTypeName;
 
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.lang.model.element.TypeElement;
-import javax.lang.model.util.Elements;
 
 import gs.autopojo.POJO;
 
 import static com.google.auto.common.MoreElements.asType;
 import static com.google.auto.common.MoreElements.getPackage;
 import static com.google.auto.common.MoreElements.isType;
-import static gs.autopojo.processor.tasks.POJOHelper.getPOJO;
 
 final class NamesHelper {
     private static final String SUFFIX_POJO = "POJO";
 
-    public static ClassName getName(Elements elements, TypeElement element) {
+    public static ClassName getName(RoundCache cache, TypeElement element) {
         if (element == null) {
             return null;
         }
 
         ClassName parent = isType(element.getEnclosingElement()) ?
-                getName(elements, asType(element.getEnclosingElement())) : null;
+                cache.getName(asType(element.getEnclosingElement())) : null;
 
-        POJO pojo = getPOJO(elements, element);
+        POJO pojo = cache.getPOJO(element);
         String name = pojo == null ? "" : pojo.value();
-        if (name.matches("\\s*")) {
+        if (name.trim().isEmpty()) {
             name = getDefaultName(element, parent == null && pojo != null);
         }
 
@@ -58,40 +57,70 @@ final class NamesHelper {
                         .collect(Collectors.joining("."));
     }
 
+    /**
+     * The {@code UPPER_SNAKE_CASE} form of the given {@code camelCase} name.
+     */
+    public static String constantName(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    /**
+     * The raw type of the given one, as used on class literals and casts: type variables erase to their first bound.
+     */
+    public static TypeName erasure(TypeName type) {
+        if (type instanceof ParameterizedTypeName) {
+            return ((ParameterizedTypeName) type).rawType;
+
+        } else if (type instanceof ArrayTypeName) {
+            return ArrayTypeName.of(erasure(((ArrayTypeName) type).componentType));
+
+        } else if (type instanceof TypeVariableName) {
+            List<TypeName> bounds = ((TypeVariableName) type).bounds;
+            return bounds.isEmpty() ? TypeName.OBJECT : erasure(bounds.get(0));
+        }
+        return type;
+    }
+
+    public static <T extends TypeName> T resolve(RoundCache cache, T name) {
+        return resolve(cache, name, false);
+    }
+
     @SuppressWarnings("unchecked")
-    public static <T extends TypeName> T resolve(Elements elements, T name) {
+    private static <T extends TypeName> T resolve(RoundCache cache, T name, boolean inBounds) {
         if (name instanceof ClassName) {
-            String qualifiedName = getQualifiedName((ClassName) name);
-            TypeElement element = elements.getTypeElement(qualifiedName);
-            return (T) getName(elements, element);
+            return (T) cache.resolveClassName((ClassName) name);
 
         } else if (name instanceof TypeVariableName) {
             TypeVariableName tvName = (TypeVariableName) name;
+            if (inBounds) {
+                // only declarations print their bounds, which also breaks recursive ones like 'T extends Comparable<T>'
+                return (T) TypeVariableName.get(tvName.name);
+            }
 
             return (T) TypeVariableName.get(tvName.name, tvName.bounds.stream()
-                    .map($ -> resolve(elements, $))
+                    .map($ -> resolve(cache, $, true))
                     .toArray(TypeName[]::new));
 
         } else if (name instanceof WildcardTypeName) {
             WildcardTypeName wName = (WildcardTypeName) name;
 
             return (T) (wName.lowerBounds.isEmpty() ?
-                    WildcardTypeName.subtypeOf(resolve(elements, wName.upperBounds.get(0))) :
-                    WildcardTypeName.supertypeOf(resolve(elements, wName.lowerBounds.get(0))));
+                    WildcardTypeName.subtypeOf(resolve(cache, wName.upperBounds.get(0), inBounds)) :
+                    WildcardTypeName.supertypeOf(resolve(cache, wName.lowerBounds.get(0), inBounds)));
 
         } else if (name instanceof ParameterizedTypeName) {
             ParameterizedTypeName ptName = (ParameterizedTypeName) name;
 
             return (T) ParameterizedTypeName.get(
-                    resolve(elements, ptName.rawType),
+                    resolve(cache, ptName.rawType, inBounds),
                     ptName.typeArguments.stream()
-                            .map($ -> resolve(elements, $))
+                            .map($ -> resolve(cache, $, inBounds))
                             .toArray(TypeName[]::new));
 
         } else if (name instanceof ArrayTypeName) {
             ArrayTypeName aName = (ArrayTypeName) name;
 
-            return (T) ArrayTypeName.of(resolve(elements, aName.componentType));
+            return (T) ArrayTypeName.of(resolve(cache, aName.componentType, inBounds));
         }
         return name;
     }
@@ -1,7 +1,8 @@
 package gs.autopojo.processor.tasks;
 
+import java.util.List;
 import java.util.Objects;
-import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.lang.model.element.AnnotationMirror;
@@ -16,23 +17,24 @@ import static com.google.auto.common.MoreTypes.isTypeOf;
 final class POJOHelper {
 
     public static POJO getPOJO(Elements elements, Element element) {
-        Supplier<Stream<Element>> annotations = () -> elements.getAllAnnotationMirrors(element).stream()
+        List<Element> annotations = elements.getAllAnnotationMirrors(element).stream()
                 .map(AnnotationMirror::getAnnotationType)
-                .map(DeclaredType::asElement);
+                .map(DeclaredType::asElement)
+                .collect(Collectors.toList());
 
-        return Stream.concat(Stream.of(element), annotations.get())
+        return Stream.concat(Stream.of(element), annotations.stream())
                 .map($ -> $.getAnnotation(POJO.class))
                 .filter(Objects::nonNull)
                 .findFirst()
-                .map(pojo -> annotations.get() // computes 'builder' value override
+                .<POJO>map(pojo -> new POJOImpl(pojo, annotations.stream() // computes values overrides, but 'value'
                         .flatMap($ -> $.getAnnotationMirrors().stream())
                         .filter($ -> isTypeOf(POJO.class, $.getAnnotationType()))
                         .flatMap($ -> $.getElementValues().entrySet().stream())
-                        .filter($ -> $.getKey().getSimpleName().contentEquals("builder"))
-                        .map($ -> (Boolean) $.getValue().getValue())
-                        .<POJO>map($ -> new POJOImpl(pojo.value(), $))
-                        .findFirst()
-                        .orElse(pojo))
+                        .filter($ -> !$.getKey().getSimpleName().contentEquals("value"))
+                        .collect(Collectors.toMap(
+                                $ -> $.getKey().getSimpleName().toString(),
+                                $ -> $.getValue().getValue(),
+                                (first, $) -> first))))
                 .orElse(null);
     }
 
@@ -1,16 +1,49 @@
 package gs.autopojo.processor.tasks;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
 
 import gs.autopojo.POJO;
 
 class POJOImpl implements POJO {
     private final String value;
     private final boolean builder;
+    private final boolean immutable;
+    private final boolean pooled;
+    private final boolean primitiveCollections;
+    private final boolean binaryCodec;
+    private final boolean jsonCodec;
+    private final boolean propertyTable;
+    private final boolean flyweight;
+    private final boolean compact;
+    private final boolean trackChanges;
+    private final boolean concurrent;
+    private final boolean seqlock;
+    private final boolean columns;
+    private final boolean cacheHashCode;
+    private final boolean interned;
+    private final int internedMaxSize;
+    private final boolean delegateConstants;
 
-    POJOImpl(String value, boolean builder) {
-        this.value = value;
-        this.builder = builder;
+    POJOImpl(POJO pojo, Map<String, Object> overrides) {
+        this.value = pojo.value();
+        this.builder = (Boolean) overrides.getOrDefault("builder", pojo.builder());
+        this.immutable = (Boolean) overrides.getOrDefault("immutable", pojo.immutable());
+        this.pooled = (Boolean) overrides.getOrDefault("pooled", pojo.pooled());
+        this.primitiveCollections = (Boolean) overrides.getOrDefault("primitiveCollections", pojo.primitiveCollections());
+        this.binaryCodec = (Boolean) overrides.getOrDefault("binaryCodec", pojo.binaryCodec());
+        this.jsonCodec = (Boolean) overrides.getOrDefault("jsonCodec", pojo.jsonCodec());
+        this.propertyTable = (Boolean) overrides.getOrDefault("propertyTable", pojo.propertyTable());
+        this.flyweight = (Boolean) overrides.getOrDefault("flyweight", pojo.flyweight());
+        this.compact = (Boolean) overrides.getOrDefault("compact", pojo.compact());
+        this.trackChanges = (Boolean) overrides.getOrDefault("trackChanges", pojo.trackChanges());
+        this.concurrent = (Boolean) overrides.getOrDefault("concurrent", pojo.concurrent());
+        this.seqlock = (Boolean) overrides.getOrDefault("seqlock", pojo.seqlock());
+        this.columns = (Boolean) overrides.getOrDefault("columns", pojo.columns());
+        this.cacheHashCode = (Boolean) overrides.getOrDefault("cacheHashCode", pojo.cacheHashCode());
+        this.interned = (Boolean) overrides.getOrDefault("interned", pojo.interned());
+        this.internedMaxSize = (Integer) overrides.getOrDefault("internedMaxSize", pojo.internedMaxSize());
+        this.delegateConstants = (Boolean) overrides.getOrDefault("delegateConstants", pojo.delegateConstants());
     }
 
     @Override
@@ -23,6 +56,86 @@ class POJOImpl implements POJO {
         return builder;
     }
 
+    @Override
+    public boolean immutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean pooled() {
+        return pooled;
+    }
+
+    @Override
+    public boolean primitiveCollections() {
+        return primitiveCollections;
+    }
+
+    @Override
+    public boolean binaryCodec() {
+        return binaryCodec;
+    }
+
+    @Override
+    public boolean jsonCodec() {
+        return jsonCodec;
+    }
+
+    @Override
+    public boolean propertyTable() {
+        return propertyTable;
+    }
+
+    @Override
+    public boolean flyweight() {
+        return flyweight;
+    }
+
+    @Override
+    public boolean columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean compact() {
+        return compact;
+    }
+
+    @Override
+    public boolean trackChanges() {
+        return trackChanges;
+    }
+
+    @Override
+    public boolean concurrent() {
+        return concurrent;
+    }
+
+    @Override
+    public boolean seqlock() {
+        return seqlock;
+    }
+
+    @Override
+    public boolean cacheHashCode() {
+        return cacheHashCode;
+    }
+
+    @Override
+    public boolean interned() {
+        return interned;
+    }
+
+    @Override
+    public int internedMaxSize() {
+        return internedMaxSize;
+    }
+
+    @Override
+    public boolean delegateConstants() {
+        return delegateConstants;
+    }
+
     @Override
     public Class<? extends Annotation> annotationType() {
         return POJO.class;
@@ -0,0 +1,66 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeVariableName;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+import gs.autopojo.POJO;
+
+/**
+ * A {@link POJO} interface as read on the compiler thread. Besides {@link #element},
+ * which is only kept to be reported as originating element, it does not reference javac's model,
+ * so it can be safely turned into code on any thread.
+ */
+public class POJOModel extends TypeModel {
+    public final TypeElement element;
+    public final POJO pojo;
+    public final TypeName type;
+    public final List<TypeVariableName> typeVariables;
+    public final List<AnnotationSpec> annotations;
+    public final List<TypeName> interfaces;
+    public final TypeName superType;
+    public final boolean cloneable;
+    public final List<PropertyModel> superProperties;
+    public final List<PropertyModel> properties;
+    public final List<LazyModel> lazyProperties;
+    /**
+     * The interface itself and its non {@link LazyModel lazy} methods (with their declared return types), when it has lazy ones.
+     */
+    public final TypeName interfaceType;
+    public final Map<String, TypeName> interfaceMethods;
+    public final List<ConstantModel> constants;
+    public final List<TypeModel> types;
+
+    POJOModel(TypeElement element, POJO pojo, ClassName name, TypeName type, List<Modifier> modifiers,
+              List<TypeVariableName> typeVariables, List<AnnotationSpec> annotations, List<TypeName> interfaces,
+              TypeName superType, boolean cloneable, List<PropertyModel> superProperties,
+              List<PropertyModel> properties, List<LazyModel> lazyProperties,
+              TypeName interfaceType, Map<String, TypeName> interfaceMethods,
+              List<ConstantModel> constants, List<TypeModel> types) {
+        super(name, modifiers);
+        this.element = element;
+        this.pojo = pojo;
+        this.type = type;
+        this.typeVariables = Collections.unmodifiableList(typeVariables);
+        this.annotations = Collections.unmodifiableList(annotations);
+        this.interfaces = Collections.unmodifiableList(interfaces);
+        this.superType = superType;
+        this.cloneable = cloneable;
+        this.superProperties = Collections.unmodifiableList(superProperties);
+        this.properties = Collections.unmodifiableList(properties);
+        this.lazyProperties = Collections.unmodifiableList(lazyProperties);
+        this.interfaceType = interfaceType;
+        this.interfaceMethods = Collections.unmodifiableMap(interfaceMethods);
+        this.constants = Collections.unmodifiableList(constants);
+        this.types = Collections.unmodifiableList(types);
+    }
+
+}
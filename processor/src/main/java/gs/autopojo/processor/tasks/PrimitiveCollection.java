@@ -0,0 +1,97 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.WildcardTypeName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+import gs.autopojo.collections.DoubleList;
+import gs.autopojo.collections.IntList;
+import gs.autopojo.collections.IntObjectMap;
+import gs.autopojo.collections.LongList;
+import gs.autopojo.collections.LongObjectMap;
+
+/**
+ * A {@code List} or {@code Map} property type that can be backed by a {@code gs.autopojo.collections} container.
+ */
+final class PrimitiveCollection {
+    private static final ClassName LIST = ClassName.get(List.class);
+    private static final ClassName MAP = ClassName.get(Map.class);
+
+    final ClassName container;
+    final TypeName containerType;
+    final TypeName primitive;
+    final TypeName valueType;
+    final TypeName consumerType;
+    final String getMethod;
+    final String forEachMethod;
+
+    private PrimitiveCollection(ClassName container, TypeName containerType, TypeName primitive, TypeName valueType,
+                                TypeName consumerType, String getMethod, String forEachMethod) {
+        this.container = container;
+        this.containerType = containerType;
+        this.primitive = primitive;
+        this.valueType = valueType;
+        this.consumerType = consumerType;
+        this.getMethod = getMethod;
+        this.forEachMethod = forEachMethod;
+    }
+
+    boolean isMap() {
+        return valueType != null;
+    }
+
+    /**
+     * Returns the container for the given type, or {@code null} if it has none.
+     */
+    static PrimitiveCollection of(TypeName type) {
+        if (!(type instanceof ParameterizedTypeName)) {
+            return null;
+        }
+
+        ParameterizedTypeName ptName = (ParameterizedTypeName) type;
+        TypeName first = ptName.typeArguments.get(0);
+        if (ptName.rawType.equals(LIST)) {
+            if (first.equals(TypeName.INT.box())) {
+                return list(IntList.class, TypeName.INT, IntConsumer.class, "Int");
+
+            } else if (first.equals(TypeName.LONG.box())) {
+                return list(LongList.class, TypeName.LONG, LongConsumer.class, "Long");
+
+            } else if (first.equals(TypeName.DOUBLE.box())) {
+                return list(DoubleList.class, TypeName.DOUBLE, DoubleConsumer.class, "Double");
+            }
+
+        } else if (ptName.rawType.equals(MAP) && !(ptName.typeArguments.get(1) instanceof WildcardTypeName)) {
+            TypeName value = ptName.typeArguments.get(1);
+
+            if (first.equals(TypeName.INT.box())) {
+                return map(IntObjectMap.class, TypeName.INT, value, ObjIntConsumer.class);
+
+            } else if (first.equals(TypeName.LONG.box())) {
+                return map(LongObjectMap.class, TypeName.LONG, value, ObjLongConsumer.class);
+            }
+        }
+        return null;
+    }
+
+    private static PrimitiveCollection list(Class<?> container, TypeName primitive, Class<?> consumer, String suffix) {
+        return new PrimitiveCollection(ClassName.get(container), ClassName.get(container), primitive, null,
+                ClassName.get(consumer), "get" + suffix, "forEach" + suffix);
+    }
+
+    private static PrimitiveCollection map(Class<?> container, TypeName primitive, TypeName value, Class<?> consumer) {
+        return new PrimitiveCollection(ClassName.get(container), ParameterizedTypeName.get(ClassName.get(container), value),
+                primitive, value, ParameterizedTypeName.get(ClassName.get(consumer), WildcardTypeName.supertypeOf(value)),
+                "get", "forEachEntry");
+    }
+
+}
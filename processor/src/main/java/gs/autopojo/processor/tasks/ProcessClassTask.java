@@ -1,7 +1,7 @@
 package gs.autopojo.processor.tasks;
 
-import com.google.auto.common.MoreTypes;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -9,246 +9,260 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
-import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
-import javax.lang.model.element.AnnotationMirror;
-import javax.lang.model.element.Element;
-import javax.lang.model.element.ElementKind;
-import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
-import javax.lang.model.element.TypeElement;
-import javax.lang.model.element.VariableElement;
-import javax.lang.model.type.DeclaredType;
-import javax.lang.model.type.TypeKind;
-import javax.lang.model.type.TypeMirror;
-import javax.lang.model.util.Elements;
-import javax.lang.model.util.Types;
-
-import gs.autopojo.ExtraAnnotation;
-import gs.autopojo.ExtraAnnotations;
-import gs.autopojo.POJO;
-
-import static com.google.auto.common.MoreElements.asExecutable;
-import static com.google.auto.common.MoreElements.asType;
-import static com.google.auto.common.MoreElements.asVariable;
-import static com.google.auto.common.MoreElements.getLocalAndInheritedMethods;
-import static com.google.auto.common.MoreElements.isType;
-import static com.google.auto.common.MoreTypes.isTypeOf;
-import static gs.autopojo.processor.tasks.ElementsHelper.coerceAnnotation;
-import static gs.autopojo.processor.tasks.ElementsHelper.getFieldInitExpression;
-import static gs.autopojo.processor.tasks.ElementsHelper.getIndirectAnnotations;
-import static gs.autopojo.processor.tasks.ElementsHelper.isOrHasAnnotation;
-import static gs.autopojo.processor.tasks.ElementsHelper.targetsAnnotationOnly;
-import static gs.autopojo.processor.tasks.NamesHelper.getName;
-import static gs.autopojo.processor.tasks.NamesHelper.getQualifiedName;
-import static gs.autopojo.processor.tasks.NamesHelper.resolve;
-import static gs.autopojo.processor.tasks.POJOHelper.getPOJO;
 
+import gs.autopojo.codec.BinaryWritable;
+import gs.autopojo.intern.Interner;
+import gs.autopojo.json.Json;
+import gs.autopojo.json.JsonReader;
+import gs.autopojo.json.JsonWritable;
+
+/**
+ * Turns a {@link POJOModel} into its {@link TypeSpec}s. It does not touch javac's model,
+ * so it can run outside the compiler thread.
+ */
 public class ProcessClassTask implements Callable<POJOClass> {
-    private final Types types;
-    private final Elements elements;
-    private final TypeElement element;
-    private final POJO pojo;
-    private ClassName className;
-    private TypeName classType;
-    private TypeName classSuper;
-    private TypeElement classSuperElement;
+    private static final String FIELD_CACHED_HASH_CODE = "cachedHashCode";
+    private static final String FIELD_JSON_NAMES = "JSON_NAMES";
+    private static final String FIELD_DIRTY_MASK = "dirtyMask";
+    private static final String FIELD_WRITE_SEQUENCE = "writeSequence";
+    private static final String FIELD_INTERNER = "INTERNER";
+    private final POJOModel model;
+    private final CompactLayout compact;
     private TypeSpec.Builder classSpec;
-    private List<TypeVariableName> classVariables;
+    private final Map<String, TypeName> enumValuesFields = new HashMap<>();
     private ClassName builderClassName;
     private TypeSpec.Builder builderSpec;
     private CodeBlock.Builder builderFillInstance;
 
-    public ProcessClassTask(Types types, Elements elements, TypeElement element) {
-        this.types = types;
-        this.elements = elements;
-        this.element = element;
-        this.pojo = getPOJO(elements, element);
+    public ProcessClassTask(POJOModel model) {
+        this.model = model;
+        this.compact = model.pojo.compact() ? new CompactLayout(model.properties) : null;
     }
 
     @Override
     public POJOClass call() {
-        Consumer<Element> throwIfMissing = $ -> {
-            throw new IllegalArgumentException("Missing " + POJO.class + " annotation on " + $);
-        };
+        buildClassSpec();
+        buildBuilderClassSpec();
 
-        if (pojo == null) {
-            throwIfMissing.accept(element);
+        processElements();
+        addValueMethods();
+
+        if (!model.lazyProperties.isEmpty()) {
+            addLazyProperties();
         }
-        for (Element parent = element.getEnclosingElement(); isType(parent); parent = parent.getEnclosingElement()) {
-            if (getPOJO(elements, parent) == null) {
-                throwIfMissing.accept(parent);
-            }
+        if (model.pojo.seqlock()) {
+            addSeqlock();
         }
 
-        className = getName(elements, element);
-        buildClassSpec();
-        buildBuilderClassSpec();
+        if (model.pojo.immutable()) {
+            addConstructor();
 
-        processElements();
+        } else {
+            addCopyConstructor();
+        }
+        addWithMethods();
+        if (builderSpec != null) {
+            addToBuilder();
+        }
+        if (model.cloneable) {
+            addClone();
+        }
+        if (model.pojo.interned()) {
+            addInterning();
+        }
+        if (model.pojo.pooled()) {
+            addPooling();
+        }
+        if (model.pojo.binaryCodec()) {
+            addBinaryCodec();
+        }
+        if (model.pojo.jsonCodec()) {
+            addJsonCodec();
+        }
+        if (model.pojo.propertyTable()) {
+            classSpec.addType(PropertyTableHelper.build(model));
+        }
+        if (model.pojo.flyweight()) {
+            addFlyweight();
+        }
+        if (model.pojo.columns()) {
+            classSpec.addType(ColumnsHelper.build(model, this::enumValuesField));
+        }
+        if (model.pojo.trackChanges()) {
+            addChangeTracking();
+        }
 
         if (builderSpec != null) {
-            classSpec.addType(builderSpec
-                    .addMethod(MethodSpec.methodBuilder("fillInstance")
-                            .addModifiers(Modifier.PROTECTED)
-                            .addParameter(classType, "instance")
-                            .addCode(builderFillInstance.build())
-                            .build())
-                    .addMethod(MethodSpec.methodBuilder("build")
-                            .addModifiers(Modifier.PUBLIC)
-                            .returns(classType)
-                            .addCode("$1T instance = new $1T();\nfillInstance(instance);\nreturn instance;\n", classType)
-                            .build())
-                    .build());
+            if (model.pojo.immutable()) {
+                builderSpec.addMethod(MethodSpec.methodBuilder("build")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(model.type)
+                        .addCode("return new $T($L);\n", model.type, constructorArguments(null,
+                                $ -> CodeBlock.of("$N()", $.name), $ -> CodeBlock.of("$N", $.name)))
+                        .build());
+
+            } else {
+                builderSpec
+                        .addMethod(MethodSpec.methodBuilder("fillInstance")
+                                .addModifiers(Modifier.PROTECTED)
+                                .addParameter(model.type, "instance")
+                                .addCode(builderFillInstance.build())
+                                .build())
+                        .addMethod(MethodSpec.methodBuilder("build")
+                                .addModifiers(Modifier.PUBLIC)
+                                .returns(model.type)
+                                .addCode("$1T instance = new $1T();\nfillInstance(instance);\nreturn instance;\n", model.type)
+                                .build());
+            }
+            classSpec.addType(builderSpec.build());
         }
-        return new POJOClass(className, element, classSpec);
+        return new POJOClass(model.name, model.element, classSpec);
     }
 
     private void buildClassSpec() {
-        classVariables = collectTypeVariables(element);
-
-        classSpec = TypeSpec.classBuilder(className)
-                .addOriginatingElement(element)
-                .addModifiers(collectModifiers(element, Modifier.ABSTRACT))
-                .addAnnotations(collectAnnotations(element, ExtraAnnotation.ApplyOn.CLASS))
-                .addTypeVariables(classVariables)
-                .addSuperinterfaces(collectInterfaces(element));
-
-        classType = classVariables.isEmpty() ? className :
-                ParameterizedTypeName.get(className, element.getTypeParameters().stream()
-                        .map($ -> TypeName.get($.asType()))
-                        .toArray(TypeName[]::new));
-
-        TypeElement[] classSupers = Stream.concat(Stream.of(element.getSuperclass()), element.getInterfaces().stream())
-                .filter($ -> $.getKind() == TypeKind.DECLARED)
-                .map(MoreTypes::asTypeElement)
-                .filter($ -> getPOJO(elements, $) != null)
-                .toArray(TypeElement[]::new);
-
-        switch (classSupers.length) {
-            case 0:
-                break;
+        classSpec = TypeSpec.classBuilder(model.name)
+                .addOriginatingElement(model.element)
+                .addModifiers(model.modifiers())
+                .addAnnotations(model.annotations)
+                .addTypeVariables(model.typeVariables)
+                .addSuperinterfaces(model.interfaces);
 
-            case 1:
-                classSuperElement = classSupers[0];
-                classSpec.superclass(classSuper = resolve(elements, ClassName.get(classSuperElement)));
-                break;
-
-            default:
-                throw new IllegalArgumentException("More than 1 " + POJO.class + " as superclass on " + element);
+        if (model.superType != null) {
+            classSpec.superclass(model.superType);
         }
     }
 
     private void buildBuilderClassSpec() {
-        if (pojo.builder()) {
-            builderClassName = className.nestedClass("Builder");
+        if (model.pojo.builder()) {
+            builderClassName = model.name.nestedClass("Builder");
             builderSpec = TypeSpec.classBuilder(builderClassName.simpleName())
-                    .addOriginatingElement(element)
+                    .addOriginatingElement(model.element)
                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                    .addTypeVariables(classVariables);
+                    .addTypeVariables(model.typeVariables);
             builderFillInstance = CodeBlock.builder();
 
-            if (classSuper != null) {
-                builderFillInstance.add("super.fillInstance(instance);\n");
-
-                TypeName superClass;
-                if (classSuper instanceof ParameterizedTypeName) {
-                    ParameterizedTypeName ptName = (ParameterizedTypeName) classSuper;
-
-                    superClass = ParameterizedTypeName.get(
-                            ptName.rawType.nestedClass(builderClassName.simpleName()),
-                            ptName.typeArguments.toArray(new TypeName[ptName.typeArguments.size()]));
-                } else {
-                    superClass = ((ClassName) classSuper).nestedClass(builderClassName.simpleName());
+            if (model.superType != null) {
+                if (!model.pojo.immutable()) {
+                    builderFillInstance.add("super.fillInstance(instance);\n");
                 }
-                builderSpec.superclass(superClass);
+
+                builderSpec.superclass(superNestedClass(builderClassName.simpleName()));
 
                 // adds superclass overrides
-                getLocalAndInheritedMethods(classSuperElement, types, elements).stream()
-                        .filter($ -> $.getKind() == ElementKind.METHOD)
-                        .map($ -> {
-                            String name = $.getSimpleName().toString();
-                            TypeName typeName = TypeName.get($.getReturnType());
-
-                            return MethodSpec.methodBuilder(name)
-                                    .addModifiers(Modifier.PUBLIC)
-                                    .addAnnotation(Override.class)
-                                    .addParameter(typeName, name)
-                                    .returns(builderClassName)
-                                    .addCode("super.$1N($1N);\nreturn this;\n", name)
-                                    .build();
-                        })
-                        .forEachOrdered(builderSpec::addMethod);
+                for (PropertyModel property : model.superProperties) {
+                    builderSpec.addMethod(MethodSpec.methodBuilder(property.name)
+                            .addModifiers(Modifier.PUBLIC)
+                            .addAnnotation(Override.class)
+                            .addParameter(property.type, property.name)
+                            .returns(builderClassName)
+                            .addCode("super.$1N($1N);\nreturn this;\n", property.name)
+                            .build());
+                }
             }
         }
     }
 
+    /**
+     * The given nested class of the superclass, with its same type arguments.
+     */
+    private TypeName superNestedClass(String simpleName) {
+        if (model.superType instanceof ParameterizedTypeName) {
+            ParameterizedTypeName ptName = (ParameterizedTypeName) model.superType;
+
+            return ParameterizedTypeName.get(
+                    ptName.rawType.nestedClass(simpleName),
+                    ptName.typeArguments.toArray(new TypeName[ptName.typeArguments.size()]));
+        }
+        return ((ClassName) model.superType).nestedClass(simpleName);
+    }
+
     private void processElements() {
-        Modifier[] modifiers = collectModifiers(element, Modifier.ABSTRACT, Modifier.STATIC);
-
-        for (Element member : element.getEnclosedElements()) {
-            String name = member.getSimpleName().toString();
-
-            switch (member.getKind()) {
-                case METHOD:
-                    ExecutableElement method = (ExecutableElement) member;
-                    if (method.getParameters().isEmpty()) {
-                        addField(member, name, modifiers, method.getReturnType());
-                        continue;
-                    }
-                    break;
-
-                case FIELD:
-                    if (member.getModifiers().contains(Modifier.STATIC)) {
-                        addConstant(asVariable(member));
-                        continue;
-                    }
-                    break;
-
-                case ENUM:
-                    addEnum(asType(member));
-                    continue;
-            }
+        Modifier[] modifiers = model.modifiers(Modifier.STATIC);
 
-            if (isType(member)) {
-                // TODO fork this?
-                classSpec.addType(new ProcessClassTask(types, this.elements, asType(member)).call().typeSpec.build());
+        for (PropertyModel property : model.properties) {
+            if (isCompact(property)) {
+                addCompactField(property, modifiers);
 
             } else {
-                throw new IllegalArgumentException("unsupported " + member.getKind() + ": " + member);
+                addField(property, modifiers);
             }
         }
-    }
+        if (compact != null) {
+            addCompactStorage();
+        }
+        for (ConstantModel constant : model.constants) {
+            addConstant(constant);
+        }
+        for (TypeModel type : model.types) {
+            if (type instanceof EnumModel) {
+                addEnum((EnumModel) type);
 
-    private void addField(Element member, String name, Modifier[] modifiers, TypeMirror type) {
-        final String methodSuffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+            } else {
+                classSpec.addType(new ProcessClassTask((POJOModel) type).call().typeSpec.build());
+            }
+        }
+    }
 
-        TypeName typeName = resolve(elements, TypeName.get(type));
+    private void addField(PropertyModel property, Modifier[] modifiers) {
+        final String name = property.name;
+        final String methodSuffix = property.methodSuffix();
+        final TypeName typeName = property.type;
+        final PrimitiveCollection collection = getPrimitiveCollection(property);
+        final TypeName fieldTypeName = collection != null ? collection.containerType : typeName;
 
         classSpec
-                .addField(FieldSpec.builder(typeName, name, Modifier.PRIVATE)
-                        .addAnnotations(collectAnnotations(member, ExtraAnnotation.ApplyOn.FIELD))
+                .addField(FieldSpec.builder(fieldTypeName, name, model.pojo.immutable() ?
+                        new Modifier[]{Modifier.PRIVATE, Modifier.FINAL} : model.pojo.concurrent() ?
+                        new Modifier[]{Modifier.PRIVATE, Modifier.VOLATILE} : new Modifier[]{Modifier.PRIVATE})
+                        .addAnnotations(property.fieldAnnotations)
                         .build())
                 .addMethod(MethodSpec.methodBuilder("get" + methodSuffix)
                         .addModifiers(modifiers)
-                        .addAnnotations(collectAnnotations(member, ExtraAnnotation.ApplyOn.GETTER))
+                        .addAnnotations(property.getterAnnotations)
                         .returns(typeName)
                         .addCode("return $N;\n", name)
-                        .build())
-                .addMethod(MethodSpec.methodBuilder("set" + methodSuffix)
-                        .addModifiers(modifiers)
-                        .addAnnotations(collectAnnotations(member, ExtraAnnotation.ApplyOn.SETTER))
-                        .addParameter(typeName, name)
-                        .addCode("this.$1N = $1N;\n", name)
                         .build());
 
+        if (!model.pojo.immutable()) {
+            classSpec.addMethod(MethodSpec.methodBuilder("set" + methodSuffix)
+                    .addModifiers(modifiers)
+                    .addAnnotations(property.setterAnnotations)
+                    .addParameter(typeName, name)
+                    .addCode(guardWrite(CodeBlock.of("this.$N = $L;\n", name, fieldValue(property))))
+                    .addCode(invalidateLazies(property))
+                    .addCode(markDirty(property))
+                    .addCode(resetCachedHashCode())
+                    .build());
+        }
+
+        if (collection != null) {
+            addPrimitiveAccessors(property, collection, modifiers);
+
+        } else if (model.pojo.concurrent()) {
+            addAtomicAccessors(property, modifiers);
+        }
+
         if (builderSpec != null) {
             builderSpec
                     .addField(FieldSpec.builder(typeName, name, Modifier.PRIVATE)
@@ -265,129 +279,1325 @@ public class ProcessClassTask implements Callable<POJOClass> {
                             .addCode("this.$1N = $1N;\nreturn this;\n", name)
                             .build());
 
-            builderFillInstance.add("instance.$1N = $1N;\n", name);
+            if (!model.pojo.immutable()) {
+                builderFillInstance.add("instance.$N = $L;\n", name, fieldValue(property));
+            }
         }
     }
 
-    private void addConstant(VariableElement element) {
-        TypeName typeName = resolve(elements, TypeName.get(element.asType()));
-        String name = element.getSimpleName().toString();
-        Object value = getFieldInitExpression(elements, element);
+    private boolean isCompact(PropertyModel property) {
+        return compact != null && compact.contains(property);
+    }
+
+    private void addCompactField(PropertyModel property, Modifier[] modifiers) {
+        final String name = property.name;
+        final String methodSuffix = property.methodSuffix();
+        final TypeName typeName = property.type;
+        final CodeBlock get = compact.get(property, enumValuesField(property));
+        final CodeBlock set = compact.set(property);
 
-        classSpec.addField(FieldSpec.builder(typeName, name, collectModifiers(element))
-                .initializer("$L", value)
+        classSpec
+                .addMethod(MethodSpec.methodBuilder("get" + methodSuffix)
+                        .addModifiers(modifiers)
+                        .addAnnotations(property.getterAnnotations)
+                        .returns(typeName)
+                        .addCode(get)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("set" + methodSuffix)
+                        .addModifiers(modifiers)
+                        .addAnnotations(property.setterAnnotations)
+                        .addParameter(typeName, name)
+                        .addCode(set)
+                        .addCode(invalidateLazies(property))
+                        .addCode(markDirty(property))
+                        .addCode(resetCachedHashCode())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("has" + methodSuffix)
+                        .addModifiers(modifiers)
+                        .returns(TypeName.BOOLEAN)
+                        .addCode(compact.has(property))
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("clear" + methodSuffix)
+                        .addModifiers(modifiers)
+                        .addCode(compact.clear(property))
+                        .addCode(invalidateLazies(property))
+                        .addCode(markDirty(property))
+                        .addCode(resetCachedHashCode())
+                        .build());
+
+        if (builderSpec != null) {
+            builderSpec
+                    .addMethod(MethodSpec.methodBuilder(name)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(typeName)
+                            .addCode(get)
+                            .build())
+                    .addMethod(MethodSpec.methodBuilder(name)
+                            .addModifiers(Modifier.PUBLIC)
+                            .addParameter(typeName, name)
+                            .returns(builderClassName)
+                            .addCode(set)
+                            .addCode("return this;\n")
+                            .build());
+        }
+    }
+
+    /**
+     * The fields and words of the {@link CompactLayout}, which the builder shares so it's copied field by field and word by word.
+     */
+    private void addCompactStorage() {
+        classSpec.addFields(compact.fields());
+
+        if (builderSpec != null) {
+            builderSpec.addFields(compact.fields());
+
+            for (FieldSpec field : compact.fields()) {
+                builderFillInstance.add("instance.$1N = $1N;\n", field.name);
+            }
+        }
+    }
+
+    /**
+     * How to read an own property from this class' code: its field, or its getter when {@link CompactLayout compact}.
+     * The field is qualified, as the generated methods' parameters and locals (like {@code sb} or {@code out}) may hide it.
+     */
+    private CodeBlock ownValue(PropertyModel property) {
+        return isCompact(property) ? CodeBlock.of("get$L()", property.methodSuffix()) : CodeBlock.of("this.$N", property.name);
+    }
+
+    /**
+     * The fields holding the state of the own properties, compared by {@code equals} and cleared by {@code reset}.
+     */
+    private List<FieldSpec> storedFields() {
+        List<FieldSpec> fields = new ArrayList<>();
+
+        for (PropertyModel property : model.properties) {
+            if (!isCompact(property)) {
+                fields.add(FieldSpec.builder(property.type, property.name).build());
+
+            } else if (compact.fieldType(property) != null) {
+                fields.add(FieldSpec.builder(compact.fieldType(property), property.name).build());
+            }
+        }
+        if (compact != null) {
+            for (String word : compact.words()) {
+                fields.add(FieldSpec.builder(TypeName.LONG, word).build());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Atomic accessors through a field updater, for {@code int}, {@code long} and (not boxed) reference properties.
+     */
+    private void addAtomicAccessors(PropertyModel property, Modifier[] modifiers) {
+        final String name = property.name;
+        final String methodSuffix = property.methodSuffix();
+        final TypeName typeName = property.type;
+        final String updater = NamesHelper.constantName(name) + "_UPDATER";
+        final boolean numeric = typeName.equals(TypeName.INT) || typeName.equals(TypeName.LONG);
+        final CodeBlock invalidate = CodeBlock.builder()
+                .add(invalidateLazies(property))
+                .add(resetCachedHashCode())
+                .build();
+
+        if (typeName.equals(TypeName.INT)) {
+            classSpec.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(AtomicIntegerFieldUpdater.class), model.name),
+                    updater, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.newUpdater($T.class, $S)", AtomicIntegerFieldUpdater.class, model.name, name)
+                    .build());
+
+        } else if (typeName.equals(TypeName.LONG)) {
+            classSpec.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(AtomicLongFieldUpdater.class), model.name),
+                    updater, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.newUpdater($T.class, $S)", AtomicLongFieldUpdater.class, model.name, name)
+                    .build());
+
+        } else if (!typeName.isPrimitive() && !typeName.isBoxedPrimitive()) {
+            TypeName erasure = NamesHelper.erasure(typeName);
+
+            classSpec.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(AtomicReferenceFieldUpdater.class), model.name, erasure),
+                    updater, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.newUpdater($T.class, $T.class, $S)", AtomicReferenceFieldUpdater.class, model.name, erasure, name)
+                    .build());
+
+        } else {
+            return;
+        }
+
+        if (!model.pojo.seqlock()) {
+            // a sequence locked write can not be just ordered
+            classSpec.addMethod(MethodSpec.methodBuilder("lazySet" + methodSuffix)
+                    .addModifiers(modifiers)
+                    .addParameter(typeName, name)
+                    .addCode("$N.lazySet(this, $N);\n", updater, name)
+                    .addCode(invalidate)
+                    .build());
+        }
+        classSpec.addMethod(MethodSpec.methodBuilder("compareAndSet" + methodSuffix)
+                .addModifiers(modifiers)
+                .addParameter(typeName, "expect")
+                .addParameter(typeName, "update")
+                .returns(TypeName.BOOLEAN)
+                .addCode(atomicUpdate(TypeName.BOOLEAN, CodeBlock.of("$N.compareAndSet(this, expect, update)", updater), invalidate))
                 .build());
+
+        if (numeric) {
+            classSpec.addMethod(MethodSpec.methodBuilder("getAndAdd" + methodSuffix)
+                    .addModifiers(modifiers)
+                    .addParameter(typeName, "delta")
+                    .returns(typeName)
+                    .addCode(atomicUpdate(typeName, CodeBlock.of("$N.getAndAdd(this, delta)", updater), invalidate))
+                    .build());
+        }
     }
 
-    private void addEnum(TypeElement element) {
-        TypeSpec.Builder enumSpec = TypeSpec.enumBuilder(element.getSimpleName().toString())
-                .addOriginatingElement(element)
-                .addModifiers(collectModifiers(element, Modifier.FINAL));
+    private CodeBlock atomicUpdate(TypeName type, CodeBlock update, CodeBlock invalidate) {
+        if (invalidate.isEmpty()) {
+            return guardWrite(CodeBlock.of("return $L;\n", update));
+        }
+        return CodeBlock.builder()
+                .add("$T result;\n", type)
+                .add(guardWrite(CodeBlock.of("result = $L;\n", update)))
+                .add(invalidate)
+                .add("return result;\n")
+                .build();
+    }
 
-        for (Element member : element.getEnclosedElements()) {
-            switch (member.getKind()) {
-                case CONSTRUCTOR:
-                    if (((ExecutableElement) member).getParameters().isEmpty()) {
-                        // skip default constructor
-                        continue;
-                    }
+    /**
+     * Wraps the given write on the sequence lock, if any.
+     */
+    private CodeBlock guardWrite(CodeBlock write) {
+        if (!model.pojo.seqlock()) {
+            return write;
+        }
+        return CodeBlock.builder()
+                .add("beginWrite();\n")
+                .beginControlFlow("try")
+                .add(write)
+                .nextControlFlow("finally")
+                .add("endWrite();\n")
+                .endControlFlow()
+                .build();
+    }
 
-                case ENUM_CONSTANT:
-                    enumSpec.addEnumConstant(asVariable(member).getSimpleName().toString());
-                    break;
+    /**
+     * A sequence lock: writers make {@link #FIELD_WRITE_SEQUENCE} odd while writing (the {@code CAS} also excluding other writers),
+     * and readers retry until they read the same even sequence before and after reading the fields.
+     * As all fields are {@code volatile}, those reads can not be reordered outside of the sequence reads.
+     */
+    private void addSeqlock() {
+        String updater = NamesHelper.constantName(FIELD_WRITE_SEQUENCE);
+        CodeBlock.Builder copy = CodeBlock.builder();
+        CodeBlock.Builder write = CodeBlock.builder();
+        CodeBlock.Builder invalidate = CodeBlock.builder();
 
-                case METHOD:
-                    ExecutableElement method = asExecutable(member);
-                    if ((method.getSimpleName().contentEquals("values") && method.getParameters().isEmpty()) ||
-                            (method.getSimpleName().contentEquals("valueOf") && method.getParameters().size() == 1 && isTypeOf(String.class, method.getParameters().get(0).asType()))) {
-                        continue;
-                    }
+        for (PropertyModel property : model.properties) {
+            copy.add("copy.$1N = this.$1N;\n", property.name);
+            write.add("this.$1N = values.$1N;\n", property.name);
+        }
+        for (LazyModel lazy : model.lazyProperties) {
+            invalidate.add("$N = false;\n", lazyComputedField(lazy));
+        }
+        invalidate.add(resetCachedHashCode());
 
-                default:
-                    throw new IllegalArgumentException("unsupported " + member.getKind() + ": " + member);
+        classSpec
+                .addField(FieldSpec.builder(TypeName.INT, FIELD_WRITE_SEQUENCE, Modifier.PRIVATE, Modifier.TRANSIENT, Modifier.VOLATILE)
+                        .build())
+                .addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(AtomicIntegerFieldUpdater.class), model.name),
+                        updater, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.newUpdater($T.class, $S)", AtomicIntegerFieldUpdater.class, model.name, FIELD_WRITE_SEQUENCE)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("beginWrite")
+                        .addModifiers(Modifier.PRIVATE)
+                        .addCode("int sequence;\n")
+                        .beginControlFlow("do")
+                        .addCode("sequence = $N;\n", FIELD_WRITE_SEQUENCE)
+                        .endControlFlow("while ((sequence & 1) != 0 || !$N.compareAndSet(this, sequence, sequence + 1))", updater)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("endWrite")
+                        .addModifiers(Modifier.PRIVATE)
+                        .addCode("$1N = $1N + 1;\n", FIELD_WRITE_SEQUENCE)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("snapshot")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(model.type)
+                        .addCode("$1T copy = new $1T();\n", model.type)
+                        .addCode("int sequence;\n")
+                        .beginControlFlow("do")
+                        .addCode("sequence = $N;\n", FIELD_WRITE_SEQUENCE)
+                        .addCode(copy.build())
+                        .endControlFlow("while ((sequence & 1) != 0 || sequence != $N)", FIELD_WRITE_SEQUENCE)
+                        .addCode("return copy;\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("set")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(model.type, "values")
+                        .addCode(guardWrite(write.build()))
+                        .addCode(invalidate.build())
+                        .build());
+    }
 
+    private PrimitiveCollection getPrimitiveCollection(PropertyModel property) {
+        return model.pojo.primitiveCollections() ? PrimitiveCollection.of(property.type) : null;
+    }
+
+    /**
+     * The value to assign to the field of the given property, from a variable of its same name (or the given value).
+     */
+    private CodeBlock fieldValue(PropertyModel property) {
+        return fieldValue(property, CodeBlock.of("$N", property.name));
+    }
+
+    private CodeBlock fieldValue(PropertyModel property, CodeBlock value) {
+        PrimitiveCollection collection = getPrimitiveCollection(property);
+
+        return collection != null ? CodeBlock.of("$T.from($L)", collection.container, value) : value;
+    }
+
+    private void addPrimitiveAccessors(PropertyModel property, PrimitiveCollection collection, Modifier[] modifiers) {
+        String name = property.name;
+        String singularSuffix = property.singularMethodSuffix();
+
+        MethodSpec.Builder get = MethodSpec.methodBuilder("get" + singularSuffix)
+                .addModifiers(modifiers);
+        if (collection.isMap()) {
+            get.addParameter(collection.primitive, "key")
+                    .returns(collection.valueType)
+                    .addCode("return $1N == null ? null : $1N.$2N(key);\n", name, collection.getMethod);
+
+        } else {
+            get.addParameter(TypeName.INT, "index")
+                    .returns(collection.primitive)
+                    // a null list reads as an empty one, like its size and forEach
+                    .beginControlFlow("if ($N == null)", name)
+                    .addStatement("throw new $T($S + index + $S)", IndexOutOfBoundsException.class, "Index: ", ", Size: 0")
+                    .endControlFlow()
+                    .addCode("return $N.$N(index);\n", name, collection.getMethod);
+        }
+
+        classSpec
+                .addMethod(get.build())
+                .addMethod(MethodSpec.methodBuilder(name + "Size")
+                        .addModifiers(modifiers)
+                        .returns(TypeName.INT)
+                        .addCode("return $1N == null ? 0 : $1N.size();\n", name)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("forEach" + singularSuffix)
+                        .addModifiers(modifiers)
+                        .addParameter(collection.consumerType, "action")
+                        .addCode("if ($1N != null) {\n$>$1N.$2N(action);\n$<}\n", name, collection.forEachMethod)
+                        .build());
+    }
+
+    private void addPooling() {
+        MethodSpec.Builder reset = MethodSpec.methodBuilder("reset")
+                .addModifiers(Modifier.PUBLIC);
+        CodeBlock.Builder resetFields = CodeBlock.builder();
+
+        if (model.superType != null) {
+            reset.addAnnotation(Override.class);
+            resetFields.add("super.reset();\n");
+        }
+        for (FieldSpec field : storedFields()) {
+            resetFields.add("$N = $L;\n", field.name, defaultValue(field.type));
+        }
+        if (model.pojo.trackChanges()) {
+            reset.addCode("$N = 0;\n", FIELD_DIRTY_MASK);
+        }
+        for (LazyModel lazy : model.lazyProperties) {
+            reset.addCode("$N = false;\n", lazyComputedField(lazy));
+        }
+        classSpec.addMethod(reset
+                .addCode(resetFields.build())
+                .addCode(resetCachedHashCode())
+                .build());
+
+        if (builderSpec != null) {
+            if (model.pojo.cacheHashCode()) {
+                // a reused instance may hold a stale hash
+                builderFillInstance.add("instance.$N = 0;\n", FIELD_CACHED_HASH_CODE);
             }
+            for (LazyModel lazy : model.lazyProperties) {
+                builderFillInstance.add("instance.$N = false;\n", lazyComputedField(lazy));
+            }
+
+            MethodSpec.Builder builderReset = MethodSpec.methodBuilder("reset")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(builderClassName)
+                    .addCode(resetFields.build())
+                    .addCode("return this;\n");
+            if (model.superType != null) {
+                builderReset.addAnnotation(Override.class);
+            }
+
+            builderSpec
+                    .addMethod(builderReset.build())
+                    .addMethod(MethodSpec.methodBuilder("build")
+                            .addModifiers(Modifier.PUBLIC)
+                            .addParameter(model.type, "into")
+                            .returns(model.type)
+                            .addCode("fillInstance(into);\nreturn into;\n")
+                            .build());
         }
 
-        classSpec.addType(enumSpec.build());
+        ClassName poolClassName = model.name.nestedClass("Pool");
+        classSpec.addType(TypeSpec.classBuilder(poolClassName.simpleName())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariables(model.typeVariables)
+                .addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(ArrayDeque.class), model.type), "free",
+                        Modifier.PRIVATE, Modifier.FINAL)
+                        .build())
+                .addField(FieldSpec.builder(TypeName.INT, "maxSize", Modifier.PRIVATE, Modifier.FINAL)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addCode("this(16);\n")
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, "maxSize")
+                        .addCode("this.free = new $T<>(maxSize);\nthis.maxSize = maxSize;\n", ArrayDeque.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("acquire")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(model.type)
+                        .addCode("$T instance = free.poll();\n", model.type)
+                        .addCode("return instance != null ? instance : new $T();\n", model.type)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("release")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(model.type, "instance")
+                        .addCode("if (free.size() < maxSize) {\n$>instance.reset();\nfree.push(instance);\n$<}\n")
+                        .build())
+                .build());
+    }
+
+    private void addBinaryCodec() {
+        int fixedSize = 0;
+        CodeBlock.Builder size = CodeBlock.builder();
+        CodeBlock.Builder write = CodeBlock.builder();
+        CodeBlock.Builder read = CodeBlock.builder();
+        List<CodeBlock> readArguments = new ArrayList<>();
+
+        if (!model.pojo.immutable()) {
+            read.add("$1T instance = new $1T();\n", model.type);
+        }
+        // superclass properties first, through their accessors
+        for (PropertyModel property : model.superProperties) {
+            CodeBlock value = CodeBlock.of("get$L()", property.methodSuffix());
+            CodeBlock readValue = BinaryCodecHelper.read(property, enumValuesField(property));
+
+            fixedSize += addBinarySize(size, property, value);
+            write.add(BinaryCodecHelper.write(property, value));
+            if (model.pojo.immutable()) {
+                readArguments.add(readValue);
+
+            } else {
+                read.add("instance.set$L($L);\n", property.methodSuffix(), readValue);
+            }
+        }
+        for (PropertyModel property : model.properties) {
+            CodeBlock value = ownValue(property);
+            CodeBlock readValue = BinaryCodecHelper.read(property, enumValuesField(property));
+
+            fixedSize += addBinarySize(size, property, value);
+            write.add(BinaryCodecHelper.write(property, value));
+            if (model.pojo.immutable()) {
+                readArguments.add(readValue);
+
+            } else if (isCompact(property)) {
+                read.add("instance.set$L($L);\n", property.methodSuffix(), readValue);
+
+            } else {
+                read.add("instance.$N = $L;\n", property.name, fieldValue(property, readValue));
+            }
+        }
+        if (model.pojo.immutable()) {
+            read.add("return new $T(\n$>$>", model.type)
+                    .add(readArguments.stream().collect(CodeBlock.joining(",\n")))
+                    .add("$<$<);\n");
+
+        } else {
+            read.add(clearDirty())
+                    .add("return instance;\n");
+        }
+
+        classSpec
+                .addSuperinterface(BinaryWritable.class)
+                .addMethod(MethodSpec.methodBuilder("binarySize")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .returns(TypeName.INT)
+                        .addCode("return $L$L;\n", fixedSize, size.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("writeTo")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addParameter(ByteBuffer.class, "buffer")
+                        .addCode(write.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("readFrom")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addTypeVariables(model.typeVariables)
+                        .addParameter(ByteBuffer.class, "buffer")
+                        .returns(model.type)
+                        .addCode(read.build())
+                        .build());
+    }
+
+    private void addJsonCodec() {
+        CodeBlock.Builder write = CodeBlock.builder();
+        CodeBlock.Builder read = CodeBlock.builder().add("if (reader.nextNull()) {\n$>return null;\n$<}\n");
+        CodeBlock.Builder readFields = CodeBlock.builder();
+        List<CodeBlock> readArguments = new ArrayList<>();
+        List<CodeBlock> names = new ArrayList<>();
+
+        if (!model.pojo.immutable()) {
+            read.add("$1T instance = new $1T();\n", model.type);
+        }
+        // superclass properties first, through their accessors
+        List<PropertyModel> properties = new ArrayList<>(model.superProperties);
+        properties.addAll(model.properties);
+        for (int i = 0; i < properties.size(); i++) {
+            PropertyModel property = properties.get(i);
+            boolean inherited = i < model.superProperties.size();
+            CodeBlock value = inherited ? CodeBlock.of("get$L()", property.methodSuffix()) : ownValue(property);
+            CodeBlock readValue = JsonCodecHelper.read(property, this::enumValuesField);
+
+            // the name, already quoted and escaped, along with its separators
+            write.add("out.append($S);\n", (i == 0 ? "{" : ",") + Json.name(property.serializedName))
+                    .add(JsonCodecHelper.write(property, value));
+            names.add(CodeBlock.of("$S", property.serializedName));
+
+            readFields.add("case $L:\n$>", i);
+            if (model.pojo.immutable()) {
+                // prefixed, so no property clashes with the reader or its lambdas
+                String local = "json" + property.methodSuffix();
+
+                read.add("$T $N = $L;\n", property.type, local, defaultValue(property.type));
+                readFields.add("$N = $L;\n", local, readValue);
+                readArguments.add(CodeBlock.of("$N", local));
+
+            } else if (inherited || isCompact(property)) {
+                readFields.add("instance.set$L($L);\n", property.methodSuffix(), readValue);
+
+            } else {
+                readFields.add("instance.$N = $L;\n", property.name, fieldValue(property, readValue));
+            }
+            readFields.add("break;\n$<");
+        }
+        write.add("out.append($S);\n", properties.isEmpty() ? "{}" : "}");
+
+        read.add("reader.beginObject();\n")
+                .beginControlFlow("while (reader.hasNext())")
+                .beginControlFlow("switch (reader.nextName($N))", FIELD_JSON_NAMES)
+                .add(readFields.build())
+                .add("default:\n$>reader.skipValue();\n$<")
+                .endControlFlow()
+                .endControlFlow()
+                .add("reader.endObject();\n");
+        if (model.pojo.immutable()) {
+            read.add("return new $T($L);\n", model.type, readArguments.stream().collect(CodeBlock.joining(", ")));
+
+        } else {
+            read.add(clearDirty())
+                    .add("return instance;\n");
+        }
+
+        classSpec
+                .addSuperinterface(JsonWritable.class)
+                .addField(FieldSpec.builder(String[].class, FIELD_JSON_NAMES, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("{$L}", names.stream().collect(CodeBlock.joining(", ")))
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("writeJson")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addParameter(Appendable.class, "out")
+                        .addException(IOException.class)
+                        .addCode(write.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("toJson")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addCode("return $T.toString(this);\n", Json.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("readJson")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addTypeVariables(model.typeVariables)
+                        .addParameter(JsonReader.class, "reader")
+                        .returns(model.type)
+                        .addCode(read.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("fromJson")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addTypeVariables(model.typeVariables)
+                        .addParameter(CharSequence.class, "json")
+                        .returns(model.type)
+                        .addCode("return readJson(new $T(json));\n", JsonReader.class)
+                        .build());
     }
 
-    private Modifier[] collectModifiers(Element element, Modifier... ignore) {
-        List<Modifier> toIgnore = Arrays.asList(ignore);
-        return element.getModifiers().stream()
-                .filter($ -> !toIgnore.contains($))
-                .toArray(Modifier[]::new);
+    private int addBinarySize(CodeBlock.Builder size, PropertyModel property, CodeBlock value) {
+        int fixedSize = BinaryCodecHelper.fixedSizeOf(property);
+
+        if (fixedSize < 0) {
+            size.add("$W+ $L", BinaryCodecHelper.sizeOf(property, value));
+            return 0;
+        }
+        return fixedSize;
     }
 
-    private List<TypeVariableName> collectTypeVariables(TypeElement element) {
-        return element.getTypeParameters().stream()
-                .map(TypeVariableName::get)
-                .map($ -> resolve(elements, $))
-                .collect(Collectors.toList());
+    /**
+     * A {@code values()} copy of the enum type of the given property, to read it without cloning the array each time.
+     */
+    private String enumValuesField(PropertyModel property) {
+        return property.enumType ? enumValuesField(property.type, NamesHelper.constantName(property.name)) : null;
     }
 
-    private List<AnnotationSpec> collectAnnotations(Element element, ExtraAnnotation.ApplyOn applyOn) {
-        return elements.getAllAnnotationMirrors(element).stream()
-                .flatMap($ -> getIndirectAnnotations(elements, $))
-                .filter($ -> !targetsAnnotationOnly($) && !isOrHasAnnotation(elements, $, POJO.class))
-                .flatMap($ -> expandExtraAnnotations($, applyOn))
-                .collect(Collectors.toList());
+    private String enumValuesField(TypeName type) {
+        return enumValuesField(type, NamesHelper.constantName(((ClassName) type).simpleName()));
+    }
+
+    private String enumValuesField(TypeName type, String prefix) {
+        String name = prefix + "_VALUES";
+        for (int i = 2; enumValuesFields.containsKey(name) && !enumValuesFields.get(name).equals(type); i++) {
+            name = prefix + "_VALUES" + i;
+        }
+
+        if (enumValuesFields.putIfAbsent(name, type) == null) {
+            classSpec.addField(FieldSpec.builder(ArrayTypeName.of(type), name,
+                    Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.values()", type)
+                    .build());
+        }
+        return name;
+    }
+
+    private void addFlyweight() {
+        ClassName flyweightClassName = model.name.nestedClass("Flyweight");
+        TypeName flyweightType = model.typeVariables.isEmpty() ? flyweightClassName :
+                ParameterizedTypeName.get(flyweightClassName, model.typeVariables.toArray(new TypeName[model.typeVariables.size()]));
+        TypeSpec.Builder flyweight = TypeSpec.classBuilder(flyweightClassName.simpleName())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariables(model.typeVariables);
+        List<MethodSpec> accessors = new ArrayList<>();
+        CodeBlock.Builder set = CodeBlock.builder();
+        List<CodeBlock> getArguments = new ArrayList<>();
+        CodeBlock.Builder get = CodeBlock.builder();
+        if (!model.pojo.immutable()) {
+            get.add("$1T instance = new $1T();\n", model.type);
+        }
+
+        // a packed layout, but keeping each property aligned to its own size
+        int offset = 0;
+        int alignment = 1;
+        List<PropertyModel> properties = new ArrayList<>(model.superProperties);
+        properties.addAll(model.properties);
+        for (PropertyModel property : properties) {
+            int size = property.enumType ? Integer.BYTES :
+                    property.type.isPrimitive() ? BinaryCodecHelper.primitiveSize(property.type) : -1;
+            if (size < 0) {
+                throw new IllegalArgumentException("unsupported flyweight property type: " + property.type + " " + property.name);
+            }
+            offset = (offset + size - 1) / size * size;
+            alignment = Math.max(alignment, size);
+
+            String offsetName = NamesHelper.constantName(property.name) + "_OFFSET";
+            CodeBlock index = CodeBlock.of("base + $N", offsetName);
+            flyweight.addField(FieldSpec.builder(TypeName.INT, offsetName, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$L", offset)
+                    .build());
+            offset += size;
+
+            MethodSpec.Builder getter = MethodSpec.methodBuilder("get" + property.methodSuffix())
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(property.type);
+            MethodSpec.Builder setter = MethodSpec.methodBuilder("set" + property.methodSuffix())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(property.type, property.name);
+            if (property.enumType) {
+                // ordinal + 1, so a zeroed record reads null, like a new instance
+                getter.addCode("int ordinal = buffer.getInt($L) - 1;\nreturn ordinal < 0 ? null : $N[ordinal];\n",
+                        index, enumValuesField(property));
+                setter.addCode("buffer.putInt($1L, $2N == null ? 0 : $2N.ordinal() + 1);\n", index, property.name);
+
+            } else {
+                getter.addCode("return $L;\n", BinaryCodecHelper.readPrimitive(property.type, index));
+                setter.addCode("$L;\n", BinaryCodecHelper.writePrimitive(property.type, index, CodeBlock.of("$N", property.name)));
+            }
+            accessors.add(getter.build());
+            accessors.add(setter.build());
+
+            set.add("set$1L(value.get$1L());\n", property.methodSuffix());
+            if (model.pojo.immutable()) {
+                getArguments.add(CodeBlock.of("get$L()", property.methodSuffix()));
+
+            } else {
+                get.add("instance.set$1L(get$1L());\n", property.methodSuffix());
+            }
+        }
+        if (model.pojo.immutable()) {
+            get.add("return new $T($L);\n", model.type, getArguments.stream().collect(CodeBlock.joining(", ")));
+
+        } else {
+            get.add("return instance;\n");
+        }
+
+        classSpec.addType(flyweight
+                .addField(FieldSpec.builder(TypeName.INT, "SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", (offset + alignment - 1) / alignment * alignment)
+                        .build())
+                .addField(ByteBuffer.class, "buffer", Modifier.PRIVATE)
+                .addField(TypeName.INT, "base", Modifier.PRIVATE)
+                .addMethod(MethodSpec.methodBuilder("allocate")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(TypeName.INT, "count")
+                        .returns(ByteBuffer.class)
+                        .addCode("return $T.allocateDirect(count * SIZE).order($T.nativeOrder());\n", ByteBuffer.class, ByteOrder.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("wrap")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(ByteBuffer.class, "buffer")
+                        .addParameter(TypeName.INT, "index")
+                        .returns(flyweightType)
+                        .addCode("this.buffer = buffer;\nthis.base = index * SIZE;\nreturn this;\n")
+                        .build())
+                .addMethods(accessors)
+                .addMethod(MethodSpec.methodBuilder("set")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(model.type, "value")
+                        .addCode(set.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("get")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(model.type)
+                        .addCode(get.build())
+                        .build())
+                .build());
     }
 
-    @SuppressWarnings("unchecked")
-    private Stream<AnnotationSpec> expandExtraAnnotations(AnnotationMirror mirror, ExtraAnnotation.ApplyOn applyOn) {
-        DeclaredType type = mirror.getAnnotationType();
+    private void addChangeTracking() {
+        if (model.properties.size() > 64) {
+            throw new IllegalArgumentException("unsupported trackChanges with more than 64 properties on " + model.name);
+        }
 
-        if (isTypeOf(ExtraAnnotations.class, type)) {
-            ExtraAnnotations annotation = coerceAnnotation(mirror, ExtraAnnotations.class);
+        boolean inherited = model.superType != null;
+        ClassName deltaClassName = model.name.nestedClass("Delta");
+        TypeName deltaType = model.typeVariables.isEmpty() ? deltaClassName :
+                ParameterizedTypeName.get(deltaClassName, model.typeVariables.toArray(new TypeName[model.typeVariables.size()]));
 
-            return Stream.of(annotation.value())
-                    .flatMap($ -> buildExtraAnnotationSpec($, applyOn));
+        TypeSpec.Builder delta = TypeSpec.classBuilder(deltaClassName.simpleName())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariables(model.typeVariables)
+                .addField(FieldSpec.builder(TypeName.LONG, FIELD_DIRTY_MASK, Modifier.PRIVATE)
+                        .build());
+        MethodSpec.Builder isEmpty = MethodSpec.methodBuilder("isEmpty")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN);
+        MethodSpec.Builder isDirty = MethodSpec.methodBuilder("isDirty")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN);
+        MethodSpec.Builder dirtyFields = MethodSpec.methodBuilder("dirtyFields")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(List.class, String.class));
+        MethodSpec.Builder clearDirty = MethodSpec.methodBuilder("clearDirty")
+                .addModifiers(Modifier.PUBLIC);
+        MethodSpec.Builder writeTo = MethodSpec.methodBuilder("writeDelta")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(model.type, "target");
+        MethodSpec.Builder fillDelta = MethodSpec.methodBuilder("fillDelta")
+                .addModifiers(Modifier.PROTECTED)
+                .addParameter(deltaType, "delta");
+        MethodSpec.Builder applyDelta = MethodSpec.methodBuilder("applyDelta")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(deltaType, "delta");
 
-        } else if (isTypeOf(ExtraAnnotation.class, type)) {
-            ExtraAnnotation annotation = coerceAnnotation(mirror, ExtraAnnotation.class);
+        if (inherited) {
+            delta.superclass(superNestedClass(deltaClassName.simpleName()));
+            isEmpty.addAnnotation(Override.class)
+                    .addCode("return $N == 0 && super.isEmpty();\n", FIELD_DIRTY_MASK);
+            isDirty.addAnnotation(Override.class)
+                    .addCode("return $N != 0 || super.isDirty();\n", FIELD_DIRTY_MASK);
+            dirtyFields.addAnnotation(Override.class)
+                    .addCode("$T<$T> fields = super.dirtyFields();\n", List.class, String.class);
+            clearDirty.addAnnotation(Override.class)
+                    .addCode("super.clearDirty();\n");
+            writeTo.addCode("super.writeDelta(target);\n");
+            fillDelta.addCode("super.fillDelta(delta);\n");
+            applyDelta.addCode("super.applyDelta(delta);\n");
+
+        } else {
+            isEmpty.addCode("return $N == 0;\n", FIELD_DIRTY_MASK);
+            isDirty.addCode("return $N != 0;\n", FIELD_DIRTY_MASK);
+            dirtyFields.addCode("$T<$T> fields = new $T<>();\n", List.class, String.class, ArrayList.class);
+        }
+        clearDirty.addCode("$N = 0;\n", FIELD_DIRTY_MASK);
+        fillDelta.addCode("delta.$1N = $1N;\n", FIELD_DIRTY_MASK);
+
+        for (PropertyModel property : model.properties) {
+            String bit = dirtyBit(property);
+
+            delta.addField(FieldSpec.builder(property.type, property.name, Modifier.PRIVATE)
+                    .build());
+            dirtyFields.addCode("if (($N & $L) != 0) {\n$>fields.add($S);\n$<}\n", FIELD_DIRTY_MASK, bit, property.name);
+            writeTo.addCode("if (($N & $L) != 0) {\n$>target.set$L($L);\n$<}\n", FIELD_DIRTY_MASK, bit,
+                    property.methodSuffix(), ownValue(property));
+            fillDelta.addCode("if (($N & $L) != 0) {\n$>delta.$N = $L;\n$<}\n", FIELD_DIRTY_MASK, bit,
+                    property.name, ownValue(property));
+            applyDelta.addCode("if ((delta.$N & $L) != 0) {\n$>set$L(delta.$N);\n$<}\n", FIELD_DIRTY_MASK, bit,
+                    property.methodSuffix(), property.name);
+        }
+        dirtyFields.addCode("return fields;\n");
 
-            return buildExtraAnnotationSpec(annotation, applyOn);
+        MethodSpec.Builder writeDelta = MethodSpec.methodBuilder("writeDelta")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(deltaType)
+                .addCode("$1T delta = new $1T();\nfillDelta(delta);\nreturn delta;\n", deltaType);
+        if (inherited) {
+            writeDelta.addAnnotation(Override.class);
         }
-        return Stream.of(AnnotationSpec.get(mirror));
+
+        classSpec
+                .addField(FieldSpec.builder(TypeName.LONG, FIELD_DIRTY_MASK, Modifier.PRIVATE, Modifier.TRANSIENT)
+                        .build())
+                .addMethod(isDirty.build())
+                .addMethod(dirtyFields.build())
+                .addMethod(clearDirty.build())
+                .addMethod(writeTo.build())
+                .addMethod(writeDelta.build())
+                .addMethod(fillDelta.build())
+                .addMethod(applyDelta.build())
+                .addType(delta
+                        .addMethod(isEmpty.build())
+                        .build());
     }
 
-    @SuppressWarnings("unchecked")
-    private Stream<AnnotationSpec> buildExtraAnnotationSpec(ExtraAnnotation annotation, ExtraAnnotation.ApplyOn applyOn) {
-        if (annotation.applyOn().length == 0 || Arrays.asList(annotation.applyOn()).contains(applyOn)) {
-            AnnotationSpec.Builder builder = AnnotationSpec.builder(ClassName.bestGuess(annotation.value()));
+    /**
+     * Lazy properties run their {@code default} bodies on a {@code LazyView}, an inner implementation of the {@link gs.autopojo.POJO} interface
+     * backed by this instance's getters (including the lazy ones, so they are also cached when calling each other).
+     * Mutable classes use a double-checked {@code volatile} flag (cleared by the setters of their dependencies),
+     * while immutable ones a racy single-check on the value itself (so a default value is never cached).
+     */
+    private void addLazyProperties() {
+        boolean immutable = model.pojo.immutable();
+        ClassName viewClassName = model.name.nestedClass("LazyView");
+        ClassName interfaceName = model.interfaceType instanceof ParameterizedTypeName ?
+                ((ParameterizedTypeName) model.interfaceType).rawType : (ClassName) model.interfaceType;
+
+        TypeSpec.Builder view = TypeSpec.classBuilder(viewClassName.simpleName())
+                .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                .addSuperinterface(model.interfaceType);
+
+        Map<String, PropertyModel> properties = new HashMap<>();
+        Stream.concat(model.superProperties.stream(), model.properties.stream()).forEach($ -> properties.put($.name, $));
+        for (Map.Entry<String, TypeName> method : model.interfaceMethods.entrySet()) {
+            PropertyModel property = properties.get(method.getKey());
+            MethodSpec.Builder override = MethodSpec.methodBuilder(method.getKey())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addAnnotation(Override.class)
+                    .returns(method.getValue());
+
+            if (property == null) {
+                override.addCode("return $T.this.$N();\n", model.name, method.getKey());
 
-            for (ExtraAnnotation.Member member : annotation.members()) {
-                builder.addMember(member.name(), member.format(), member.value());
+            } else if (property.type.equals(method.getValue())) {
+                override.addCode("return get$L();\n", property.methodSuffix());
+
+            } else {
+                // a nested enum, copied to the generated class with the same constants (ExtractModelTask rejects other types)
+                override.addCode("$T<?> value = get$L();\n", Enum.class, property.methodSuffix())
+                        .addCode("return value == null ? null : $T.values()[value.ordinal()];\n", method.getValue());
             }
-            return Stream.of(builder.build());
+            view.addMethod(override.build());
         }
-        return Stream.empty();
+
+        for (LazyModel lazy : model.lazyProperties) {
+            String computed = lazyComputedField(lazy);
+            MethodSpec.Builder getter = MethodSpec.methodBuilder("get" + lazy.methodSuffix())
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(lazy.type);
+
+            if (immutable) {
+                // long and double writes are not atomic, and references must be safely published
+                boolean atomic = lazy.type.isPrimitive() && !lazy.type.equals(TypeName.LONG) && !lazy.type.equals(TypeName.DOUBLE);
+
+                classSpec.addField(FieldSpec.builder(lazy.type, lazy.name, atomic ?
+                        new Modifier[]{Modifier.PRIVATE, Modifier.TRANSIENT} :
+                        new Modifier[]{Modifier.PRIVATE, Modifier.TRANSIENT, Modifier.VOLATILE})
+                        .build());
+                getter.addCode("$T result = $N;\n", lazy.type, lazy.name)
+                        .beginControlFlow(lazy.type.equals(TypeName.BOOLEAN) ? "if (!result)" : "if (result == " + defaultValue(lazy.type) + ")")
+                        .addCode("$N = result = new $T().compute$L();\n", lazy.name, viewClassName, lazy.methodSuffix())
+                        .endControlFlow()
+                        .addCode("return result;\n");
+
+            } else {
+                classSpec
+                        .addField(FieldSpec.builder(lazy.type, lazy.name, Modifier.PRIVATE, Modifier.TRANSIENT)
+                                .build())
+                        .addField(FieldSpec.builder(TypeName.BOOLEAN, computed, Modifier.PRIVATE, Modifier.TRANSIENT, Modifier.VOLATILE)
+                                .build());
+                getter.beginControlFlow("if (!$N)", computed)
+                        .beginControlFlow("synchronized (this)")
+                        .beginControlFlow("if (!$N)", computed)
+                        .addCode("$N = new $T().compute$L();\n", lazy.name, viewClassName, lazy.methodSuffix())
+                        .addCode("$N = true;\n", computed)
+                        .endControlFlow()
+                        .endControlFlow()
+                        .endControlFlow()
+                        .addCode("return $N;\n", lazy.name);
+            }
+            classSpec.addMethod(getter.build());
+
+            view.addMethod(MethodSpec.methodBuilder(lazy.name)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addAnnotation(Override.class)
+                    .returns(lazy.type)
+                    .addCode("return get$L();\n", lazy.methodSuffix())
+                    .build())
+                    .addMethod(MethodSpec.methodBuilder("compute" + lazy.methodSuffix())
+                            .returns(lazy.type)
+                            .addCode("return $T.super.$N();\n", interfaceName, lazy.name)
+                            .build());
+        }
+        classSpec.addType(view.build());
     }
 
-    private List<TypeName> collectInterfaces(TypeElement element) {
-        return element.getInterfaces().stream()
-                .map($ -> resolve(elements, ClassName.get($)))
-                .filter(this::isInterface)
-                .collect(Collectors.toList());
+    private static String defaultValue(TypeName type) {
+        return type.equals(TypeName.BOOLEAN) ? "false" : type.isPrimitive() ? "0" : "null";
     }
 
-    private boolean isInterface(TypeName name) {
-        ClassName className = null;
+    private void addConstructor() {
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC);
 
-        if (name instanceof ClassName) {
-            className = (ClassName) name;
+        for (PropertyModel property : model.superProperties) {
+            constructor.addParameter(property.type, property.name);
+        }
+        if (model.superType != null) {
+            constructor.addCode("super($L);\n", model.superProperties.stream()
+                    .map($ -> CodeBlock.of("$N", $.name))
+                    .collect(CodeBlock.joining(", ")));
+        }
+        for (PropertyModel property : model.properties) {
+            constructor
+                    .addParameter(property.type, property.name)
+                    .addCode("this.$N = $L;\n", property.name, fieldValue(property));
+        }
+        classSpec.addMethod(constructor.build());
+    }
 
-        } else if (name instanceof ParameterizedTypeName) {
-            className = ((ParameterizedTypeName) name).rawType;
+    /**
+     * A shallow copy constructor, assigning the fields of each class of the hierarchy directly
+     * (but the {@link LazyModel lazy} and dirty state, which start empty).
+     */
+    private void addCopyConstructor() {
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(model.type, "source");
+
+        if (model.superType != null) {
+            constructor.addCode("super(source);\n");
+        }
+        for (FieldSpec field : storedFields()) {
+            constructor.addCode("this.$1N = source.$1N;\n", field.name);
         }
+        classSpec
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .build())
+                .addMethod(constructor.build());
+    }
+
+    /**
+     * Fills a builder straight from the fields, along the same hierarchy than its {@code fillInstance}.
+     */
+    private void addToBuilder() {
+        TypeName builderType = model.typeVariables.isEmpty() ? builderClassName :
+                ParameterizedTypeName.get(builderClassName, model.typeVariables.toArray(new TypeName[model.typeVariables.size()]));
+        MethodSpec.Builder toBuilder = MethodSpec.methodBuilder("toBuilder")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(builderType)
+                .addCode("$1T builder = new $1T();\nfillBuilder(builder);\nreturn builder;\n", builderType);
+        MethodSpec.Builder fillBuilder = MethodSpec.methodBuilder("fillBuilder")
+                .addModifiers(Modifier.PROTECTED)
+                .addParameter(builderType, "builder");
 
-        if (className != null) {
-            className = resolve(elements, className);
-            String qualifiedName = getQualifiedName(className);
-            return qualifiedName != null && elements.getTypeElement(qualifiedName).getKind() == ElementKind.INTERFACE;
+        if (model.superType != null) {
+            toBuilder.addAnnotation(Override.class);
+            fillBuilder.addCode("super.fillBuilder(builder);\n");
         }
-        return false;
+        for (FieldSpec field : storedFields()) {
+            fillBuilder.addCode("builder.$1N = this.$1N;\n", field.name);
+        }
+        classSpec
+                .addMethod(toBuilder.build())
+                .addMethod(fillBuilder.build());
+    }
+
+    /**
+     * An explicit {@code clone()} through the constructors, instead of {@code Object.clone()}'s native field by field copy.
+     */
+    private void addClone() {
+        classSpec.addMethod(MethodSpec.methodBuilder("clone")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(model.type)
+                .addCode(model.pojo.immutable() ?
+                        CodeBlock.of("return new $T($L);\n", model.type, constructorArguments(null,
+                                $ -> CodeBlock.of("get$L()", $.methodSuffix()), $ -> CodeBlock.of("$N", $.name))) :
+                        CodeBlock.of("return new $T(this);\n", model.type))
+                .build());
+    }
+
+    /**
+     * A static {@link Interner}, shared by all the parameterizations of a generic class.
+     */
+    private void addInterning() {
+        TypeName internedType = model.typeVariables.isEmpty() ? model.type : ParameterizedTypeName.get(model.name,
+                model.typeVariables.stream().map($ -> WildcardTypeName.subtypeOf(Object.class)).toArray(TypeName[]::new));
+        TypeName internerType = ParameterizedTypeName.get(ClassName.get(Interner.class), internedType);
+        int maxSize = model.pojo.internedMaxSize();
+
+        MethodSpec.Builder intern = MethodSpec.methodBuilder("intern")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariables(model.typeVariables)
+                .addParameter(model.type, "value")
+                .returns(model.type);
+        if (model.typeVariables.isEmpty()) {
+            intern.addCode("return $N.intern(value);\n", FIELD_INTERNER);
+
+        } else {
+            intern.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build())
+                    .addCode("return ($T) $N.intern(value);\n", model.type, FIELD_INTERNER);
+        }
+
+        classSpec
+                .addField(FieldSpec.builder(internerType, FIELD_INTERNER, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(maxSize > 0 ? CodeBlock.of("$T.bounded($L)", Interner.class, maxSize) : CodeBlock.of("$T.weak()", Interner.class))
+                        .build())
+                .addMethod(intern.build())
+                .addMethod(MethodSpec.methodBuilder("interner")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(internerType)
+                        .addCode("return $N;\n", FIELD_INTERNER)
+                        .build());
+
+        if (builderSpec != null) {
+            builderSpec.addMethod(MethodSpec.methodBuilder("buildInterned")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(model.type)
+                    .addCode("return $T.intern(build());\n", model.name)
+                    .build());
+        }
+    }
+
+    private void addWithMethods() {
+        for (PropertyModel property : model.superProperties) {
+            classSpec.addMethod(buildWithMethod(property, CodeBlock.of("get$L()", property.methodSuffix()))
+                    .addAnnotation(Override.class)
+                    .build());
+        }
+        for (PropertyModel property : model.properties) {
+            classSpec.addMethod(buildWithMethod(property, CodeBlock.of("this.$N", property.name))
+                    .build());
+        }
+    }
+
+    private MethodSpec.Builder buildWithMethod(PropertyModel property, CodeBlock current) {
+        if (!model.pojo.immutable()) {
+            // a mutable copy is never shared, even if nothing changed
+            String copy = property.name.equals("copy") ? "result" : "copy";
+
+            return MethodSpec.methodBuilder("with" + property.methodSuffix())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(property.type, property.name)
+                    .returns(model.type)
+                    .addCode("$1T $4N = new $1T(this);\n$4N.set$2L($3N);\nreturn $4N;\n", model.type, property.methodSuffix(), property.name, copy);
+        }
+        // compares floats and doubles as equals does, so -0.0 replaces 0.0 but NaN keeps the same instance
+        CodeBlock unchanged = property.type.equals(TypeName.FLOAT) || property.type.equals(TypeName.DOUBLE) ?
+                CodeBlock.of("$T.compare($N, $L) == 0", property.type.box(), property.name, current) :
+                CodeBlock.of("$N == $L", property.name, current);
+
+        return MethodSpec.methodBuilder("with" + property.methodSuffix())
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(property.type, property.name)
+                .returns(model.type)
+                .addCode("if ($L) {\n$>return this;\n$<}\n", unchanged)
+                .addCode("return new $T($L);\n", model.type, constructorArguments(property,
+                        $ -> CodeBlock.of("get$L()", $.methodSuffix()), $ -> CodeBlock.of("$N", $.name)));
+    }
+
+    /**
+     * The arguments of the all-args constructor, being the given {@code replaced} property passed by its name.
+     */
+    private CodeBlock constructorArguments(PropertyModel replaced,
+                                           Function<PropertyModel, CodeBlock> superProperty,
+                                           Function<PropertyModel, CodeBlock> property) {
+        return Stream.concat(
+                model.superProperties.stream().map($ -> $ == replaced ? CodeBlock.of("$N", $.name) : superProperty.apply($)),
+                model.properties.stream().map($ -> $ == replaced ? CodeBlock.of("$N", $.name) : property.apply($)))
+                .collect(CodeBlock.joining(", "));
+    }
+
+    /**
+     * Setters mark their property on the {@link #FIELD_DIRTY_MASK}, while builders and codecs assign fields directly.
+     */
+    private CodeBlock markDirty(PropertyModel property) {
+        return model.pojo.trackChanges() ?
+                CodeBlock.of("$N |= $L;\n", FIELD_DIRTY_MASK, dirtyBit(property)) : CodeBlock.of("");
+    }
+
+    private String dirtyBit(PropertyModel property) {
+        return "0x" + Long.toHexString(1L << model.properties.indexOf(property)) + "L";
+    }
+
+    private CodeBlock invalidateLazies(PropertyModel property) {
+        CodeBlock.Builder code = CodeBlock.builder();
+
+        for (LazyModel lazy : model.lazyProperties) {
+            if (lazy.dependsOn(property.name)) {
+                code.add("$N = false;\n", lazyComputedField(lazy));
+            }
+        }
+        return code.build();
+    }
+
+    private static String lazyComputedField(LazyModel lazy) {
+        return lazy.name + "Computed";
+    }
+
+    private CodeBlock clearDirty() {
+        return model.pojo.trackChanges() ? CodeBlock.of("instance.clearDirty();\n") : CodeBlock.of("");
+    }
+
+    private CodeBlock resetCachedHashCode() {
+        return model.pojo.cacheHashCode() ? CodeBlock.of("$N = 0;\n", FIELD_CACHED_HASH_CODE) : CodeBlock.of("");
+    }
+
+    private void addValueMethods() {
+        boolean cacheHashCode = model.pojo.cacheHashCode();
+        TypeName wildcardType = model.typeVariables.isEmpty() ? model.name :
+                ParameterizedTypeName.get(model.name, model.typeVariables.stream()
+                        .map($ -> WildcardTypeName.subtypeOf(Object.class))
+                        .toArray(TypeName[]::new));
+
+        CodeBlock.Builder equals = CodeBlock.builder()
+                .add("if (this == o) {\n$>return true;\n$<}\n")
+                .add("if (o == null || getClass() != o.getClass()) {\n$>return false;\n$<}\n");
+        List<FieldSpec> fields = storedFields();
+        if (cacheHashCode || !fields.isEmpty()) {
+            equals.add("$1T that = ($1T) o;\n", wildcardType);
+        }
+        if (cacheHashCode) {
+            equals.add("if ($1N != 0 && that.$1N != 0 && $1N != that.$1N) {\n$>return false;\n$<}\n", FIELD_CACHED_HASH_CODE);
+        }
+        if (model.superType != null) {
+            equals.add("if (!super.equals(o)) {\n$>return false;\n$<}\n");
+        }
+        equals.add("return $L;\n", fields.isEmpty() ? CodeBlock.of("true") :
+                fields.stream()
+                        .map($ -> equalsExpression($.type, $.name))
+                        .collect(CodeBlock.joining("$W&& ")));
+
+        String initialHashCode = model.superType != null ? "super.hashCode()" : "1";
+        CodeBlock.Builder computeHashCode = CodeBlock.builder();
+        for (FieldSpec field : fields) {
+            computeHashCode.add("result = 31 * result + $L;\n", hashCodeExpression(field.type, field.name));
+        }
+
+        CodeBlock.Builder hashCode = CodeBlock.builder();
+        if (cacheHashCode) {
+            hashCode.add("int result = $N;\n", FIELD_CACHED_HASH_CODE)
+                    .beginControlFlow("if (result == 0)")
+                    .add("result = $L;\n", initialHashCode)
+                    .add(computeHashCode.build())
+                    .add("$N = result;\n", FIELD_CACHED_HASH_CODE)
+                    .endControlFlow();
+
+            classSpec.addField(FieldSpec.builder(TypeName.INT, FIELD_CACHED_HASH_CODE, Modifier.PRIVATE, Modifier.TRANSIENT)
+                    .build());
+
+        } else {
+            hashCode.add("int result = $L;\n", initialHashCode)
+                    .add(computeHashCode.build());
+        }
+        hashCode.add("return result;\n");
+
+        // inherited setters must also invalidate this class' hash and lazy properties
+        for (PropertyModel property : model.pojo.immutable() ? Collections.<PropertyModel>emptyList() : model.superProperties) {
+            CodeBlock invalidate = CodeBlock.builder()
+                    .add(resetCachedHashCode())
+                    .add(invalidateLazies(property))
+                    .build();
+
+            if (!invalidate.isEmpty()) {
+                classSpec.addMethod(MethodSpec.methodBuilder("set" + property.methodSuffix())
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addParameter(property.type, property.name)
+                        .addCode("super.set$L($N);\n", property.methodSuffix(), property.name)
+                        .addCode(invalidate)
+                        .build());
+            }
+        }
+
+        CodeBlock.Builder appendTo = CodeBlock.builder();
+        String separator = model.name.simpleName() + "{";
+        for (PropertyModel property : model.superProperties) {
+            appendTo.add(appendToStatement(property, separator, CodeBlock.of("get$L()", property.methodSuffix())));
+            separator = ", ";
+        }
+        for (PropertyModel property : model.properties) {
+            appendTo.add(appendToStatement(property, separator, ownValue(property)));
+            separator = ", ";
+        }
+        if (separator.endsWith("{")) {
+            appendTo.add("sb.append($S);\n", separator);
+        }
+        appendTo.add("return sb.append('}');\n");
+
+        MethodSpec.Builder appendToSpec = MethodSpec.methodBuilder("appendTo")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(StringBuilder.class, "sb")
+                .returns(StringBuilder.class)
+                .addCode(appendTo.build());
+        if (model.superType != null) {
+            appendToSpec.addAnnotation(Override.class);
+        }
+
+        classSpec
+                .addMethod(MethodSpec.methodBuilder("equals")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addParameter(Object.class, "o")
+                        .returns(TypeName.BOOLEAN)
+                        .addCode(equals.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("hashCode")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .returns(TypeName.INT)
+                        .addCode(hashCode.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("toString")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .returns(String.class)
+                        .addCode("return appendTo(new $T()).toString();\n", StringBuilder.class)
+                        .build())
+                .addMethod(appendToSpec.build());
+    }
+
+    private static CodeBlock equalsExpression(TypeName type, String name) {
+        if (type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("$1T.compare(this.$2N, that.$2N) == 0", type.box(), name);
+
+        } else if (type.isPrimitive()) {
+            return CodeBlock.of("this.$1N == that.$1N", name);
+
+        } else if (type instanceof ArrayTypeName) {
+            return CodeBlock.of("$1T.$2L(this.$3N, that.$3N)", Arrays.class,
+                    ((ArrayTypeName) type).componentType instanceof ArrayTypeName ? "deepEquals" : "equals", name);
+        }
+        return CodeBlock.of("$1T.equals(this.$2N, that.$2N)", Objects.class, name);
+    }
+
+    private static CodeBlock hashCodeExpression(TypeName type, String name) {
+        if (type.equals(TypeName.BOOLEAN) || type.equals(TypeName.LONG) || type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("$T.hashCode(this.$N)", type.box(), name);
+
+        } else if (type.isPrimitive()) {
+            return CodeBlock.of("this.$N", name);
+
+        } else if (type instanceof ArrayTypeName) {
+            return CodeBlock.of("$T.$L(this.$N)", Arrays.class,
+                    ((ArrayTypeName) type).componentType instanceof ArrayTypeName ? "deepHashCode" : "hashCode", name);
+        }
+        return CodeBlock.of("$T.hashCode(this.$N)", Objects.class, name);
+    }
+
+    private static CodeBlock appendToStatement(PropertyModel property, String separator, CodeBlock value) {
+        String label = separator + property.name + "=";
+
+        if (property.type instanceof ArrayTypeName) {
+            return CodeBlock.of("sb.append($S).append($T.$L($L));\n", label, Arrays.class,
+                    ((ArrayTypeName) property.type).componentType instanceof ArrayTypeName ? "deepToString" : "toString", value);
+
+        } else if (property.pojoType != null) {
+            return CodeBlock.builder()
+                    .add("sb.append($S);\n", label)
+                    .beginControlFlow("if ($L != null)", value)
+                    .add("$L.appendTo(sb);\n", value)
+                    .nextControlFlow("else")
+                    .add("sb.append($S);\n", "null")
+                    .endControlFlow()
+                    .build();
+        }
+        return CodeBlock.of("sb.append($S).append($L);\n", label, value);
+    }
+
+    private void addConstant(ConstantModel constant) {
+        if (constant.delegate != null) {
+            // the interface is only initialized on the first read of one of its constants, like a lazy holder class
+            classSpec.addMethod(MethodSpec.methodBuilder(constant.name)
+                    .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                    .returns(constant.type)
+                    .addCode("return $T.$N;\n", constant.delegate, constant.name)
+                    .build());
+            return;
+        }
+
+        classSpec.addField(FieldSpec.builder(constant.type, constant.name,
+                constant.modifiers.toArray(new Modifier[constant.modifiers.size()]))
+                .initializer("$L", constant.initializer)
+                .build());
+    }
+
+    private void addEnum(EnumModel model) {
+        TypeSpec.Builder enumSpec = TypeSpec.enumBuilder(model.name.simpleName())
+                .addModifiers(model.modifiers());
+
+        for (String constant : model.constants) {
+            enumSpec.addEnumConstant(constant);
+        }
+
+        // a cached copy of values(), as it clones its array on each call
+        ArrayTypeName valuesType = ArrayTypeName.of(model.name);
+        String values = "VALUES";
+        while (model.constants.contains(values)) {
+            values += "_";
+        }
+        enumSpec
+                .addField(FieldSpec.builder(valuesType, values, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("values()")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("fromOrdinal")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(TypeName.INT, "ordinal")
+                        .returns(model.name)
+                        .addCode("return ordinal >= 0 && ordinal < $1N.length ? $1N[ordinal] : null;\n", values)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("parse")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(CharSequence.class, "value")
+                        .returns(model.name)
+                        .addCode(EnumHelper.parseChars(model.name, model.constants))
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("parse")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(byte[].class, "bytes")
+                        .addParameter(TypeName.INT, "offset")
+                        .addParameter(TypeName.INT, "length")
+                        .returns(model.name)
+                        .addCode(EnumHelper.parseBytes(model.name, model.constants))
+                        .build());
+
+        classSpec.addType(enumSpec.build());
     }
 
 }
@@ -0,0 +1,193 @@
+package gs.autopojo.processor.tasks;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Timings and counters of a single processing round. When disabled, it never reads the clock.
+ * <p>
+ * Timings can be recorded from any thread, while counters must be updated from the compiler thread.
+ * Nested phases are also accounted on their enclosing one
+ * (for instance {@link Phase#LOOKUP} and {@link Phase#ANNOTATIONS} are part of {@link Phase#EXTRACT}).
+ */
+public final class ProcessingStats {
+    public static final ProcessingStats DISABLED = new ProcessingStats(0, false);
+
+    private static final int SLOWEST_COUNT = 10;
+
+    private final int round;
+    private final boolean enabled;
+    private final Map<Phase, LongAdder> nanos = new EnumMap<>(Phase.class);
+    private final Map<String, LongAdder> classNanos = new ConcurrentHashMap<>();
+    private int classes;
+    private int nestedTypes;
+    private int fields;
+    private int constants;
+    private int enums;
+    private int cacheHits;
+    private int cacheMisses;
+
+    public ProcessingStats(int round, boolean enabled) {
+        this.round = round;
+        this.enabled = enabled;
+
+        for (Phase phase : Phase.values()) {
+            nanos.put(phase, new LongAdder());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void stop(Phase phase, long start) {
+        if (enabled) {
+            nanos.get(phase).add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Same as {@link #stop(Phase, long)}, but also accounting the time on the given top-level class.
+     */
+    public void stop(Phase phase, long start, POJOModel model) {
+        if (enabled) {
+            long elapsed = System.nanoTime() - start;
+
+            nanos.get(phase).add(elapsed);
+            classNanos.computeIfAbsent(NamesHelper.getQualifiedName(model.name), $ -> new LongAdder()).add(elapsed);
+        }
+    }
+
+    public void count(POJOModel model) {
+        if (enabled) {
+            classes++;
+            countMembers(model);
+        }
+    }
+
+    private void countMembers(POJOModel model) {
+        fields += model.properties.size();
+        constants += model.constants.size();
+
+        for (TypeModel type : model.types) {
+            if (type instanceof EnumModel) {
+                enums++;
+
+            } else {
+                nestedTypes++;
+                countMembers((POJOModel) type);
+            }
+        }
+    }
+
+    public void count(RoundCache cache) {
+        if (enabled) {
+            cacheHits += cache.getHits();
+            cacheMisses += cache.getMisses();
+        }
+    }
+
+    private List<Map.Entry<String, Long>> getSlowest() {
+        return classNanos.entrySet().stream()
+                .map($ -> new AbstractMap.SimpleImmutableEntry<>($.getKey(), $.getValue().sum()))
+                .sorted(Comparator.<Map.Entry<String, Long>>comparingLong(Map.Entry::getValue).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(SLOWEST_COUNT)
+                .collect(Collectors.toList());
+    }
+
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder()
+                .append("{\"round\":").append(round)
+                .append(",\"classes\":").append(classes)
+                .append(",\"nestedTypes\":").append(nestedTypes)
+                .append(",\"fields\":").append(fields)
+                .append(",\"constants\":").append(constants)
+                .append(",\"enums\":").append(enums)
+                .append(",\"cacheHits\":").append(cacheHits)
+                .append(",\"cacheMisses\":").append(cacheMisses)
+                .append(",\"nanos\":{");
+
+        for (Phase phase : Phase.values()) {
+            sb.append(phase.ordinal() > 0 ? "," : "")
+                    .append('"').append(phase.label).append("\":").append(nanos.get(phase).sum());
+        }
+        sb.append("},\"slowest\":[");
+
+        List<Map.Entry<String, Long>> slowest = getSlowest();
+        for (int i = 0; i < slowest.size(); i++) {
+            sb.append(i > 0 ? "," : "")
+                    .append("{\"class\":\"").append(slowest.get(i).getKey())
+                    .append("\",\"nanos\":").append(slowest.get(i).getValue()).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append(String.format(Locale.ROOT, "AutoPOJO round %d: %d classes, %d nested types, %d fields, %d constants, %d enums, cache %d/%d hits\n",
+                        round, classes, nestedTypes, fields, constants, enums, cacheHits, cacheHits + cacheMisses));
+
+        for (Phase phase : Phase.values()) {
+            sb.append(String.format(Locale.ROOT, "  %-12s %10.3f ms\n", phase.label, nanos.get(phase).sum() / 1e6));
+        }
+
+        List<Map.Entry<String, Long>> slowest = getSlowest();
+        if (!slowest.isEmpty()) {
+            sb.append("  slowest:\n");
+
+            for (Map.Entry<String, Long> entry : slowest) {
+                sb.append(String.format(Locale.ROOT, "    %10.3f ms %s\n", entry.getValue() / 1e6, entry.getKey()));
+            }
+        }
+        return sb.toString();
+    }
+
+    public enum Phase {
+
+        /**
+         * Reading the {@link POJOModel}s on the compiler thread.
+         */
+        EXTRACT("extract"),
+
+        /**
+         * {@code getPOJO} and {@code resolve} lookups, part of {@link #EXTRACT}.
+         */
+        LOOKUP("lookup"),
+
+        /**
+         * {@code collectAnnotations}, expanding the (memoized) annotations and {@link gs.autopojo.ExtraAnnotation}s, part of {@link #EXTRACT}.
+         */
+        ANNOTATIONS("annotations"),
+
+        /**
+         * Building the specs and rendering the sources with JavaPoet. Summed up across threads.
+         */
+        RENDER("render"),
+
+        /**
+         * {@link javax.annotation.processing.Filer} writes.
+         */
+        WRITE("write");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import gs.autopojo.POJO;
+
+/**
+ * A property, being {@link #pojoType} the {@link POJO} of its type (if it is one).
+ * The {@link POJO}s and enums found on its type arguments (or array component) are kept by their (resolved) raw names
+ * on {@link #argumentPOJOTypes} and {@link #argumentEnumTypes}.
+ */
+public class PropertyModel {
+    public final String name;
+    public final TypeName type;
+    public final POJO pojoType;
+    public final boolean enumType;
+
+    /**
+     * The number of constants of its enum type, {@code 0} if it is not one.
+     */
+    public final int enumConstants;
+    public final Map<ClassName, POJO> argumentPOJOTypes;
+    public final Set<ClassName> argumentEnumTypes;
+
+    /**
+     * The name to serialize it with: the one given by a {@code JsonProperty} or {@code SerializedName} annotation, or its own.
+     */
+    public final String serializedName;
+    public final List<AnnotationSpec> fieldAnnotations;
+    public final List<AnnotationSpec> getterAnnotations;
+    public final List<AnnotationSpec> setterAnnotations;
+
+    PropertyModel(String name, TypeName type, POJO pojoType, int enumConstants,
+                  Map<ClassName, POJO> argumentPOJOTypes, Set<ClassName> argumentEnumTypes,
+                  String serializedName,
+                  List<AnnotationSpec> fieldAnnotations,
+                  List<AnnotationSpec> getterAnnotations,
+                  List<AnnotationSpec> setterAnnotations) {
+        this.name = name;
+        this.type = type;
+        this.pojoType = pojoType;
+        this.enumType = enumConstants > 0;
+        this.enumConstants = enumConstants;
+        this.argumentPOJOTypes = Collections.unmodifiableMap(argumentPOJOTypes);
+        this.argumentEnumTypes = Collections.unmodifiableSet(argumentEnumTypes);
+        this.serializedName = serializedName;
+        this.fieldAnnotations = Collections.unmodifiableList(fieldAnnotations);
+        this.getterAnnotations = Collections.unmodifiableList(getterAnnotations);
+        this.setterAnnotations = Collections.unmodifiableList(setterAnnotations);
+    }
+
+    String methodSuffix() {
+        return name.substring(0, 1).toUpperCase() + name.substring(1);
+    }
+
+    String singularMethodSuffix() {
+        String suffix = methodSuffix();
+        return suffix.length() > 1 && suffix.endsWith("s") && !suffix.endsWith("ss") ?
+                suffix.substring(0, suffix.length() - 1) : suffix;
+    }
+
+}
@@ -0,0 +1,229 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.lang.model.element.Modifier;
+
+import gs.autopojo.POJO;
+import gs.autopojo.properties.PropertyTable;
+
+/**
+ * Builds the nested {@code Properties} {@link PropertyTable} of a {@code propertyTable} {@link POJO}: an index constant per property,
+ * a perfect hash table of their names (with a seed searched at compile time) and {@code switch}es over the indexes calling the accessors.
+ */
+final class PropertyTableHelper {
+    private static final Set<String> RESERVED_FIELDS = new HashSet<>(Arrays.asList(
+            "INSTANCE", "PROPERTY_NAMES", "PROPERTY_TYPES", "HASH_SEED", "HASH_SLOTS"));
+
+    static TypeSpec build(POJOModel model) {
+        ClassName propertiesClassName = model.name.nestedClass("Properties");
+        // a raw type for generic ones, as the table itself is not
+        TypeName targetType = model.typeVariables.isEmpty() ? model.type : model.name;
+        List<PropertyModel> properties = new ArrayList<>(model.superProperties);
+        properties.addAll(model.properties);
+
+        TypeSpec.Builder table = TypeSpec.classBuilder(propertiesClassName.simpleName())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(PropertyTable.class), targetType));
+        if (!model.typeVariables.isEmpty()) {
+            table.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "{$S, $S}", "unchecked", "rawtypes")
+                    .build());
+        }
+        table.addField(FieldSpec.builder(propertiesClassName, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T()", propertiesClassName)
+                .build());
+
+        List<String> indexes = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            String index = NamesHelper.constantName(properties.get(i).name);
+            if (RESERVED_FIELDS.contains(index)) {
+                index += "_PROPERTY";
+            }
+            indexes.add(index);
+            table.addField(FieldSpec.builder(TypeName.INT, index, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$L", i)
+                    .build());
+        }
+
+        // a seed without collisions, on a table with at least twice the slots than names
+        String[] names = properties.stream().map($ -> $.name).toArray(String[]::new);
+        int size = Integer.highestOneBit(Math.max(1, names.length * 2 - 1)) << 1;
+        int seed = 0;
+        int[] slots;
+        while ((slots = perfectHashSlots(names, seed, size)) == null) {
+            if (++seed == 1024) {
+                seed = 0;
+                size <<= 1;
+            }
+        }
+
+        table.addField(FieldSpec.builder(String[].class, "PROPERTY_NAMES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("{$L}", Arrays.stream(names).map($ -> CodeBlock.of("$S", $)).collect(CodeBlock.joining(", ")))
+                .build())
+                .addField(FieldSpec.builder(ArrayTypeName.of(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class))), "PROPERTY_TYPES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("{$L}", properties.stream().map($ -> CodeBlock.of("$T.class", NamesHelper.erasure($.type))).collect(CodeBlock.joining(", ")))
+                        .build())
+                .addField(FieldSpec.builder(TypeName.INT, "HASH_SEED", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", seed)
+                        .build())
+                .addField(FieldSpec.builder(int[].class, "HASH_SLOTS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("{$L}", Arrays.stream(slots).mapToObj($ -> CodeBlock.of("$L", $)).collect(CodeBlock.joining(", ")))
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("size")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.INT)
+                        .addCode("return $L;\n", properties.size())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("name")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, "index")
+                        .returns(String.class)
+                        .addCode("return PROPERTY_NAMES[index];\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("type")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, "index")
+                        .returns(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)))
+                        .addCode("return PROPERTY_TYPES[index];\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("indexOf")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(CharSequence.class, "name")
+                        .returns(TypeName.INT)
+                        .addCode("int index = HASH_SLOTS[$T.hash(name, HASH_SEED) & $L] - 1;\n", PropertyTable.class, slots.length - 1)
+                        .addCode("return index >= 0 && PROPERTY_NAMES[index].contentEquals(name) ? index : -1;\n")
+                        .build())
+                .addMethod(propertySwitch(model, "get", targetType, null, TypeName.OBJECT, properties, indexes, $ -> true));
+
+        if (!model.pojo.immutable()) {
+            table.addMethod(propertySwitch(model, "set", targetType, TypeName.OBJECT, null, properties, indexes, $ -> true));
+        }
+        addPrimitivePropertySwitches(model, table, "Boolean", TypeName.BOOLEAN, targetType, properties, indexes,
+                TypeName.BOOLEAN);
+        addPrimitivePropertySwitches(model, table, "Int", TypeName.INT, targetType, properties, indexes,
+                TypeName.INT, TypeName.SHORT, TypeName.BYTE, TypeName.CHAR);
+        addPrimitivePropertySwitches(model, table, "Long", TypeName.LONG, targetType, properties, indexes,
+                TypeName.LONG, TypeName.INT, TypeName.SHORT, TypeName.BYTE, TypeName.CHAR);
+        addPrimitivePropertySwitches(model, table, "Double", TypeName.DOUBLE, targetType, properties, indexes,
+                TypeName.DOUBLE, TypeName.FLOAT, TypeName.LONG, TypeName.INT, TypeName.SHORT, TypeName.BYTE, TypeName.CHAR);
+
+        return table.build();
+    }
+
+    /**
+     * Adds the {@code get<Suffix>} (for any of the given types) and {@code set<Suffix>} (for the exact type) accessors, if there is any such property.
+     */
+    private static void addPrimitivePropertySwitches(POJOModel model, TypeSpec.Builder table, String suffix, TypeName type, TypeName targetType,
+                                                     List<PropertyModel> properties, List<String> indexes, TypeName... getTypes) {
+        List<TypeName> types = Arrays.asList(getTypes);
+
+        if (properties.stream().anyMatch($ -> types.contains($.type))) {
+            table.addMethod(propertySwitch(model, "get" + suffix, targetType, null, type, properties, indexes, $ -> types.contains($.type)));
+        }
+        if (!model.pojo.immutable() && properties.stream().anyMatch($ -> $.type.equals(type))) {
+            table.addMethod(propertySwitch(model, "set" + suffix, targetType, type, null, properties, indexes, $ -> $.type.equals(type)));
+        }
+    }
+
+    /**
+     * A {@code switch} over the index of the given properties, calling their getter (if {@code returnType} is given) or setter.
+     */
+    private static MethodSpec propertySwitch(POJOModel model, String name, TypeName targetType, TypeName valueType, TypeName returnType,
+                                             List<PropertyModel> properties, List<String> indexes, Predicate<PropertyModel> filter) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(targetType, "instance")
+                .addParameter(TypeName.INT, "index")
+                .beginControlFlow("switch (index)");
+        if (valueType != null) {
+            method.addParameter(valueType, "value");
+        }
+
+        boolean unchecked = false;
+        for (int i = 0; i < properties.size(); i++) {
+            PropertyModel property = properties.get(i);
+
+            if (filter.test(property)) {
+                method.addCode("case $N:\n$>", indexes.get(i));
+                if (returnType != null) {
+                    method.addCode("return instance.get$L();\n$<", property.methodSuffix());
+
+                } else if (valueType.isPrimitive()) {
+                    method.addCode("instance.set$L(value);\nbreak;\n$<", property.methodSuffix());
+
+                } else {
+                    TypeName cast = property.type.isPrimitive() ? property.type.box() : NamesHelper.erasure(property.type);
+                    unchecked |= !property.type.isPrimitive() && !cast.equals(property.type);
+                    method.addCode("instance.set$L(($T) value);\nbreak;\n$<", property.methodSuffix(), cast);
+                }
+            }
+        }
+
+        String error = returnType != null && !returnType.equals(TypeName.OBJECT) ?
+                "not a " + returnType + " property" : valueType != null && valueType.isPrimitive() ? "not a " + valueType + " property" : null;
+        method.addCode("default:\n$>");
+        if (error != null) {
+            method.addCode("throw new $T($S + name(index));\n$<", IllegalArgumentException.class, error + ": ");
+
+        } else {
+            method.addCode("throw new $T($S + index);\n$<", IndexOutOfBoundsException.class, "Index: ");
+        }
+        method.endControlFlow();
+        if (returnType != null) {
+            method.returns(returnType);
+        }
+        if (unchecked && model.typeVariables.isEmpty()) {
+            method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+        return method.build();
+    }
+
+    /**
+     * The slots (index + 1, {@code 0} when empty) of a perfect hash table of the given size for the given names,
+     * or {@code null} if the seed has collisions.
+     */
+    private static int[] perfectHashSlots(String[] names, int seed, int size) {
+        int[] slots = new int[size];
+
+        for (int i = 0; i < names.length; i++) {
+            int slot = PropertyTable.hash(names[i], seed) & (size - 1);
+
+            if (slots[slot] != 0) {
+                return null;
+            }
+            slots[slot] = i + 1;
+        }
+        return slots;
+    }
+
+    private PropertyTableHelper() {
+    }
+
+}
@@ -0,0 +1,46 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+
+import java.util.concurrent.Callable;
+
+import javax.annotation.Generated;
+
+/**
+ * Builds and renders the source of a top-level {@link POJOModel}.
+ * It does not touch javac's model, so it can run outside the compiler thread.
+ */
+public class RenderGenClassTask implements Callable<String> {
+    private final POJOModel model;
+    private final String generator;
+    private TypeSpec typeSpec;
+
+    public RenderGenClassTask(POJOModel model, String generator) {
+        this.model = model;
+        this.generator = generator;
+    }
+
+    @Override
+    public String call() {
+        POJOClass pojoClass = new ProcessClassTask(model).call();
+
+        typeSpec = pojoClass.typeSpec
+                .addAnnotation(AnnotationSpec.builder(Generated.class)
+                        .addMember("value", "$S", generator)
+                        .build())
+                .build();
+        return JavaFile.builder(pojoClass.name.packageName(), typeSpec)
+                .build()
+                .toString();
+    }
+
+    /**
+     * The class rendered by {@link #call()}, or {@code null} if not called yet.
+     */
+    public TypeSpec getTypeSpec() {
+        return typeSpec;
+    }
+
+}
@@ -0,0 +1,213 @@
+package gs.autopojo.processor.tasks;
+
+import com.google.auto.common.MoreElements;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import gs.autopojo.ExtraAnnotation;
+import gs.autopojo.POJO;
+
+/**
+ * Memoizes the symbol lookups and models of a single processing round.
+ * Like javac's model it wraps, it must only be used from the compiler thread
+ * and must not be kept across rounds.
+ */
+public final class RoundCache {
+    private final Types types;
+    private final Elements elements;
+    private final ProcessingStats stats;
+    private int lookupDepth;
+    private long lookupStart;
+    private final Memo<Element, POJO> pojos = new Memo<>("pojos");
+    private final Memo<TypeElement, ClassName> names = new Memo<>("names");
+    private final Memo<ClassName, ClassName> resolved = new Memo<>("resolved");
+    private final Memo<TypeElement, Set<ExecutableElement>> methods = new Memo<>("methods");
+    private final Memo<TypeElement, POJOModel> models = new Memo<>("models");
+    private final Memo<TypeElement, Boolean> copiedAnnotations = new Memo<>("copiedAnnotations");
+    private final Memo<AnnotationMirror, List<AnnotationsHelper.Expansion>> expansions = new Memo<>("expansions");
+    private final Memo<TypeElement, Map<ExtraAnnotation.ApplyOn, List<AnnotationSpec>>> metaAnnotations = new Memo<>("metaAnnotations");
+
+    public RoundCache(Types types, Elements elements) {
+        this(types, elements, ProcessingStats.DISABLED);
+    }
+
+    public RoundCache(Types types, Elements elements, ProcessingStats stats) {
+        this.types = types;
+        this.elements = elements;
+        this.stats = stats;
+    }
+
+    Types getTypes() {
+        return types;
+    }
+
+    Elements getElements() {
+        return elements;
+    }
+
+    ProcessingStats getStats() {
+        return stats;
+    }
+
+    /**
+     * @see POJOHelper#getPOJO(Elements, Element)
+     */
+    POJO getPOJO(Element element) {
+        return pojos.get(element, $ -> lookup(() -> POJOHelper.getPOJO(elements, $)));
+    }
+
+    /**
+     * @see NamesHelper#getName(RoundCache, TypeElement)
+     */
+    ClassName getName(TypeElement element) {
+        return element == null ? null : names.get(element, $ -> NamesHelper.getName(this, $));
+    }
+
+    /**
+     * @see NamesHelper#resolve(RoundCache, TypeName)
+     */
+    <T extends TypeName> T resolve(T name) {
+        return NamesHelper.resolve(this, name);
+    }
+
+    ClassName resolveClassName(ClassName name) {
+        return resolved.get(name, $ -> lookup(() -> getName(elements.getTypeElement(NamesHelper.getQualifiedName($)))));
+    }
+
+    /**
+     * Accounts the {@link ProcessingStats.Phase#LOOKUP} time of the outermost of the recursive lookups.
+     */
+    private <V> V lookup(Supplier<V> loader) {
+        if (lookupDepth++ == 0) {
+            lookupStart = stats.start();
+        }
+        try {
+            return loader.get();
+
+        } finally {
+            if (--lookupDepth == 0) {
+                stats.stop(ProcessingStats.Phase.LOOKUP, lookupStart);
+            }
+        }
+    }
+
+    Set<ExecutableElement> getLocalAndInheritedMethods(TypeElement element) {
+        return methods.get(element, $ -> MoreElements.getLocalAndInheritedMethods($, types, elements));
+    }
+
+    /**
+     * The annotations the given element's ones expand to for the given target, followed by the ones of their meta-annotations.
+     * The expansions of each annotation, and all the ones of the meta-annotations of its type, are computed once per round.
+     *
+     * @see AnnotationsHelper
+     */
+    List<AnnotationSpec> getAnnotations(Element element, ExtraAnnotation.ApplyOn applyOn) {
+        List<AnnotationSpec> annotations = new ArrayList<>();
+
+        for (AnnotationMirror mirror : elements.getAllAnnotationMirrors(element)) {
+            TypeElement type = MoreElements.asType(mirror.getAnnotationType().asElement());
+
+            if (isCopiedAnnotation(type)) {
+                addExpansions(annotations, mirror, applyOn);
+            }
+            annotations.addAll(metaAnnotations.get(type, this::expandMetaAnnotations).get(applyOn));
+        }
+        return annotations;
+    }
+
+    private boolean isCopiedAnnotation(TypeElement type) {
+        return copiedAnnotations.get(type, $ -> AnnotationsHelper.isCopied(elements, $));
+    }
+
+    private void addExpansions(List<AnnotationSpec> annotations, AnnotationMirror mirror, ExtraAnnotation.ApplyOn applyOn) {
+        for (AnnotationsHelper.Expansion expansion : expansions.get(mirror, AnnotationsHelper::expand)) {
+            if (expansion.applyOn.contains(applyOn)) {
+                annotations.add(expansion.spec);
+            }
+        }
+    }
+
+    private Map<ExtraAnnotation.ApplyOn, List<AnnotationSpec>> expandMetaAnnotations(TypeElement type) {
+        Map<ExtraAnnotation.ApplyOn, List<AnnotationSpec>> annotations = new EnumMap<>(ExtraAnnotation.ApplyOn.class);
+
+        for (ExtraAnnotation.ApplyOn applyOn : ExtraAnnotation.ApplyOn.values()) {
+            List<AnnotationSpec> specs = new ArrayList<>();
+            for (AnnotationMirror mirror : elements.getAllAnnotationMirrors(type)) {
+                if (isCopiedAnnotation(MoreElements.asType(mirror.getAnnotationType().asElement()))) {
+                    addExpansions(specs, mirror, applyOn);
+                }
+            }
+            annotations.put(applyOn, specs);
+        }
+        return annotations;
+    }
+
+    public POJOModel getModel(TypeElement element) {
+        return models.get(element, $ -> new ExtractModelTask(this, $).call());
+    }
+
+    public int getHits() {
+        return pojos.hits + names.hits + resolved.hits + methods.hits + models.hits
+                + copiedAnnotations.hits + expansions.hits + metaAnnotations.hits;
+    }
+
+    public int getMisses() {
+        return pojos.misses + names.misses + resolved.misses + methods.misses + models.misses
+                + copiedAnnotations.misses + expansions.misses + metaAnnotations.misses;
+    }
+
+    @Override
+    public String toString() {
+        return "RoundCache{" + pojos + ", " + names + ", " + resolved + ", " + methods + ", " + models + ", "
+                + copiedAnnotations + ", " + expansions + ", " + metaAnnotations + '}';
+    }
+
+    private static final class Memo<K, V> {
+        private final String name;
+        private final Map<K, V> values = new HashMap<>();
+        private int hits;
+        private int misses;
+
+        Memo(String name) {
+            this.name = name;
+        }
+
+        V get(K key, Function<K, V> loader) {
+            V value = values.get(key);
+            if (value != null || values.containsKey(key)) {
+                hits++;
+                return value;
+            }
+
+            // loaders may recursively query this same memo, so computeIfAbsent can not be used
+            misses++;
+            value = loader.apply(key);
+            values.put(key, value);
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + hits + "/" + (hits + misses);
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ClassName;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Base of the immutable and javac-independent models read by {@link ExtractModelTask}.
+ */
+public abstract class TypeModel {
+    public final ClassName name;
+    public final List<Modifier> modifiers;
+
+    TypeModel(ClassName name, List<Modifier> modifiers) {
+        this.name = name;
+        this.modifiers = Collections.unmodifiableList(modifiers);
+    }
+
+    Modifier[] modifiers(Modifier... ignore) {
+        List<Modifier> toIgnore = Arrays.asList(ignore);
+        return modifiers.stream()
+                .filter($ -> !toIgnore.contains($))
+                .toArray(Modifier[]::new);
+    }
+
+}
@@ -0,0 +1,57 @@
+package gs.autopojo.processor.tasks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.annotation.processing.Filer;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the {@link Footprint} report of a top-level {@link POJOModel}'s classes as {@code <Name>.footprint.json} and
+ * {@code <Name>.footprint.txt} resources, next to its compiled classes.
+ *
+ * @see WriteGenClassTask on which thread it runs and with which originating element
+ */
+public class WriteFootprintTask implements Callable<List<FileObject>> {
+    private final Filer filer;
+    private final POJOModel model;
+    private final Footprint footprint;
+    private final List<Footprint.Layout> layouts;
+
+    public WriteFootprintTask(Filer filer, POJOModel model, Footprint footprint, List<Footprint.Layout> layouts) {
+        this.filer = filer;
+        this.model = model;
+        this.footprint = footprint;
+        this.layouts = layouts;
+    }
+
+    @Override
+    public List<FileObject> call() throws IOException {
+        StringBuilder json = new StringBuilder("{\"model\":").append(footprint.modelToJSON()).append(",\"classes\":[");
+        StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < layouts.size(); i++) {
+            json.append(i > 0 ? "," : "").append(layouts.get(i).toJSON());
+            text.append(i > 0 ? "\n" : "").append(layouts.get(i));
+        }
+
+        List<FileObject> files = new ArrayList<>(2);
+        files.add(write("json", json.append("]}\n")));
+        files.add(write("txt", text));
+        return files;
+    }
+
+    private FileObject write(String extension, CharSequence content) throws IOException {
+        FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, model.name.packageName(),
+                model.name.simpleName() + ".footprint." + extension, model.element);
+        try (Writer wr = file.openWriter()) {
+            wr.append(content);
+        }
+        return file;
+    }
+
+}
@@ -0,0 +1,43 @@
+package gs.autopojo.processor.tasks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.annotation.processing.Filer;
+import javax.tools.JavaFileObject;
+
+/**
+ * Writes the class files emitted by {@link EmitGenClassTask}.
+ *
+ * @see WriteGenClassTask on which thread it runs and with which originating element
+ */
+public class WriteGenClassFileTask implements Callable<List<JavaFileObject>> {
+    private final Filer filer;
+    private final POJOModel model;
+    private final Map<String, byte[]> classFiles;
+
+    public WriteGenClassFileTask(Filer filer, POJOModel model, Map<String, byte[]> classFiles) {
+        this.filer = filer;
+        this.model = model;
+        this.classFiles = classFiles;
+    }
+
+    @Override
+    public List<JavaFileObject> call() throws IOException {
+        List<JavaFileObject> files = new ArrayList<>(classFiles.size());
+
+        for (Map.Entry<String, byte[]> classFile : classFiles.entrySet()) {
+            JavaFileObject file = filer.createClassFile(classFile.getKey(), model.element);
+            try (OutputStream out = file.openOutputStream()) {
+                out.write(classFile.getValue());
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+}
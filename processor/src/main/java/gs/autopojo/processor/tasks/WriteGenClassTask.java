@@ -1,7 +1,5 @@
 package gs.autopojo.processor.tasks;
 
-import com.squareup.javapoet.JavaFile;
-
 import java.io.IOException;
 import java.io.Writer;
 import java.util.concurrent.Callable;
@@ -11,24 +9,29 @@ import javax.tools.JavaFileObject;
 
 import static gs.autopojo.processor.tasks.NamesHelper.getQualifiedName;
 
+/**
+ * Writes a source rendered by {@link RenderGenClassTask}.
+ * {@link Filer} is not thread-safe, so it (as any other task writing through it) must run on the compiler thread.
+ */
 public class WriteGenClassTask implements Callable<JavaFileObject> {
     private final Filer filer;
-    private final POJOClass pojoClass;
+    private final POJOModel model;
+    private final String source;
 
-    public WriteGenClassTask(Filer filer, POJOClass pojoClass) {
+    public WriteGenClassTask(Filer filer, POJOModel model, String source) {
         this.filer = filer;
-        this.pojoClass = pojoClass;
+        this.model = model;
+        this.source = source;
     }
 
     @Override
     public JavaFileObject call() throws IOException {
-        String fileName = getQualifiedName(pojoClass.name);
+        String fileName = getQualifiedName(model.name);
 
-        JavaFileObject file = filer.createSourceFile(fileName);
+        // the top-level interface is the only originating element, as required by isolating processors
+        JavaFileObject file = filer.createSourceFile(fileName, model.element);
         try (Writer wr = file.openWriter()) {
-            JavaFile.builder(pojoClass.name.packageName(), pojoClass.typeSpec.build())
-                    .build()
-                    .writeTo(wr);
+            wr.write(source);
         }
         return file;
     }
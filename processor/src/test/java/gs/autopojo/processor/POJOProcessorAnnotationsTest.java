@@ -0,0 +1,151 @@
+package gs.autopojo.processor;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the annotations copied to the generated class, fields, getters and setters, read back through reflection:
+ * {@code @ExtraAnnotation}s filtered by their {@code applyOn} (all of them when empty), repeated ones in their
+ * {@code @ExtraAnnotations} container, and the ones of a meta-annotation shared by several members.
+ */
+public class POJOProcessorAnnotationsTest {
+    private static final String PACKAGE = "gs.autopojo.test";
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static URLClassLoader loader;
+
+    private static Class<?> thing;
+
+    @BeforeClass
+    public static void compile() throws Exception {
+        File sources = folder.newFolder("src");
+
+        writeSource(sources, "Tag", "@Retention(RetentionPolicy.RUNTIME)\npublic @interface Tag {\n String value();\n}");
+        writeSource(sources, "Mark", "@Retention(RetentionPolicy.RUNTIME)\npublic @interface Mark {\n}");
+        writeSource(sources, "Audited", "@Retention(RetentionPolicy.RUNTIME)\n" +
+                "@ExtraAnnotation(value = \"gs.autopojo.test.Tag\", members = @ExtraAnnotation.Member(format = \"$S\", value = \"audited\"),\n" +
+                "  applyOn = ExtraAnnotation.ApplyOn.GETTER)\npublic @interface Audited {\n}");
+        writeSource(sources, "ThingPOJO", "@POJO\n" +
+                "@ExtraAnnotation(value = \"gs.autopojo.test.Tag\", members = @ExtraAnnotation.Member(format = \"$S\", value = \"class\"))\n" +
+                "public interface ThingPOJO {\n" +
+                " @ExtraAnnotation(value = \"gs.autopojo.test.Tag\", members = @ExtraAnnotation.Member(format = \"$S\", value = \"getter\"),\n" +
+                "   applyOn = ExtraAnnotation.ApplyOn.GETTER)\n int getterOnly();\n" +
+                " @ExtraAnnotation(value = \"gs.autopojo.test.Tag\", members = @ExtraAnnotation.Member(format = \"$S\", value = \"all\"),\n" +
+                "   applyOn = {})\n int everywhere();\n" +
+                " @ExtraAnnotation(value = \"gs.autopojo.test.Tag\", members = @ExtraAnnotation.Member(format = \"$S\", value = \"field\"),\n" +
+                "   applyOn = ExtraAnnotation.ApplyOn.FIELD)\n" +
+                " @ExtraAnnotation(value = \"gs.autopojo.test.Mark\", applyOn = ExtraAnnotation.ApplyOn.SETTER)\n int repeated();\n" +
+                " @Audited\n int first();\n" +
+                " @Audited\n int second();\n" +
+                "}");
+
+        File classes = folder.newFolder("classes");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        File[] files = new File(sources, PACKAGE.replace('.', File.separatorChar)).listFiles();
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-s", folder.newFolder("generated").getPath(),
+                "-d", classes.getPath()), null, fileManager.getJavaFileObjects(files));
+        task.setProcessors(Collections.singleton(new POJOProcessor()));
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+
+        loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, POJOProcessorAnnotationsTest.class.getClassLoader());
+        thing = loader.loadClass(PACKAGE + ".Thing");
+    }
+
+    @AfterClass
+    public static void close() throws IOException {
+        loader.close();
+    }
+
+    @Test
+    public void classAnnotations() throws Exception {
+        assertEquals(Collections.singletonList("Tag(class)"), annotations(thing));
+    }
+
+    @Test
+    public void applyOnFilters() throws Exception {
+        assertEquals(Collections.emptyList(), annotations(thing.getDeclaredField("getterOnly")));
+        assertEquals(Collections.singletonList("Tag(getter)"), annotations(thing.getMethod("getGetterOnly")));
+        assertEquals(Collections.emptyList(), annotations(thing.getMethod("setGetterOnly", int.class)));
+    }
+
+    @Test
+    public void emptyApplyOnMeansAll() throws Exception {
+        assertEquals(Collections.singletonList("Tag(all)"), annotations(thing.getDeclaredField("everywhere")));
+        assertEquals(Collections.singletonList("Tag(all)"), annotations(thing.getMethod("getEverywhere")));
+        assertEquals(Collections.singletonList("Tag(all)"), annotations(thing.getMethod("setEverywhere", int.class)));
+    }
+
+    @Test
+    public void repeatedInContainer() throws Exception {
+        assertEquals(Collections.singletonList("Tag(field)"), annotations(thing.getDeclaredField("repeated")));
+        assertEquals(Collections.emptyList(), annotations(thing.getMethod("getRepeated")));
+        assertEquals(Collections.singletonList("Mark"), annotations(thing.getMethod("setRepeated", int.class)));
+    }
+
+    @Test
+    public void metaAnnotationsOnEveryMember() throws Exception {
+        for (String name : Arrays.asList("first", "second")) {
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+            assertEquals(name, Collections.singletonList("Audited"), annotations(thing.getDeclaredField(name)));
+            assertEquals(name, Arrays.asList("Audited", "Tag(audited)"), annotations(thing.getMethod("get" + capitalized)));
+            assertEquals(name, Collections.singletonList("Audited"), annotations(thing.getMethod("set" + capitalized, int.class)));
+        }
+    }
+
+    private static void writeSource(File sources, String name, String body) throws IOException {
+        File dir = new File(sources, PACKAGE.replace('.', File.separatorChar));
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+
+        String content = "package " + PACKAGE + ";\n\nimport java.lang.annotation.Retention;\nimport java.lang.annotation.RetentionPolicy;\n\n" +
+                "import gs.autopojo.ExtraAnnotation;\nimport gs.autopojo.POJO;\n\n" + body + "\n";
+        Files.write(new File(dir, name + ".java").toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The simple names of the annotations, along with the value of the {@code Tag}s (whose {@code toString} varies across JDKs).
+     */
+    private static List<String> annotations(AnnotatedElement element) throws ReflectiveOperationException {
+        List<String> annotations = new ArrayList<>();
+
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            Class<? extends Annotation> type = annotation.annotationType();
+            annotations.add(type.getSimpleName().equals("Tag") ? "Tag(" + type.getMethod("value").invoke(annotation) + ")" : type.getSimpleName());
+        }
+        Collections.sort(annotations);
+        return annotations;
+    }
+
+}
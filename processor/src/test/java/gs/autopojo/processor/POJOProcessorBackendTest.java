@@ -0,0 +1,378 @@
+package gs.autopojo.processor;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the {@code bytecode} backend against the {@code source} one: the same interfaces are compiled with each of them
+ * (along with a class using the generated ones, so their generic signatures are read back by {@code javac}),
+ * and the generated classes must have the same API and behave the same when driven through reflection.
+ */
+public class POJOProcessorBackendTest {
+    private static final String PACKAGE = "gs.autopojo.test";
+    private static final String[] CLASSES = {"Thing", "Part", "Empty", "Hidden"};
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static File sourceBackend;
+
+    private static File bytecodeBackend;
+
+    @BeforeClass
+    public static void compileBothBackends() throws IOException {
+        File sources = folder.newFolder("src");
+
+        writeSource(sources, "ThingPOJO", "@POJO(builder = true)\npublic interface ThingPOJO extends java.io.Serializable {\n" +
+                " int id();\n long size();\n boolean active();\n double ratio();\n float weight();\n char code();\n" +
+                " byte flags();\n short level();\n Integer count();\n String name();\n CharSequence note();\n" +
+                " int[] values();\n String[] labels();\n long[][] grid();\n java.util.List<String> tags();\n" +
+                " java.util.Map<String, java.util.List<Integer>> index();\n java.util.List<? extends Number> numbers();\n" +
+                " java.util.concurrent.TimeUnit unit();\n PartPOJO part();\n}");
+        writeSource(sources, "PartPOJO", "@POJO(builder = true, immutable = true)\npublic interface PartPOJO {\n" +
+                " int id();\n String label();\n double weight();\n float ratio();\n long stamp();\n double[] weights();\n" +
+                " java.util.List<String> tags();\n}");
+        writeSource(sources, "EmptyPOJO", "@POJO\npublic interface EmptyPOJO {\n}");
+        writeSource(sources, "HiddenPOJO", "@POJO\ninterface HiddenPOJO {\n int x();\n String y();\n}");
+        writeSource(sources, "FallbackPOJO", "@POJO(cacheHashCode = true)\npublic interface FallbackPOJO {\n ThingPOJO thing();\n}");
+        writeSource(sources, "Usage", "class Usage {\n" +
+                " static int sum(Thing thing) {\n  int sum = 0;\n  for (String tag : thing.getTags()) {\n   sum += tag.length();\n  }\n" +
+                "  for (Number number : thing.getNumbers()) {\n   sum += number.intValue();\n  }\n" +
+                "  return sum + thing.getIndex().get(\"key\").get(0) + thing.getPart().getTags().get(0).length();\n }\n" +
+                " static Thing build() {\n  return new Thing.Builder().id(1).part(new Part.Builder().label(\"part\").build()).build().withName(\"thing\");\n }\n" +
+                "}");
+
+        sourceBackend = compile(sources, POJOProcessor.BACKEND_SOURCE);
+        bytecodeBackend = compile(sources, POJOProcessor.BACKEND_BYTECODE);
+    }
+
+    @Test
+    public void bytecodeBackendOnlyRendersUnsupportedModels() {
+        assertEquals(new HashSet<>(Arrays.asList("Thing.java", "Part.java", "Empty.java", "Hidden.java", "Fallback.java")),
+                generatedFiles(new File(sourceBackend, "generated")));
+        assertEquals(Collections.singleton("Fallback.java"), generatedFiles(new File(bytecodeBackend, "generated")));
+    }
+
+    @Test
+    public void sameAPI() throws Exception {
+        try (URLClassLoader source = load(sourceBackend); URLClassLoader bytecode = load(bytecodeBackend)) {
+            for (String name : CLASSES) {
+                assertEquals(name, describeAPI(source.loadClass(PACKAGE + "." + name)), describeAPI(bytecode.loadClass(PACKAGE + "." + name)));
+            }
+        }
+    }
+
+    @Test
+    public void sameBehavior() throws Exception {
+        try (URLClassLoader source = load(sourceBackend); URLClassLoader bytecode = load(bytecodeBackend)) {
+            for (String name : CLASSES) {
+                List<String> expected = describeBehavior(source.loadClass(PACKAGE + "." + name));
+                List<String> actual = describeBehavior(bytecode.loadClass(PACKAGE + "." + name));
+
+                assertEquals(name, String.join("\n", expected), String.join("\n", actual));
+            }
+
+            // a source rendered class using an emitted one
+            Class<?> fallback = bytecode.loadClass(PACKAGE + ".Fallback");
+            Object instance = create(fallback, 1);
+            assertEquals(describeBehavior(source.loadClass(PACKAGE + ".Fallback")), describeBehavior(fallback));
+            assertTrue(instance.toString(), instance.toString().startsWith("Fallback{thing=Thing{id="));
+        }
+    }
+
+    private static void writeSource(File sources, String name, String body) throws IOException {
+        File dir = new File(sources, PACKAGE.replace('.', File.separatorChar));
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+
+        String content = "package " + PACKAGE + ";\n\nimport gs.autopojo.POJO;\n\n" + body + "\n";
+        Files.write(new File(dir, name + ".java").toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static File compile(File sources, String backend) throws IOException {
+        File output = folder.newFolder(backend);
+        File generated = new File(output, "generated");
+        File classes = new File(output, "classes");
+        assertTrue(generated.mkdirs() && classes.mkdirs());
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        Iterable<? extends JavaFileObject> units;
+        try (Stream<Path> files = Files.walk(sources.toPath())) {
+            units = fileManager.getJavaFileObjects(files
+                    .filter($ -> $.toString().endsWith(".java"))
+                    .map(Path::toFile)
+                    .toArray(File[]::new));
+        }
+
+        List<String> options = Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-s", generated.getPath(),
+                "-d", classes.getPath(),
+                "-A" + POJOProcessor.OPTION_BACKEND + "=" + backend);
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+        task.setProcessors(Collections.singleton(new POJOProcessor()));
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        return output;
+    }
+
+    private static Set<String> generatedFiles(File generated) {
+        String[] files = new File(generated, PACKAGE.replace('.', File.separatorChar)).list();
+        return files == null ? Collections.emptySet() : new HashSet<>(Arrays.asList(files));
+    }
+
+    private static URLClassLoader load(File output) throws IOException {
+        return new URLClassLoader(new URL[]{new File(output, "classes").toURI().toURL()},
+                POJOProcessorBackendTest.class.getClassLoader());
+    }
+
+    private static List<String> describeAPI(Class<?> type) {
+        List<String> api = new ArrayList<>();
+        api.add(Modifier.toString(type.getModifiers()) + " " + type.getName() +
+                " extends " + type.getGenericSuperclass() + " implements " + Arrays.toString(type.getGenericInterfaces()));
+        api.add("declared by " + type.getDeclaringClass() + ", declaring " + Stream.of(type.getDeclaredClasses())
+                .map(Class::getName).sorted().collect(Collectors.toList()));
+
+        for (Field field : type.getDeclaredFields()) {
+            if (!field.isSynthetic()) {
+                api.add(field.toGenericString());
+            }
+        }
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (!constructor.isSynthetic()) {
+                api.add(constructor.toGenericString());
+            }
+        }
+        for (Method method : type.getDeclaredMethods()) {
+            if (!method.isSynthetic()) {
+                api.add(method.toGenericString());
+            }
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            api.addAll(describeAPI(nested));
+        }
+        Collections.sort(api);
+        return api;
+    }
+
+    /**
+     * Drives instances of the given class through its API, describing every result.
+     */
+    private static List<String> describeBehavior(Class<?> type) throws Exception {
+        List<String> log = new ArrayList<>();
+        Object a = create(type, 1);
+        Object b = create(type, 1);
+        Object c = create(type, 2);
+
+        log.add("toString " + a);
+        log.add("hashCode " + a.hashCode() + " " + c.hashCode());
+        log.add("equals " + a.equals(b) + " " + a.equals(c) + " " + a.equals(a) + " " + a.equals(null) + " " + a.equals("other"));
+        log.add("appendTo " + method(type, "appendTo").invoke(a, new StringBuilder("prefix:")));
+
+        for (Method method : methods(type)) {
+            String name = method.getName();
+
+            if (name.startsWith("get") && method.getParameterCount() == 0) {
+                log.add(name + " " + describe(method.invoke(a)));
+
+            } else if (name.startsWith("set")) {
+                Object d = create(type, 1);
+                method.invoke(d, sample(method.getParameterTypes()[0], 5));
+                log.add(name + " " + d + " " + d.equals(a) + " " + d.hashCode());
+
+            } else if (name.startsWith("with")) {
+                Object current = method(type, "get" + name.substring("with".length())).invoke(a);
+                Object same = method.invoke(a, current);
+                Object changed = method.invoke(a, sample(method.getParameterTypes()[0], 3));
+                log.add(name + " " + (same == a) + " " + a.equals(same) + " " + changed + " " + (changed == a) + " " + a.equals(changed));
+
+                Class<?> parameter = method.getParameterTypes()[0];
+                if (parameter == double.class || parameter == float.class) {
+                    Object zero = method.invoke(a, parameter == double.class ? (Object) 0.0 : (Object) 0f);
+                    Object negativeZero = method.invoke(zero, parameter == double.class ? (Object) Double.valueOf(-0.0) : (Object) Float.valueOf(-0f));
+                    Object nan = method.invoke(a, parameter == double.class ? (Object) Double.NaN : (Object) Float.NaN);
+                    Object sameNaN = method.invoke(nan, parameter == double.class ? (Object) Double.NaN : (Object) Float.NaN);
+                    log.add(name + " " + negativeZero + " " + (negativeZero == zero) + " " + negativeZero.equals(zero) + " " + (sameNaN == nan));
+                }
+            }
+        }
+
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (Arrays.equals(constructor.getParameterTypes(), new Class<?>[]{type})) {
+                constructor.setAccessible(true);
+
+                Object copy = constructor.newInstance(a);
+                log.add("copy " + copy + " " + (copy == a) + " " + copy.equals(a));
+            }
+        }
+
+        Class<?> builderType = Stream.of(type.getDeclaredClasses())
+                .filter($ -> $.getSimpleName().equals("Builder"))
+                .findFirst().orElse(null);
+        if (builderType != null) {
+            Method build = method(builderType, "build");
+            Constructor<?> constructor = builderType.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            log.add("empty builder " + build.invoke(constructor.newInstance()));
+
+            Object builder = method(type, "toBuilder").invoke(a);
+            Object built = build.invoke(builder);
+            log.add("toBuilder " + built + " " + (built == a) + " " + built.equals(a));
+
+            for (Method method : methods(builderType)) {
+                if (method.getParameterCount() == 0 && method.getReturnType() != type) {
+                    log.add("builder " + method.getName() + " " + describe(method.invoke(builder)));
+
+                } else if (method.getParameterCount() == 1 && method.getReturnType() == builderType) {
+                    Object returned = method.invoke(builder, sample(method.getParameterTypes()[0], 6));
+                    log.add("builder " + method.getName() + " " + (returned == builder));
+                }
+            }
+            built = build.invoke(builder);
+            log.add("built " + built + " " + built.equals(a) + " " + built.hashCode());
+        }
+        return log;
+    }
+
+    /**
+     * An instance of a generated class, through its no-args constructor and setters or its all-args constructor.
+     */
+    private static Object create(Class<?> type, int seed) throws Exception {
+        Constructor<?> constructor = Stream.of(type.getDeclaredConstructors())
+                .filter($ -> !$.isSynthetic())
+                .max(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElseThrow(AssertionError::new);
+        constructor.setAccessible(true);
+
+        if (constructor.getParameterCount() == 1 && constructor.getParameterTypes()[0] == type) {
+            Constructor<?> noArgs = type.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+
+            Object instance = noArgs.newInstance();
+            int i = 0;
+            for (Method method : methods(type)) {
+                if (method.getName().startsWith("set")) {
+                    method.invoke(instance, sample(method.getParameterTypes()[0], seed * 10 + i++));
+                }
+            }
+            return instance;
+        }
+
+        Object[] arguments = new Object[constructor.getParameterCount()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = sample(constructor.getParameterTypes()[i], seed * 10 + i);
+        }
+        return constructor.newInstance(arguments);
+    }
+
+    private static Object sample(Class<?> type, int seed) throws Exception {
+        if (type == int.class || type == Integer.class) {
+            return seed;
+
+        } else if (type == long.class) {
+            return seed * 1_000_000_007L;
+
+        } else if (type == boolean.class) {
+            return seed % 2 == 1;
+
+        } else if (type == double.class) {
+            return seed + 0.25;
+
+        } else if (type == float.class) {
+            return seed + 0.5f;
+
+        } else if (type == char.class) {
+            return (char) ('a' + seed % 26);
+
+        } else if (type == byte.class) {
+            return (byte) -seed;
+
+        } else if (type == short.class) {
+            return (short) (seed * 300);
+
+        } else if (type == String.class || type == CharSequence.class) {
+            return "s" + seed;
+
+        } else if (type == int[].class) {
+            return new int[]{seed, -seed};
+
+        } else if (type == double[].class) {
+            return new double[]{seed, 0.5};
+
+        } else if (type == String[].class) {
+            return new String[]{"a" + seed, null};
+
+        } else if (type == long[][].class) {
+            return new long[][]{{seed}, {seed + 1, seed + 2}};
+
+        } else if (type == List.class) {
+            return Arrays.asList("l" + seed, "m");
+
+        } else if (type == java.util.Map.class) {
+            return Collections.singletonMap("k" + seed, Collections.singletonList(seed));
+
+        } else if (type == TimeUnit.class) {
+            return TimeUnit.values()[seed % TimeUnit.values().length];
+
+        } else if (type.getName().startsWith(PACKAGE + ".")) {
+            return create(type, seed);
+        }
+        throw new AssertionError("No sample for " + type);
+    }
+
+    private static String describe(Object value) {
+        return value != null && value.getClass().isArray() ? Arrays.deepToString(new Object[]{value}) : String.valueOf(value);
+    }
+
+    private static Method method(Class<?> type, String name) {
+        return methods(type).stream()
+                .filter($ -> $.getName().equals(name))
+                .findFirst().orElseThrow(() -> new AssertionError("No " + name + " on " + type));
+    }
+
+    /**
+     * The declared methods, in a stable order.
+     */
+    private static List<Method> methods(Class<?> type) {
+        return Stream.of(type.getDeclaredMethods())
+                .filter($ -> !$.isSynthetic())
+                .peek($ -> $.setAccessible(true))
+                .sorted(Comparator.comparing(Method::getName).thenComparing(Method::toGenericString))
+                .collect(Collectors.toList());
+    }
+
+}
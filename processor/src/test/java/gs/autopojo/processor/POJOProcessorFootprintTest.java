@@ -0,0 +1,87 @@
+package gs.autopojo.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the footprint options are validated, reporting an error instead of failing the processor.
+ */
+public class POJOProcessorFootprintTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void budgetIsReported() throws IOException {
+        List<String> messages = process(Diagnostic.Kind.WARNING, "-Aautopojo.footprintBudget=16");
+
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0), messages.get(0).contains("Thing is estimated at 24 bytes per instance, over the 16 bytes budget"));
+    }
+
+    @Test
+    public void invalidBudgetIsAnError() throws IOException {
+        assertEquals(Collections.singletonList("Unsupported autopojo.footprintBudget 1k, expected a positive number of bytes"),
+                process(Diagnostic.Kind.ERROR, "-Aautopojo.footprintBudget=1k"));
+    }
+
+    @Test
+    public void invalidHeaderSizeIsAnError() throws IOException {
+        assertEquals(Collections.singletonList("Unsupported autopojo.footprintHeaderSize -12, expected a positive number of bytes"),
+                process(Diagnostic.Kind.ERROR, "-Aautopojo.footprint=true", "-Aautopojo.footprintHeaderSize=-12"));
+    }
+
+    @Test
+    public void unknownLayoutFallsBackToJDK8() throws IOException {
+        assertEquals(Collections.singletonList("Unsupported autopojo.footprintLayout jdk11, using jdk8"),
+                process(Diagnostic.Kind.WARNING, "-Aautopojo.footprintBudget=1024", "-Aautopojo.footprintLayout=jdk11"));
+    }
+
+    private List<String> process(Diagnostic.Kind kind, String... options) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///gs/autopojo/test/ThingPOJO.java"), JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return "package gs.autopojo.test;\n\nimport gs.autopojo.POJO;\n\n@POJO\npublic interface ThingPOJO {\n long id();\n int x();\n}\n";
+            }
+
+        };
+
+        List<String> arguments = new ArrayList<>(Arrays.asList("-proc:only", "-classpath", System.getProperty("java.class.path"),
+                "-s", folder.newFolder("generated").getPath(), "-d", folder.newFolder("classes").getPath()));
+        arguments.addAll(Arrays.asList(options));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8),
+                diagnostics, arguments, null, Collections.singletonList(source));
+        task.setProcessors(Collections.singleton(new POJOProcessor()));
+        task.call();
+
+        return diagnostics.getDiagnostics().stream()
+                .filter($ -> $.getKind() == kind && $.getCode().endsWith(".proc.messager")) // not javac's own ones
+                .map($ -> $.getMessage(null))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+}
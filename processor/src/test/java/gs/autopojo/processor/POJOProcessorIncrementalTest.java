@@ -0,0 +1,324 @@
+package gs.autopojo.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the contract Gradle requires from an <i>isolating</i> annotation processor:
+ * every generated file has exactly one originating element (its top-level interface)
+ * and a compilation of a single edited file only regenerates that file's outputs.
+ */
+public class POJOProcessorIncrementalTest {
+    private static final String PACKAGE = "gs.autopojo.test";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File sources;
+
+    private File generatedSources;
+
+    private File classes;
+
+    private File libraries;
+
+    private Map<String, List<String>> generated;
+
+    private List<String> processorOptions;
+
+    @Before
+    public void setup() throws IOException {
+        sources = folder.newFolder("src");
+        generatedSources = folder.newFolder("generated");
+        classes = folder.newFolder("classes");
+        libraries = folder.newFolder("libs");
+        generated = new LinkedHashMap<>();
+        processorOptions = new ArrayList<>();
+
+        writeSource("PersonPOJO", "@POJO(builder = true)\npublic interface PersonPOJO {\n int id();\n String name();\n}");
+        writeSource("EmployeePOJO", "@POJO(builder = true)\npublic interface EmployeePOJO extends PersonPOJO {\n String area();\n}");
+        writeSource("FoodModel", "@POJO(\"Food\")\npublic interface FoodModel {\n String name();\n @POJO interface Taste {\n  int level();\n }\n}");
+    }
+
+    @Test
+    public void fullBuildHasOneOriginatingElementPerFile() throws IOException {
+        compile("PersonPOJO", "EmployeePOJO", "FoodModel");
+
+        assertEquals(new HashSet<>(Arrays.asList(PACKAGE + ".Person", PACKAGE + ".Employee", PACKAGE + ".Food")),
+                generated.keySet());
+        assertEquals(Collections.singletonList(PACKAGE + ".PersonPOJO"), generated.get(PACKAGE + ".Person"));
+        assertEquals(Collections.singletonList(PACKAGE + ".EmployeePOJO"), generated.get(PACKAGE + ".Employee"));
+        assertEquals(Collections.singletonList(PACKAGE + ".FoodModel"), generated.get(PACKAGE + ".Food"));
+    }
+
+    @Test
+    public void singleFileEditOnlyRegeneratesItsOutputs() throws IOException {
+        compile("PersonPOJO", "EmployeePOJO", "FoodModel");
+        generated.clear();
+
+        writeSource("EmployeePOJO", "@POJO(builder = true)\npublic interface EmployeePOJO extends PersonPOJO {\n String area();\n int level();\n}");
+
+        compile("EmployeePOJO");
+
+        assertEquals(Collections.singleton(PACKAGE + ".Employee"), generated.keySet());
+        assertEquals(Collections.singletonList(PACKAGE + ".EmployeePOJO"), generated.get(PACKAGE + ".Employee"));
+    }
+
+    @Test
+    public void supertypeEditDoesNotRegenerateSubtypes() throws IOException {
+        compile("PersonPOJO", "EmployeePOJO", "FoodModel");
+        generated.clear();
+
+        compile("PersonPOJO");
+
+        assertEquals(Collections.singleton(PACKAGE + ".Person"), generated.keySet());
+    }
+
+    @Test
+    public void footprintReportsHaveOneOriginatingElement() throws IOException {
+        processorOptions.add("-A" + POJOProcessor.OPTION_FOOTPRINT + "=true");
+        compile("PersonPOJO", "EmployeePOJO", "FoodModel");
+
+        assertEquals(Collections.singletonList(PACKAGE + ".EmployeePOJO"), generated.get(PACKAGE + "/Employee.footprint.json"));
+        assertEquals(Collections.singletonList(PACKAGE + ".EmployeePOJO"), generated.get(PACKAGE + "/Employee.footprint.txt"));
+        assertEquals(Collections.singletonList(PACKAGE + ".FoodModel"), generated.get(PACKAGE + "/Food.footprint.json"));
+        generated.clear();
+
+        compile("EmployeePOJO");
+
+        assertEquals(new HashSet<>(Arrays.asList(PACKAGE + ".Employee", PACKAGE + "/Employee.footprint.json", PACKAGE + "/Employee.footprint.txt")),
+                generated.keySet());
+    }
+
+    @Test
+    public void metaAnnotationFromClasspathStillGenerates() throws IOException {
+        File annotations = folder.newFolder("annotations");
+        File annotation = new File(annotations, "MyPOJO.java");
+        Files.write(annotation.toPath(), ("package " + PACKAGE + ";\n\nimport gs.autopojo.POJO;\n\n" +
+                "@POJO(builder = true)\npublic @interface MyPOJO {\n}\n").getBytes(StandardCharsets.UTF_8));
+        writeSource("ThingPOJO", "@MyPOJO\npublic interface ThingPOJO {\n String name();\n}");
+
+        // the annotation type is only on the classpath, as it is when an isolating build only recompiles ThingPOJO
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        assertTrue(compiler.getTask(null, fileManager, null, Arrays.asList("-proc:none", "-d", libraries.getPath(),
+                "-classpath", System.getProperty("java.class.path")), null, fileManager.getJavaFileObjects(annotation)).call());
+
+        compile("ThingPOJO");
+
+        assertEquals(Collections.singleton(PACKAGE + ".Thing"), generated.keySet());
+        assertEquals(Collections.singletonList(PACKAGE + ".ThingPOJO"), generated.get(PACKAGE + ".Thing"));
+    }
+
+    @Test
+    public void emittedClassFilesHaveOneOriginatingElement() throws IOException {
+        processorOptions.add("-A" + POJOProcessor.OPTION_BACKEND + "=" + POJOProcessor.BACKEND_BYTECODE);
+        compile("PersonPOJO", "EmployeePOJO", "FoodModel");
+
+        // Employee (with a superclass) and Food (with a nested type) fall back to sources
+        assertEquals(new HashSet<>(Arrays.asList(PACKAGE + ".Person", PACKAGE + ".Person$Builder", PACKAGE + ".Employee", PACKAGE + ".Food")),
+                generated.keySet());
+        assertEquals(Collections.singletonList(PACKAGE + ".PersonPOJO"), generated.get(PACKAGE + ".Person"));
+        assertEquals(Collections.singletonList(PACKAGE + ".PersonPOJO"), generated.get(PACKAGE + ".Person$Builder"));
+        assertTrue(new File(classes, PACKAGE.replace('.', File.separatorChar) + File.separator + "Person$Builder.class").isFile());
+        generated.clear();
+
+        compile("PersonPOJO");
+
+        assertEquals(new HashSet<>(Arrays.asList(PACKAGE + ".Person", PACKAGE + ".Person$Builder")), generated.keySet());
+    }
+
+    private void writeSource(String name, String body) throws IOException {
+        File dir = new File(sources, PACKAGE.replace('.', File.separatorChar));
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+
+        String content = "package " + PACKAGE + ";\n\nimport gs.autopojo.POJO;\n\n" + body + "\n";
+        Files.write(new File(dir, name + ".java").toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void compile(String... names) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        File dir = new File(sources, PACKAGE.replace('.', File.separatorChar));
+
+        Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(Stream.of(names)
+                .map($ -> new File(dir, $ + ".java"))
+                .toArray(File[]::new));
+
+        List<String> options = new ArrayList<>(Arrays.asList(
+                "-proc:only",
+                "-implicit:none",
+                "-classpath", System.getProperty("java.class.path") + File.pathSeparator + libraries.getPath(),
+                "-sourcepath", sources.getPath() + File.pathSeparator + generatedSources.getPath(),
+                "-s", generatedSources.getPath(),
+                "-d", classes.getPath()));
+        options.addAll(processorOptions);
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+        task.setProcessors(Collections.singleton(new RecordingProcessor(new POJOProcessor())));
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+    }
+
+    /**
+     * Delegates to the real processor, handing it a {@link Filer} that records originating elements.
+     */
+    private class RecordingProcessor extends AbstractProcessor {
+        private final POJOProcessor delegate;
+
+        RecordingProcessor(POJOProcessor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override
+        public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public synchronized void init(ProcessingEnvironment env) {
+            super.init(env);
+            delegate.init(new RecordingEnvironment(env));
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            return delegate.process(annotations, roundEnv);
+        }
+
+    }
+
+    private class RecordingEnvironment implements ProcessingEnvironment {
+        private final ProcessingEnvironment env;
+        private final Filer filer;
+
+        RecordingEnvironment(ProcessingEnvironment env) {
+            this.env = env;
+            this.filer = new RecordingFiler(env.getFiler());
+        }
+
+        @Override
+        public Map<String, String> getOptions() {
+            return env.getOptions();
+        }
+
+        @Override
+        public Messager getMessager() {
+            return env.getMessager();
+        }
+
+        @Override
+        public Filer getFiler() {
+            return filer;
+        }
+
+        @Override
+        public Elements getElementUtils() {
+            return env.getElementUtils();
+        }
+
+        @Override
+        public Types getTypeUtils() {
+            return env.getTypeUtils();
+        }
+
+        @Override
+        public SourceVersion getSourceVersion() {
+            return env.getSourceVersion();
+        }
+
+        @Override
+        public Locale getLocale() {
+            return env.getLocale();
+        }
+
+    }
+
+    private class RecordingFiler implements Filer {
+        private final Filer filer;
+
+        RecordingFiler(Filer filer) {
+            this.filer = filer;
+        }
+
+        private void record(CharSequence name, Element[] originatingElements) {
+            generated.put(name.toString(), Stream.of(originatingElements)
+                    .map($ -> ((TypeElement) $).getQualifiedName().toString())
+                    .collect(Collectors.toList()));
+        }
+
+        @Override
+        public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements) throws IOException {
+            record(name, originatingElements);
+            return filer.createSourceFile(name, originatingElements);
+        }
+
+        @Override
+        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) throws IOException {
+            record(name, originatingElements);
+            return filer.createClassFile(name, originatingElements);
+        }
+
+        @Override
+        public FileObject createResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName, Element... originatingElements) throws IOException {
+            record(pkg + "/" + relativeName, originatingElements);
+            return filer.createResource(location, pkg, relativeName, originatingElements);
+        }
+
+        @Override
+        public FileObject getResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName) throws IOException {
+            return filer.getResource(location, pkg, relativeName);
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package gs.autopojo.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@code @Lazy} properties are rejected at processing time when their lazy view can not implement the interface:
+ * it must return the declared types, which a nested {@code @POJO} property (generated as another class) does not.
+ */
+public class POJOProcessorLazyTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void nestedPOJODependencyIsRejected() throws IOException {
+        List<String> errors = process("@POJO\npublic interface ThingPOJO {\n" +
+                " InnerPOJO inner();\n" +
+                " @Lazy\n default int innerX() {\n  return inner().x();\n }\n" +
+                " @POJO\n interface InnerPOJO {\n  int x();\n }\n}");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("unsupported @Lazy along with property 'inner' of a generated type"));
+    }
+
+    @Test
+    public void nestedPOJOArgumentIsRejected() throws IOException {
+        List<String> errors = process("@POJO\npublic interface ThingPOJO {\n" +
+                " java.util.List<InnerPOJO> inners();\n" +
+                " @Lazy\n default int count() {\n  return inners().size();\n }\n" +
+                " @POJO\n interface InnerPOJO {\n  int x();\n }\n}");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("unsupported @Lazy along with property 'inners' of a generated type"));
+    }
+
+    @Test
+    public void nestedEnumDependencyIsBridged() throws IOException {
+        assertEquals(Collections.emptyList(), process("@POJO\npublic interface ThingPOJO {\n" +
+                " Kind kind();\n" +
+                " @Lazy\n default boolean first() {\n  return kind() == Kind.A;\n }\n" +
+                " enum Kind {\n  A, B\n }\n}"));
+    }
+
+    private List<String> process(String body) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///gs/autopojo/test/ThingPOJO.java"), JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return "package gs.autopojo.test;\n\nimport gs.autopojo.Lazy;\nimport gs.autopojo.POJO;\n\n" + body + "\n";
+            }
+
+        };
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8),
+                diagnostics, Arrays.asList("-proc:only", "-classpath", System.getProperty("java.class.path"),
+                        "-s", folder.newFolder("generated").getPath(), "-d", folder.newFolder("classes").getPath()), null,
+                Collections.singletonList(source));
+        task.setProcessors(Collections.singleton(new POJOProcessor()));
+        boolean success = task.call();
+
+        List<String> errors = diagnostics.getDiagnostics().stream()
+                .filter($ -> $.getKind() == Diagnostic.Kind.ERROR)
+                .map($ -> $.getMessage(null))
+                .collect(Collectors.toList());
+        assertEquals(errors.toString(), errors.isEmpty(), success);
+        return errors;
+    }
+
+}
@@ -0,0 +1,145 @@
+package gs.autopojo.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the {@code autopojo.stats} NOTE and the {@code autopojo.statsFile} JSON of a single round.
+ */
+public class POJOProcessorStatsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> notes = new ArrayList<>();
+
+    @Test
+    public void statsFile() throws IOException {
+        File file = new File(folder.getRoot(), "stats/autopojo.json"); // its parent is created on demand
+        process("-Aautopojo.stats=true", "-Aautopojo.statsFile=" + file);
+
+        String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json, json.startsWith("{\"rounds\":[{\"round\":1,"));
+        assertFalse(json, json.contains("\"round\":2")); // the generated classes are not @POJOs, so that round is skipped
+
+        // top-level ones, while the nested InnerPOJO, the DEFAULT_NAME constant and the Kind enum are counted apart
+        assertEquals(2, number(json, "classes"));
+        assertEquals(1, number(json, "nestedTypes"));
+        assertEquals(5, number(json, "fields"));
+        assertEquals(1, number(json, "constants"));
+        assertEquals(1, number(json, "enums"));
+        assertTrue(json, number(json, "cacheHits") > 0); // OtherPOJO resolves the already read ThingPOJO
+        assertTrue(json, number(json, "cacheMisses") > 0);
+
+        long extract = number(json, "extract");
+        long render = number(json, "render");
+        long write = number(json, "write");
+        assertTrue(json, render > 0 && write > 0);
+        assertTrue(json, extract >= number(json, "lookup")); // nested phases
+        assertTrue(json, extract >= number(json, "annotations"));
+
+        Matcher slowest = Pattern.compile("\\{\"class\":\"([^\"]+)\",\"nanos\":(\\d+)}").matcher(json);
+        List<String> classes = new ArrayList<>();
+        List<Long> nanos = new ArrayList<>();
+        while (slowest.find()) {
+            classes.add(slowest.group(1));
+            nanos.add(Long.parseLong(slowest.group(2)));
+        }
+        assertEquals(Arrays.asList("gs.autopojo.test.Other", "gs.autopojo.test.Thing"), classes.stream().sorted().collect(Collectors.toList()));
+        assertTrue(json, nanos.get(0) >= nanos.get(1));
+        assertEquals(json, extract + render + write, nanos.get(0) + nanos.get(1)); // each class accounts its own phases
+
+        assertEquals(1, notes.size());
+        String note = notes.get(0);
+        assertTrue(note, note.startsWith("AutoPOJO round 1: 2 classes, 1 nested types, 5 fields, 1 constants, 1 enums, cache " +
+                number(json, "cacheHits") + "/" + (number(json, "cacheHits") + number(json, "cacheMisses")) + " hits\n"));
+        for (String line : Arrays.asList("extract", "lookup", "annotations", "render", "write", "slowest:", classes.get(0), classes.get(1))) {
+            assertTrue(note, note.contains(" " + line));
+        }
+    }
+
+    @Test
+    public void statsNoteOnly() throws IOException {
+        process("-Aautopojo.stats=true");
+
+        assertEquals(1, notes.size());
+        assertTrue(notes.get(0), notes.get(0).startsWith("AutoPOJO round 1: 2 classes,"));
+    }
+
+    @Test
+    public void disabled() throws IOException {
+        process();
+
+        assertEquals(Collections.emptyList(), notes);
+    }
+
+    private static long number(String json, String key) {
+        Matcher matcher = Pattern.compile("\"" + key + "\":(\\d+)").matcher(json);
+        assertTrue(key + " in " + json, matcher.find());
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private void process(String... options) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        List<String> args = new ArrayList<>(Arrays.asList("-proc:only", "-classpath", System.getProperty("java.class.path"),
+                "-s", folder.newFolder("generated").getPath(), "-d", folder.newFolder("classes").getPath()));
+        args.addAll(Arrays.asList(options));
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8),
+                diagnostics, args, null, Arrays.asList(
+                        source("ThingPOJO", "@POJO\npublic interface ThingPOJO {\n" +
+                                " String DEFAULT_NAME = \"aName\";\n" +
+                                " String name();\n Kind kind();\n InnerPOJO inner();\n" +
+                                " enum Kind {\n  A, B\n }\n" +
+                                " @POJO\n interface InnerPOJO {\n  int x();\n }\n}"),
+                        source("OtherPOJO", "@POJO\npublic interface OtherPOJO {\n" +
+                                " ThingPOJO thing();\n}")));
+        task.setProcessors(Collections.singleton(new POJOProcessor()));
+        boolean success = task.call();
+
+        assertTrue(diagnostics.getDiagnostics().toString(), success);
+        diagnostics.getDiagnostics().stream()
+                .filter($ -> $.getKind() == Diagnostic.Kind.NOTE && $.getCode().endsWith(".proc.messager"))
+                .map($ -> $.getMessage(null))
+                .forEach(notes::add);
+    }
+
+    private static JavaFileObject source(String name, String body) {
+        return new SimpleJavaFileObject(URI.create("string:///gs/autopojo/test/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return "package gs.autopojo.test;\n\nimport gs.autopojo.POJO;\n\n" + body + "\n";
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,111 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks where the layout models of HotSpot 8 to 14 and of 15 onwards place the fields, superclass gaps and alignment included.
+ */
+public class FootprintTest {
+    private static final ClassName PARENT = ClassName.get("gs.autopojo.test", "Parent");
+    private static final ClassName CHILD = ClassName.get("gs.autopojo.test", "Child");
+
+    @Test
+    public void legacyDoesNotReuseSuperclassGaps() {
+        Footprint footprint = footprint(Footprint.LayoutModel.JDK8, true, 12);
+
+        assertLayout(footprint.layout(PARENT), 16, "a@12");
+        assertLayout(footprint.layout(CHILD), 24, "a@12", "b@16");
+    }
+
+    @Test
+    public void compactReusesSuperclassGaps() {
+        Footprint footprint = footprint(Footprint.LayoutModel.JDK15, true, 12);
+
+        assertLayout(footprint.layout(PARENT), 16, "a@12");
+        assertLayout(footprint.layout(CHILD), 16, "a@12", "b@13");
+    }
+
+    @Test
+    public void legacyStartsSubclassesAlignedToReferences() {
+        Footprint footprint = footprint(Footprint.LayoutModel.JDK8, false, 16);
+
+        assertLayout(footprint.layout(PARENT), 24, "a@16");
+        assertLayout(footprint.layout(CHILD), 32, "a@16", "b@24");
+    }
+
+    @Test
+    public void legacyFillsTheGapBeforeLongs() {
+        // an int when there is one
+        assertLayout(layout(Footprint.LayoutModel.JDK8, field("b", TypeName.BOOLEAN), field("l", TypeName.LONG),
+                field("i", TypeName.INT), field("s", TypeName.get(String.class))), 32, "b@24", "i@12", "l@16", "s@28");
+
+        // or else shorts and bytes
+        assertLayout(layout(Footprint.LayoutModel.JDK8, field("l", TypeName.LONG), field("c", TypeName.CHAR),
+                field("b", TypeName.BYTE), field("s", TypeName.get(String.class))), 32, "b@14", "c@12", "l@16", "s@24");
+
+        // or else a reference
+        assertLayout(layout(Footprint.LayoutModel.JDK8, field("l", TypeName.LONG), field("s", TypeName.get(String.class)),
+                field("t", TypeName.get(String.class))), 32, "l@16", "s@12", "t@24");
+    }
+
+    @Test
+    public void legacyKeepsTheDeclarationOrderOfEachGroup() {
+        assertLayout(layout(Footprint.LayoutModel.JDK8, field("s", TypeName.get(String.class)), field("x", TypeName.SHORT),
+                field("i", TypeName.INT), field("j", TypeName.INT), field("y", TypeName.SHORT)), 32, "i@12", "j@16", "s@24", "x@20", "y@22");
+    }
+
+    @Test
+    public void modelIsReported() {
+        assertTrue(footprint(Footprint.LayoutModel.JDK8, true, 12).modelToJSON().startsWith("{\"layout\":\"jdk8\","));
+        assertTrue(footprint(Footprint.LayoutModel.JDK15, true, 12).modelToJSON().startsWith("{\"layout\":\"jdk15\","));
+    }
+
+    private static Footprint footprint(Footprint.LayoutModel layoutModel, boolean compressedOops, int headerSize) {
+        Footprint footprint = new Footprint(null, layoutModel, compressedOops, headerSize);
+
+        footprint.add(PARENT, TypeSpec.classBuilder(PARENT).addField(field("a", compressedOops ? TypeName.BOOLEAN : TypeName.INT)).build());
+        footprint.add(CHILD, TypeSpec.classBuilder(CHILD).superclass(ParameterizedTypeName.get(PARENT, TypeName.OBJECT))
+                .addField(field("b", compressedOops ? TypeName.BOOLEAN : TypeName.INT))
+                .addField(FieldSpec.builder(TypeName.LONG, "COUNT", Modifier.STATIC).build())
+                .build());
+        return footprint;
+    }
+
+    private static Footprint.Layout layout(Footprint.LayoutModel layoutModel, FieldSpec... fields) {
+        Footprint footprint = new Footprint(null, layoutModel, true, 12);
+
+        footprint.add(PARENT, TypeSpec.classBuilder(PARENT).addFields(Arrays.asList(fields)).build());
+        return footprint.layout(PARENT);
+    }
+
+    private static FieldSpec field(String name, TypeName type) {
+        return FieldSpec.builder(type, name, Modifier.PRIVATE).build();
+    }
+
+    private static void assertLayout(Footprint.Layout layout, int instanceSize, String... fields) {
+        List<String> offsets = new ArrayList<>();
+        for (Footprint.Field field : layout.fields) {
+            offsets.add(field.name + "@" + field.getOffset());
+        }
+        offsets.sort(null);
+
+        assertEquals(layout.toString(), instanceSize, layout.instanceSize);
+        assertEquals(layout.toString(), Arrays.asList(fields), offsets);
+    }
+
+}
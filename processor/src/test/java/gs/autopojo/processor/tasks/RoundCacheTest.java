@@ -0,0 +1,204 @@
+package gs.autopojo.processor.tasks;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import gs.autopojo.ExtraAnnotation;
+import gs.autopojo.POJO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the lookups of a round are memoized, by counting the {@link RoundCache} hits and misses from a processor
+ * that runs two rounds (the first one generates a source), each one with its own cache.
+ */
+public class RoundCacheTest {
+    private static final ClassName THING = ClassName.get("gs.autopojo.test", "ThingPOJO");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RoundCache firstCache;
+    private POJO firstPOJO;
+    private int rounds;
+
+    @Test
+    public void memoizedWithinRound() throws IOException {
+        process(cache -> {
+            TypeElement thing = cache.getElements().getTypeElement(THING.toString());
+
+            POJO pojo = cache.getPOJO(thing);
+            assertEquals("0/1", cache.getHits() + "/" + cache.getMisses());
+            assertSame(pojo, cache.getPOJO(thing));
+            assertEquals("1/1", cache.getHits() + "/" + cache.getMisses());
+
+            // misses the resolved and generated names, but not the POJO annotation the naming reads
+            assertEquals(ClassName.get("gs.autopojo.test", "Thing"), cache.resolve(THING));
+            assertEquals("2/3", cache.getHits() + "/" + cache.getMisses());
+            assertEquals(ClassName.get("gs.autopojo.test", "Thing"), cache.resolve(THING));
+            assertEquals("3/3", cache.getHits() + "/" + cache.getMisses());
+
+            TypeName list = ParameterizedTypeName.get(ClassName.get(List.class), THING);
+            assertEquals(ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get("gs.autopojo.test", "Thing")),
+                    cache.resolve(list));
+            int misses = cache.getMisses();
+            int hits = cache.getHits();
+            cache.resolve(list);
+            assertEquals(misses, cache.getMisses());
+            assertEquals(hits + 2, cache.getHits()); // List and ThingPOJO
+        });
+    }
+
+    @Test
+    public void newRoundStartsCold() throws IOException {
+        process(cache -> {
+            TypeElement thing = cache.getElements().getTypeElement(THING.toString());
+            POJO pojo = cache.getPOJO(thing);
+
+            rounds++;
+            if (firstCache == null) {
+                firstCache = cache;
+                firstPOJO = pojo;
+                cache.getPOJO(thing);
+                assertEquals("1/1", cache.getHits() + "/" + cache.getMisses());
+
+            } else {
+                assertNotSame(firstCache, cache);
+                assertEquals("0/1", cache.getHits() + "/" + cache.getMisses());
+                assertEquals(firstPOJO.value(), pojo.value());
+                assertEquals("1/1", firstCache.getHits() + "/" + firstCache.getMisses()); // untouched
+            }
+        });
+        assertEquals(2, rounds);
+    }
+
+    @Test
+    public void annotationsMemoizedAcrossMembers() throws IOException {
+        process(cache -> {
+            TypeElement thing = cache.getElements().getTypeElement(THING.toString());
+
+            List<AnnotationSpec> getter = cache.getAnnotations(method(thing, "y"), ExtraAnnotation.ApplyOn.GETTER);
+            assertEquals("[@gs.autopojo.test.ThingPOJO.Audited, @gs.autopojo.test.Tag]", getter.toString());
+
+            // only misses the expansion of its own @Audited, reusing the ones of the meta-annotations of its type
+            int misses = cache.getMisses();
+            assertEquals(getter, cache.getAnnotations(method(thing, "z"), ExtraAnnotation.ApplyOn.GETTER));
+            assertEquals(misses + 1, cache.getMisses());
+            assertEquals("[@gs.autopojo.test.ThingPOJO.Audited]",
+                    cache.getAnnotations(method(thing, "z"), ExtraAnnotation.ApplyOn.FIELD).toString());
+            assertEquals(misses + 1, cache.getMisses());
+        });
+    }
+
+    private static ExecutableElement method(TypeElement type, String name) {
+        return ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+                .filter($ -> $.getSimpleName().contentEquals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No method " + name));
+    }
+
+    private void process(RoundCheck check) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///gs/autopojo/test/ThingPOJO.java"), JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return "package gs.autopojo.test;\n\nimport gs.autopojo.ExtraAnnotation;\nimport gs.autopojo.POJO;\n\n" +
+                        "@POJO\npublic interface ThingPOJO {\n int x();\n @Audited\n int y();\n @Audited\n int z();\n" +
+                        " @ExtraAnnotation(value = \"gs.autopojo.test.Tag\", applyOn = ExtraAnnotation.ApplyOn.GETTER)\n @interface Audited {\n }\n}\n";
+            }
+
+        };
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8),
+                null, Arrays.asList("-proc:only", "-classpath", System.getProperty("java.class.path"),
+                        "-s", folder.newFolder("generated").getPath(), "-d", folder.newFolder("classes").getPath()), null,
+                Collections.singletonList(source));
+        task.setProcessors(Collections.singleton(new CheckProcessor(check)));
+        try {
+            assertEquals(true, task.call());
+
+        } catch (RuntimeException e) { // javac wraps what the processor throws
+            if (e.getCause() instanceof AssertionError) {
+                throw (AssertionError) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private interface RoundCheck {
+
+        void check(RoundCache cache);
+
+    }
+
+    /**
+     * Runs the check with a new cache on each of the two rounds, like {@link gs.autopojo.processor.POJOProcessor} does.
+     */
+    private static final class CheckProcessor extends AbstractProcessor {
+        private final RoundCheck check;
+        private int round;
+
+        CheckProcessor(RoundCheck check) {
+            this.check = check;
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return Collections.singleton("*");
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (roundEnv.processingOver()) {
+                return false;
+            }
+
+            check.check(new RoundCache(processingEnv.getTypeUtils(), processingEnv.getElementUtils()));
+            if (round++ == 0) {
+                try (Writer writer = processingEnv.getFiler().createSourceFile("gs.autopojo.test.Next").openWriter()) {
+                    writer.write("package gs.autopojo.test;\n\nclass Next {\n}\n");
+
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return false;
+        }
+
+    }
+
+}